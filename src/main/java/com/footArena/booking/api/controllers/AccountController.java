@@ -8,11 +8,12 @@ import com.footArena.booking.api.mappers.UserMapper;
 import com.footArena.booking.domain.entities.User;
 import com.footArena.booking.domain.enums.Role;
 import com.footArena.booking.security.services.AccountService;
+import com.footArena.booking.security.dto.AuthenticatedUser;
 import com.footArena.booking.security.services.AuthService;
+import com.footArena.booking.security.web.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -114,16 +115,15 @@ public class AccountController {
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<UserResponse>> updateProfile(
             @Valid @RequestBody UpdateProfileRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         logger.info("Profile update attempt");
 
         try {
-            String token = extractTokenFromRequest(httpRequest);
-            UserResponse currentUser = authService.getUserFromToken(token);
+            UUID currentUserId = currentUser.getUserId();
 
             User updatedUser = accountService.updateProfile(
-                    currentUser.getId(),
+                    currentUserId,
                     request.getFirstName(),
                     request.getLastName(),
                     request.getPhoneNumber()
@@ -146,15 +146,14 @@ public class AccountController {
     public ResponseEntity<ApiResponse<Void>> changeEmail(
             @Parameter(description = "Nouvelle adresse email") @RequestParam String newEmail,
             @Parameter(description = "Mot de passe de confirmation") @RequestParam String password,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         logger.info("Email change attempt");
 
         try {
-            String token = extractTokenFromRequest(httpRequest);
-            UserResponse currentUser = authService.getUserFromToken(token);
+            UUID currentUserId = currentUser.getUserId();
 
-            accountService.changeEmail(currentUser.getId(), newEmail, password);
+            accountService.changeEmail(currentUserId, newEmail, password);
 
             return ResponseEntity.ok(ApiResponse.success("Email changed successfully. Please verify your new email."));
 
@@ -170,16 +169,15 @@ public class AccountController {
     @PostMapping("/deactivate")
     public ResponseEntity<ApiResponse<Void>> deactivateAccount(
             @Parameter(description = "Raison de la désactivation") @RequestParam(required = false) String reason,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         logger.info("Account deactivation attempt");
 
         try {
-            String token = extractTokenFromRequest(httpRequest);
-            UserResponse currentUser = authService.getUserFromToken(token);
+            UUID currentUserId = currentUser.getUserId();
 
-            accountService.deactivateAccount(currentUser.getId(), reason);
-            authService.logoutFromAllDevices(currentUser.getId());
+            accountService.deactivateAccount(currentUserId, reason);
+            authService.logoutFromAllDevices(currentUserId);
 
             return ResponseEntity.ok(ApiResponse.success("Account deactivated successfully"));
 
@@ -195,18 +193,17 @@ public class AccountController {
     @DeleteMapping("/delete")
     public ResponseEntity<ApiResponse<Void>> deleteAccount(
             @Parameter(description = "Mot de passe de confirmation") @RequestParam String password,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         logger.info("Account deletion attempt");
 
         try {
-            String token = extractTokenFromRequest(httpRequest);
-            UserResponse currentUser = authService.getUserFromToken(token);
+            UUID currentUserId = currentUser.getUserId();
 
             // Vérifier le mot de passe avant suppression
-            // authService.validatePassword(currentUser.getId(), password);
+            // authService.validatePassword(currentUserId, password);
 
-            accountService.deleteAccount(currentUser.getId());
+            accountService.deleteAccount(currentUserId);
 
             return ResponseEntity.ok(ApiResponse.success("Account deleted successfully"));
 
@@ -221,13 +218,12 @@ public class AccountController {
             description = "Récupère les statistiques du compte utilisateur")
     @GetMapping("/stats")
     public ResponseEntity<ApiResponse<AccountService.AccountStats>> getAccountStats(
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         try {
-            String token = extractTokenFromRequest(httpRequest);
-            UserResponse currentUser = authService.getUserFromToken(token);
+            UUID currentUserId = currentUser.getUserId();
 
-            AccountService.AccountStats stats = accountService.getAccountStats(currentUser.getId());
+            AccountService.AccountStats stats = accountService.getAccountStats(currentUserId);
 
             return ResponseEntity.ok(ApiResponse.success("Account statistics retrieved", stats));
 
@@ -267,15 +263,4 @@ public class AccountController {
                     .body(ApiResponse.error("Admin account creation failed: " + e.getMessage()));
         }
     }
-
-    /**
-     * Extrait le token Bearer de la requête
-     */
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        throw new IllegalArgumentException("No valid token found in request");
-    }
 }
\ No newline at end of file
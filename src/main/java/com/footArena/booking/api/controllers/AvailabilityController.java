@@ -0,0 +1,67 @@
+package com.footArena.booking.api.controllers;
+
+import com.footArena.booking.api.dto.response.ApiResponse;
+import com.footArena.booking.api.dto.response.AvailabilityWindowResponse;
+import com.footArena.booking.api.mappers.AvailabilityMapper;
+import com.footArena.booking.domain.services.AvailabilityService;
+import com.footArena.booking.infrastructure.index.AvailabilityWindow;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/availability")
+@Tag(name = "Availability", description = "Disponibilités des terrains")
+public class AvailabilityController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityController.class);
+
+    private final AvailabilityService availabilityService;
+    private final AvailabilityMapper availabilityMapper;
+
+    public AvailabilityController(AvailabilityService availabilityService, AvailabilityMapper availabilityMapper) {
+        this.availabilityService = availabilityService;
+        this.availabilityMapper = availabilityMapper;
+    }
+
+    @Operation(summary = "Plages libres d'un terrain sur une journée",
+            description = "Une plage par créneau réservable, avec ses places restantes, par pas de 15 minutes")
+    @GetMapping("/fields/{fieldId}")
+    public ResponseEntity<ApiResponse<List<AvailabilityWindowResponse>>> getFieldAvailability(
+            @Parameter(description = "ID du terrain") @PathVariable UUID fieldId,
+            @Parameter(description = "Journée") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        logger.debug("Fetching free windows for field: {} on {}", fieldId, date);
+
+        List<AvailabilityWindow> windows = availabilityService.getFreeWindows(fieldId, date);
+        List<AvailabilityWindowResponse> responses = availabilityMapper.toResponseList(windows);
+
+        return ResponseEntity.ok(ApiResponse.success("Disponibilités du terrain récupérées", responses));
+    }
+
+    @Operation(summary = "Rechercher les terrains ayant une plage libre",
+            description = "Créneaux réservables d'au moins la durée demandée entre deux instants, tous terrains confondus")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<AvailabilityWindowResponse>>> searchAvailability(
+            @Parameter(description = "Début de la période") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @Parameter(description = "Fin de la période") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            @Parameter(description = "Durée minimale en minutes") @RequestParam(defaultValue = "90") int durationMinutes) {
+
+        logger.debug("Searching fields free for {} minutes between {} and {}", durationMinutes, startTime, endTime);
+
+        List<AvailabilityWindow> windows = availabilityService.findFieldsWithFreeWindow(startTime, endTime, durationMinutes);
+        List<AvailabilityWindowResponse> responses = availabilityMapper.toResponseList(windows);
+
+        return ResponseEntity.ok(ApiResponse.success("Disponibilités récupérées", responses));
+    }
+}
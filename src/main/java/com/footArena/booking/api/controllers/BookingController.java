@@ -4,19 +4,24 @@ import com.footArena.booking.api.dto.request.CreateBookingRequest;
 import com.footArena.booking.api.dto.response.ApiResponse;
 import com.footArena.booking.api.dto.response.BookingPlayerResponse;
 import com.footArena.booking.api.dto.response.BookingResponse;
+import com.footArena.booking.api.dto.response.CursorPageResponse;
 import com.footArena.booking.api.dto.response.PageResponse;
+import com.footArena.booking.api.export.ExportFormat;
+import com.footArena.booking.api.export.ExportWriter;
 import com.footArena.booking.api.mappers.BookingMapper;
+import com.footArena.booking.api.mappers.CursorMapper;
 import com.footArena.booking.domain.entities.Booking;
 import com.footArena.booking.domain.entities.BookingPlayer;
 import com.footArena.booking.domain.enums.BookingStatus;
 import com.footArena.booking.domain.enums.BookingType;
 import com.footArena.booking.domain.services.BookingService;
-import com.footArena.booking.security.services.AuthService;
+import com.footArena.booking.security.dto.AuthenticatedUser;
+import com.footArena.booking.security.web.CurrentUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,14 +29,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -40,15 +49,21 @@ import java.util.UUID;
 public class BookingController {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
+    // Colonnes non nulles uniquement : une valeur nulle ne peut pas servir de position keyset
+    private static final Set<String> CURSOR_SORTABLE_PROPERTIES =
+            Set.of("createdAt", "totalAmount", "numberOfPlayers", "status");
 
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
-    private final AuthService authService;
+    private final CursorMapper cursorMapper;
+    private final ObjectMapper objectMapper;
 
-    public BookingController(BookingService bookingService, BookingMapper bookingMapper, AuthService authService) {
+    public BookingController(BookingService bookingService, BookingMapper bookingMapper,
+                             CursorMapper cursorMapper, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
         this.bookingMapper = bookingMapper;
-        this.authService = authService;
+        this.cursorMapper = cursorMapper;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Créer une nouvelle réservation",
@@ -61,9 +76,9 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<ApiResponse<BookingResponse>> createBooking(
             @Valid @RequestBody CreateBookingRequest request,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Creating booking for user: {} and slot: {}", userId, request.getSlotId());
 
         Booking booking = bookingService.createBooking(
@@ -85,15 +100,15 @@ public class BookingController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<BookingResponse>> getBookingById(
             @Parameter(description = "ID de la réservation") @PathVariable UUID id,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching booking: {} for user: {}", id, userId);
 
-        Booking booking = bookingService.getBookingById(id);
+        Booking booking = bookingService.getBookingDetails(id);
 
         // Vérifier que l'utilisateur peut accéder à cette réservation
-        if (!canAccessBooking(booking, userId, httpRequest)) {
+        if (!canAccessBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Accès refusé à cette réservation"));
         }
@@ -106,14 +121,14 @@ public class BookingController {
     @GetMapping("/reference/{reference}")
     public ResponseEntity<ApiResponse<BookingResponse>> getBookingByReference(
             @Parameter(description = "Référence de la réservation") @PathVariable String reference,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching booking by reference: {} for user: {}", reference, userId);
 
         Booking booking = bookingService.getBookingByReference(reference);
 
-        if (!canAccessBooking(booking, userId, httpRequest)) {
+        if (!canAccessBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Accès refusé à cette réservation"));
         }
@@ -125,9 +140,9 @@ public class BookingController {
     @Operation(summary = "Récupérer les réservations de l'utilisateur connecté")
     @GetMapping("/my-bookings")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getMyBookings(
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching bookings for user: {}", userId);
 
         List<Booking> bookings = bookingService.getUserBookings(userId);
@@ -139,9 +154,9 @@ public class BookingController {
     @Operation(summary = "Récupérer les réservations à venir de l'utilisateur")
     @GetMapping("/my-bookings/upcoming")
     public ResponseEntity<ApiResponse<List<BookingResponse>>> getMyUpcomingBookings(
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching upcoming bookings for user: {}", userId);
 
         List<Booking> bookings = bookingService.getUserUpcomingBookings(userId);
@@ -155,9 +170,9 @@ public class BookingController {
     public ResponseEntity<ApiResponse<PageResponse<BookingResponse>>> getMyBookingHistory(
             @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching booking history for user: {}", userId);
 
         Sort sort = Sort.by("slot.startTime").descending();
@@ -170,6 +185,28 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Historique récupéré", pageResponse));
     }
 
+    @Operation(summary = "Récupérer l'historique des réservations avec pagination par curseur")
+    @GetMapping("/my-bookings/history/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingResponse>>> getMyBookingHistoryByCursor(
+            @Parameter(description = "Curseur de la page précédente (nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
+            @CurrentUser AuthenticatedUser currentUser) {
+
+        UUID userId = currentUser.getUserId();
+        logger.debug("Fetching booking history by cursor for user: {}", userId);
+
+        int pageSize = cursorMapper.pageSize(size);
+
+        Sort sort = Sort.by("slot.startTime").descending();
+        Window<Booking> bookings = bookingService.scrollUserBookingHistory(userId, sort, pageSize,
+                cursorMapper.toScrollPosition(after, Booking.class, sort));
+
+        CursorPageResponse<BookingResponse> pageResponse = CursorPageResponse.of(
+                bookings.map(bookingMapper::toSimpleResponse), pageSize, cursorMapper.toCursor(bookings));
+
+        return ResponseEntity.ok(ApiResponse.success("Historique récupéré", pageResponse));
+    }
+
     @Operation(summary = "Rechercher des réservations avec filtres")
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
@@ -202,18 +239,83 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
     }
 
+    @Operation(summary = "Rechercher des réservations avec pagination par curseur (Admin/Manager)",
+            description = "Même recherche que /search, sans comptage total : passer le nextCursor reçu dans after pour la page suivante")
+    @GetMapping("/search/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingResponse>>> searchBookingsByCursor(
+            @Parameter(description = "ID utilisateur") @RequestParam(required = false) UUID userId,
+            @Parameter(description = "Statut de la réservation") @RequestParam(required = false) BookingStatus status,
+            @Parameter(description = "Type de réservation") @RequestParam(required = false) BookingType bookingType,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "ID établissement") @RequestParam(required = false) UUID establishmentId,
+            @Parameter(description = "Payé") @RequestParam(required = false) Boolean isPaid,
+            @Parameter(description = "Curseur de la page précédente (nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Searching bookings with filters by cursor");
+
+        int pageSize = cursorMapper.pageSize(size);
+
+        Sort sort = cursorMapper.sort(sortBy, sortDir, CURSOR_SORTABLE_PROPERTIES);
+
+        Window<Booking> bookings = bookingService.scrollBookings(userId, status, bookingType, startDate, endDate,
+                establishmentId, isPaid, sort, pageSize, cursorMapper.toScrollPosition(after, Booking.class, sort));
+
+        CursorPageResponse<BookingResponse> pageResponse = CursorPageResponse.of(
+                bookings.map(bookingMapper::toSimpleResponse), pageSize, cursorMapper.toCursor(bookings));
+
+        return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
+    }
+
+    @Operation(summary = "Exporter les réservations en CSV ou JSON lines (Admin/Manager)",
+            description = "Mêmes filtres que /search ; le fichier est écrit au fil de la lecture, par date de création, " +
+                    "sans enveloppe ApiResponse. gzip=true compresse le fichier")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Parameter(description = "ID utilisateur") @RequestParam(required = false) UUID userId,
+            @Parameter(description = "Statut de la réservation") @RequestParam(required = false) BookingStatus status,
+            @Parameter(description = "Type de réservation") @RequestParam(required = false) BookingType bookingType,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "ID établissement") @RequestParam(required = false) UUID establishmentId,
+            @Parameter(description = "Payé") @RequestParam(required = false) Boolean isPaid,
+            @Parameter(description = "Format (CSV ou JSONL)") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compression gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        logger.debug("Exporting bookings as {}", format);
+
+        StreamingResponseBody body = outputStream -> {
+            try (ExportWriter<Booking> writer = ExportWriter.open(format, BookingMapper.EXPORT_COLUMNS,
+                    outputStream, gzip, objectMapper)) {
+                long count = bookingService.forEachBooking(userId, status, bookingType, startDate, endDate,
+                        establishmentId, isPaid, writer::write);
+                logger.debug("Exported {} bookings", count);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType(gzip))
+                .header(HttpHeaders.CONTENT_DISPOSITION, format.attachment("reservations", gzip))
+                .body(body);
+    }
+
     @Operation(summary = "Confirmer une réservation")
     @PostMapping("/{id}/confirm")
     public ResponseEntity<ApiResponse<BookingResponse>> confirmBooking(
             @Parameter(description = "ID de la réservation") @PathVariable UUID id,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Confirming booking: {} by user: {}", id, userId);
 
         Booking booking = bookingService.getBookingById(id);
 
-        if (!canModifyBooking(booking, userId, httpRequest)) {
+        if (!canModifyBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Vous ne pouvez pas confirmer cette réservation"));
         }
@@ -229,14 +331,14 @@ public class BookingController {
     public ResponseEntity<ApiResponse<BookingResponse>> cancelBooking(
             @Parameter(description = "ID de la réservation") @PathVariable UUID id,
             @Parameter(description = "Raison de l'annulation") @RequestParam(required = false) String reason,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Cancelling booking: {} by user: {}", id, userId);
 
         Booking booking = bookingService.getBookingById(id);
 
-        if (!canModifyBooking(booking, userId, httpRequest)) {
+        if (!canModifyBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Vous ne pouvez pas annuler cette réservation"));
         }
@@ -254,14 +356,14 @@ public class BookingController {
             @Parameter(description = "ID du joueur") @RequestParam UUID playerId,
             @Parameter(description = "Nom d'affichage") @RequestParam String playerName,
             @Parameter(description = "Est capitaine") @RequestParam(defaultValue = "false") boolean isCaptain,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Adding player {} to booking: {}", playerId, id);
 
         Booking booking = bookingService.getBookingById(id);
 
-        if (!canModifyBooking(booking, userId, httpRequest)) {
+        if (!canModifyBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Vous ne pouvez pas modifier cette réservation"));
         }
@@ -278,14 +380,14 @@ public class BookingController {
     public ResponseEntity<ApiResponse<Void>> removePlayerFromBooking(
             @Parameter(description = "ID de la réservation") @PathVariable UUID id,
             @Parameter(description = "ID du joueur") @PathVariable UUID playerId,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Removing player {} from booking: {}", playerId, id);
 
         Booking booking = bookingService.getBookingById(id);
 
-        if (!canModifyBooking(booking, userId, httpRequest)) {
+        if (!canModifyBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Vous ne pouvez pas modifier cette réservation"));
         }
@@ -299,14 +401,14 @@ public class BookingController {
     @GetMapping("/{id}/players")
     public ResponseEntity<ApiResponse<List<BookingPlayerResponse>>> getBookingPlayers(
             @Parameter(description = "ID de la réservation") @PathVariable UUID id,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching players for booking: {}", id);
 
         Booking booking = bookingService.getBookingById(id);
 
-        if (!canAccessBooking(booking, userId, httpRequest)) {
+        if (!canAccessBooking(booking, currentUser)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error("Accès refusé à cette réservation"));
         }
@@ -334,9 +436,9 @@ public class BookingController {
     @Operation(summary = "Récupérer les statistiques des réservations")
     @GetMapping("/stats/user")
     public ResponseEntity<ApiResponse<BookingService.BookingStats>> getUserBookingStats(
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching booking stats for user: {}", userId);
 
         BookingService.BookingStats stats = bookingService.getUserBookingStats(userId);
@@ -383,6 +485,32 @@ public class BookingController {
         return ResponseEntity.ok(ApiResponse.success("Toutes les réservations récupérées", pageResponse));
     }
 
+    @Operation(summary = "Récupérer toutes les réservations avec pagination par curseur (Admin/Manager)")
+    @GetMapping("/all/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<BookingResponse>>> getAllBookingsByCursor(
+            @Parameter(description = "Curseur de la page précédente (nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Fetching all bookings by cursor - size: {}", size);
+
+        int pageSize = cursorMapper.pageSize(size);
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Window<Booking> bookings = bookingService.scrollBookings(null, null, null, null, null, null, null,
+                sort, pageSize, cursorMapper.toScrollPosition(after, Booking.class, sort));
+
+        CursorPageResponse<BookingResponse> pageResponse = CursorPageResponse.of(
+                bookings.map(bookingMapper::toSimpleResponse), pageSize, cursorMapper.toCursor(bookings));
+
+        return ResponseEntity.ok(ApiResponse.success("Toutes les réservations récupérées", pageResponse));
+    }
+
     @Operation(summary = "Récupérer les réservations du jour")
     @GetMapping("/today")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
@@ -405,48 +533,13 @@ public class BookingController {
 
     // Méthodes utilitaires privées
 
-    private UUID getCurrentUserId(HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        return authService.getUserFromToken(token).getId();
-    }
-
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        throw new IllegalArgumentException("No valid token found in request");
+    private boolean canAccessBooking(Booking booking, AuthenticatedUser currentUser) {
+        // L'utilisateur peut accéder à ses propres réservations, les admins et managers à toutes
+        return booking.getUser().getId().equals(currentUser.getUserId()) || currentUser.isStaff();
     }
 
-    private boolean canAccessBooking(Booking booking, UUID userId, HttpServletRequest request) {
-        // L'utilisateur peut accéder à ses propres réservations
-        if (booking.getUser().getId().equals(userId)) {
-            return true;
-        }
-
-        // Les admins et managers peuvent accéder à toutes les réservations
-        String token = extractTokenFromRequest(request);
-        try {
-            String role = authService.getUserFromToken(token).getRole().name();
-            return "ADMIN".equals(role) || "MANAGER".equals(role);
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    private boolean canModifyBooking(Booking booking, UUID userId, HttpServletRequest request) {
-        // L'utilisateur peut modifier ses propres réservations
-        if (booking.getUser().getId().equals(userId)) {
-            return true;
-        }
-
-        // Les admins et managers peuvent modifier toutes les réservations
-        String token = extractTokenFromRequest(request);
-        try {
-            String role = authService.getUserFromToken(token).getRole().name();
-            return "ADMIN".equals(role) || "MANAGER".equals(role);
-        } catch (Exception e) {
-            return false;
-        }
+    private boolean canModifyBooking(Booking booking, AuthenticatedUser currentUser) {
+        // L'utilisateur peut modifier ses propres réservations, les admins et managers toutes
+        return booking.getUser().getId().equals(currentUser.getUserId()) || currentUser.isStaff();
     }
-}
\ No newline at end of file
+}
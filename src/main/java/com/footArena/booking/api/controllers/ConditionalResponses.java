@@ -0,0 +1,45 @@
+package com.footArena.booking.api.controllers;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * GET conditionnels des lectures du catalogue. L'ETag est dérivé des versions des entités, lues par
+ * une requête d'agrégat : si le client possède déjà cette version (If-None-Match), la réponse est un
+ * 304 sans chargement des entités ni sérialisation. L'ETag est faible (W/) : les données sont identiques
+ * d'une réponse à l'autre, pas les octets, l'enveloppe ApiResponse portant l'horodatage de la requête.
+ */
+final class ConditionalResponses {
+
+    // Catalogue public : partageable par les caches intermédiaires, revalidé après une courte durée
+    static final CacheControl CATALOG_LIST = CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic();
+    static final CacheControl CATALOG_ITEM = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+
+    // Disponibilités : propres à l'utilisateur authentifié et revalidées à chaque lecture
+    static final CacheControl AVAILABILITY = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Répond 304 si la version est celle connue du client, sinon construit le corps.
+     * Une version nulle (ressource absente) laisse le corps signaler l'erreur.
+     */
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String version, CacheControl cacheControl,
+                                             Supplier<T> body) {
+        if (version == null) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+        }
+
+        String eTag = "W/\"" + version + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl).body(body.get());
+    }
+}
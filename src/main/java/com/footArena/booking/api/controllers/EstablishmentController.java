@@ -23,6 +23,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -73,14 +74,16 @@ public class EstablishmentController {
     @Operation(summary = "Récupérer un établissement par ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<EstablishmentResponse>> getEstablishmentById(
-            @Parameter(description = "ID de l'établissement") @PathVariable UUID id) {
+            @Parameter(description = "ID de l'établissement") @PathVariable UUID id,
+            WebRequest request) {
 
         logger.debug("Fetching establishment with ID: {}", id);
 
-        Establishment establishment = establishmentService.getEstablishmentById(id);
-        EstablishmentResponse response = establishmentMapper.toResponse(establishment);
-
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getEstablishmentVersion(id),
+                ConditionalResponses.CATALOG_ITEM, () -> {
+                    Establishment establishment = establishmentService.getEstablishmentById(id);
+                    return ApiResponse.success(establishmentMapper.toResponse(establishment));
+                });
     }
 
     @Operation(summary = "Récupérer tous les établissements avec pagination")
@@ -89,7 +92,8 @@ public class EstablishmentController {
             @Parameter(description = "Numéro de page (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
 
         logger.debug("Fetching establishments - page: {}, size: {}, sortBy: {}, sortDir: {}",
                 page, size, sortBy, sortDir);
@@ -99,27 +103,35 @@ public class EstablishmentController {
                 : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Establishment> establishments = establishmentService.getAllEstablishments(pageable);
 
-        // Conversion en réponses
-        Page<EstablishmentResponse> responsePage = establishments
-                .map(establishmentMapper::toResponse);
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getCatalogVersion(),
+                ConditionalResponses.CATALOG_LIST, () -> {
+                    Page<Establishment> establishments = establishmentService.getAllEstablishments(pageable);
+
+                    // Conversion en réponses
+                    Page<EstablishmentResponse> responsePage = establishments
+                            .map(establishmentMapper::toResponse);
 
-        PageResponse<EstablishmentResponse> pageResponse = PageResponse.of(responsePage);
+                    PageResponse<EstablishmentResponse> pageResponse = PageResponse.of(responsePage);
 
-        return ResponseEntity.ok(ApiResponse.success("Établissements récupérés avec succès", pageResponse));
+                    return ApiResponse.success("Établissements récupérés avec succès", pageResponse);
+                });
     }
 
     @Operation(summary = "Récupérer tous les établissements (sans pagination)")
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<EstablishmentResponse>>> getAllEstablishmentsNoPagination() {
+    public ResponseEntity<ApiResponse<List<EstablishmentResponse>>> getAllEstablishmentsNoPagination(
+            WebRequest request) {
 
         logger.debug("Fetching all establishments without pagination");
 
-        List<Establishment> establishments = establishmentService.getAllEstablishments();
-        List<EstablishmentResponse> responses = establishmentMapper.toResponseList(establishments);
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getCatalogVersion(),
+                ConditionalResponses.CATALOG_LIST, () -> {
+                    List<Establishment> establishments = establishmentService.getAllEstablishments();
+                    List<EstablishmentResponse> responses = establishmentMapper.toResponseList(establishments);
 
-        return ResponseEntity.ok(ApiResponse.success("Établissements récupérés avec succès", responses));
+                    return ApiResponse.success("Établissements récupérés avec succès", responses);
+                });
     }
 
     @Operation(summary = "Mettre à jour un établissement")
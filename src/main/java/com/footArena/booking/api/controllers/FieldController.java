@@ -5,6 +5,7 @@ import com.footArena.booking.api.dto.response.FieldResponse;
 import com.footArena.booking.api.dto.response.PageResponse;
 import com.footArena.booking.api.mappers.FieldMapper;
 import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.services.EstablishmentService;
 import com.footArena.booking.domain.services.FieldService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +21,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -32,10 +34,13 @@ public class FieldController {
     private static final Logger logger = LoggerFactory.getLogger(FieldController.class);
 
     private final FieldService fieldService;
+    private final EstablishmentService establishmentService;
     private final FieldMapper fieldMapper;
 
-    public FieldController(FieldService fieldService, FieldMapper fieldMapper) {
+    public FieldController(FieldService fieldService, EstablishmentService establishmentService,
+                           FieldMapper fieldMapper) {
         this.fieldService = fieldService;
+        this.establishmentService = establishmentService;
         this.fieldMapper = fieldMapper;
     }
 
@@ -62,14 +67,16 @@ public class FieldController {
     @Operation(summary = "Récupérer un terrain par ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<FieldResponse>> getFieldById(
-            @Parameter(description = "ID du terrain") @PathVariable UUID id) {
+            @Parameter(description = "ID du terrain") @PathVariable UUID id,
+            WebRequest request) {
 
         logger.debug("Fetching field with ID: {}", id);
 
-        Field field = fieldService.getFieldById(id);
-        FieldResponse response = fieldMapper.toResponse(field);
-
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ConditionalResponses.ifNoneMatch(request, fieldService.getFieldVersion(id),
+                ConditionalResponses.CATALOG_ITEM, () -> {
+                    Field field = fieldService.getFieldById(id);
+                    return ApiResponse.success(fieldMapper.toResponse(field));
+                });
     }
 
     @Operation(summary = "Récupérer tous les terrains avec pagination")
@@ -78,7 +85,8 @@ public class FieldController {
             @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "name") String sortBy,
-            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "asc") String sortDir) {
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "asc") String sortDir,
+            WebRequest request) {
 
         logger.debug("Fetching fields - page: {}, size: {}", page, size);
 
@@ -87,37 +95,49 @@ public class FieldController {
                 : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Field> fields = fieldService.getAllFields(pageable);
 
-        Page<FieldResponse> responsePage = fields.map(fieldMapper::toResponse);
-        PageResponse<FieldResponse> pageResponse = PageResponse.of(responsePage);
+        // Toute modification d'un terrain incrémente la version de son établissement
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getCatalogVersion(),
+                ConditionalResponses.CATALOG_LIST, () -> {
+                    Page<Field> fields = fieldService.getAllFields(pageable);
+
+                    Page<FieldResponse> responsePage = fields.map(fieldMapper::toResponse);
+                    PageResponse<FieldResponse> pageResponse = PageResponse.of(responsePage);
 
-        return ResponseEntity.ok(ApiResponse.success("Terrains récupérés avec succès", pageResponse));
+                    return ApiResponse.success("Terrains récupérés avec succès", pageResponse);
+                });
     }
 
     @Operation(summary = "Récupérer les terrains d'un établissement")
     @GetMapping("/establishment/{establishmentId}")
     public ResponseEntity<ApiResponse<List<FieldResponse>>> getFieldsByEstablishment(
-            @Parameter(description = "ID de l'établissement") @PathVariable UUID establishmentId) {
+            @Parameter(description = "ID de l'établissement") @PathVariable UUID establishmentId,
+            WebRequest request) {
 
         logger.debug("Fetching fields for establishment: {}", establishmentId);
 
-        List<Field> fields = fieldService.getFieldsByEstablishment(establishmentId);
-        List<FieldResponse> responses = fieldMapper.toResponseList(fields);
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getEstablishmentVersion(establishmentId),
+                ConditionalResponses.CATALOG_LIST, () -> {
+                    List<Field> fields = fieldService.getFieldsByEstablishment(establishmentId);
+                    List<FieldResponse> responses = fieldMapper.toResponseList(fields);
 
-        return ResponseEntity.ok(ApiResponse.success("Terrains récupérés avec succès", responses));
+                    return ApiResponse.success("Terrains récupérés avec succès", responses);
+                });
     }
 
     @Operation(summary = "Récupérer tous les terrains disponibles")
     @GetMapping("/available")
-    public ResponseEntity<ApiResponse<List<FieldResponse>>> getAvailableFields() {
+    public ResponseEntity<ApiResponse<List<FieldResponse>>> getAvailableFields(WebRequest request) {
 
         logger.debug("Fetching available fields");
 
-        List<Field> fields = fieldService.getAvailableFields();
-        List<FieldResponse> responses = fieldMapper.toResponseList(fields);
+        return ConditionalResponses.ifNoneMatch(request, establishmentService.getCatalogVersion(),
+                ConditionalResponses.CATALOG_LIST, () -> {
+                    List<Field> fields = fieldService.getAvailableFields();
+                    List<FieldResponse> responses = fieldMapper.toResponseList(fields);
 
-        return ResponseEntity.ok(ApiResponse.success("Terrains disponibles récupérés", responses));
+                    return ApiResponse.success("Terrains disponibles récupérés", responses);
+                });
     }
 
     @Operation(summary = "Mettre à jour un terrain")
@@ -1,25 +1,43 @@
 package com.footArena.booking.api.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.footArena.booking.api.dto.response.ApiResponse;
 import com.footArena.booking.api.dto.response.InvoiceResponse;
+import com.footArena.booking.api.dto.response.PageResponse;
+import com.footArena.booking.api.mappers.CursorMapper;
 import com.footArena.booking.api.mappers.InvoiceMapper;
 import com.footArena.booking.domain.entities.Invoice;
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import com.footArena.booking.domain.services.InvoicePdfService;
 import com.footArena.booking.domain.services.InvoiceService;
-import com.footArena.booking.security.services.AuthService;
+import com.footArena.booking.security.dto.AuthenticatedUser;
+import com.footArena.booking.security.web.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -28,15 +46,27 @@ import java.util.UUID;
 public class InvoiceController {
 
     private static final Logger logger = LoggerFactory.getLogger(InvoiceController.class);
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("issuedAt", "dueDate", "paidAt", "invoiceNumber", "amountTTC", "status");
 
     private final InvoiceService invoiceService;
+    private final InvoicePdfService invoicePdfService;
     private final InvoiceMapper invoiceMapper;
-    private final AuthService authService;
+    private final CursorMapper cursorMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter invoiceWriter;
 
-    public InvoiceController(InvoiceService invoiceService, InvoiceMapper invoiceMapper, AuthService authService) {
+    public InvoiceController(InvoiceService invoiceService, InvoicePdfService invoicePdfService,
+                             InvoiceMapper invoiceMapper, CursorMapper cursorMapper, ObjectMapper objectMapper) {
         this.invoiceService = invoiceService;
+        this.invoicePdfService = invoicePdfService;
         this.invoiceMapper = invoiceMapper;
-        this.authService = authService;
+        this.cursorMapper = cursorMapper;
+        this.objectMapper = objectMapper;
+        // Le tampon est vidé par paquets de factures plutôt qu'après chacune
+        this.invoiceWriter = objectMapper.writerFor(InvoiceResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @Operation(summary = "Récupérer une facture par ID")
@@ -67,16 +97,52 @@ public class InvoiceController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
-    @Operation(summary = "Récupérer toutes les factures")
+    @Operation(summary = "Récupérer les factures avec pagination")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<ApiResponse<List<InvoiceResponse>>> getAllInvoices() {
-        logger.debug("Fetching all invoices");
+    public ResponseEntity<ApiResponse<PageResponse<InvoiceResponse>>> getAllInvoices(
+            @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "issuedAt") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "desc") String sortDir) {
 
-        List<Invoice> invoices = invoiceService.getAllInvoices();
-        List<InvoiceResponse> responses = invoiceMapper.toResponseList(invoices);
+        logger.debug("Fetching invoices page {} of size {}", page, size);
+
+        // Seuls les champs connus sont triables : un nom arbitraire finirait en erreur SQL
+        if (!SORTABLE_PROPERTIES.contains(sortBy)) {
+            throw new BusinessValidationException("Unsupported sort property: " + sortBy);
+        }
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), cursorMapper.pageSize(size), sort);
+        Page<Invoice> invoices = invoiceService.getAllInvoices(pageRequest);
+        PageResponse<InvoiceResponse> pageResponse = PageResponse.of(invoices.map(invoiceMapper::toSimpleResponse));
+
+        return ResponseEntity.ok(ApiResponse.success("Factures récupérées", pageResponse));
+    }
 
-        return ResponseEntity.ok(ApiResponse.success("Factures récupérées", responses));
+    @Operation(summary = "Exporter toutes les factures en flux",
+            description = "Tableau JSON envoyé au fil de la lecture, sans enveloppe ApiResponse : la mémoire utilisée " +
+                    "ne dépend pas du nombre de factures")
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamInvoices() {
+        logger.debug("Streaming all invoices");
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                long count = invoiceService.forEachInvoice(invoice -> writeInvoice(generator, invoice));
+                generator.writeEndArray();
+                logger.debug("Streamed {} invoices", count);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @Operation(summary = "Récupérer les factures en retard")
@@ -120,45 +186,52 @@ public class InvoiceController {
         return ResponseEntity.ok(ApiResponse.success("Facture annulée", response));
     }
 
-    @Operation(summary = "Télécharger le PDF d'une facture")
-    @GetMapping("/{id}/pdf")
+    @Operation(summary = "Télécharger le PDF d'une facture",
+            description = "Document écrit directement dans la réponse ; servi depuis le cache disque une fois la facture payée ou annulée")
+    @GetMapping(value = "/{id}/pdf", produces = MediaType.APPLICATION_PDF_VALUE)
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
-    public ResponseEntity<byte[]> downloadInvoicePdf(
+    public ResponseEntity<StreamingResponseBody> downloadInvoicePdf(
             @Parameter(description = "ID de la facture") @PathVariable UUID id) {
 
         logger.info("Generating PDF for invoice: {}", id);
 
-        try {
-            Invoice invoice = invoiceService.getInvoiceById(id);
-            byte[] pdfContent = invoiceService.generateInvoicePdf(id);
+        Invoice invoice = invoiceService.getInvoiceById(id);
+        StreamingResponseBody body = outputStream -> invoicePdfService.writeInvoicePdf(invoice, outputStream);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment",
-                    "facture_" + invoice.getInvoiceNumber() + ".pdf");
-            headers.setContentLength(pdfContent.length);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment("facture_" + invoice.getInvoiceNumber() + ".pdf"))
+                .body(body);
+    }
 
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfContent);
+    @Operation(summary = "Exporter les factures d'un mois",
+            description = "Archive ZIP des PDF des factures émises dans le mois, écrite au fil du rendu")
+    @GetMapping(value = "/export", produces = "application/zip")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyInvoices(
+            @Parameter(description = "Mois (yyyy-MM)") @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
 
-        } catch (Exception e) {
-            logger.error("Failed to generate PDF for invoice: {}", id, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
+        logger.info("Exporting invoices for {}", month);
+
+        StreamingResponseBody body = outputStream -> invoicePdfService.exportMonth(month, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment("factures_" + month + ".zip"))
+                .body(body);
     }
 
     @Operation(summary = "Récupérer une facture publique (pour le client)")
     @GetMapping("/public/{invoiceNumber}")
     public ResponseEntity<ApiResponse<InvoiceResponse>> getPublicInvoice(
             @Parameter(description = "Numéro de facture") @PathVariable String invoiceNumber,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
         logger.debug("Fetching public invoice: {}", invoiceNumber);
 
         try {
             // Vérifier si l'utilisateur peut accéder à cette facture
-            UUID userId = getCurrentUserId(httpRequest);
+            UUID userId = currentUser.getUserId();
             Invoice invoice = invoiceService.getInvoiceByNumber(invoiceNumber);
 
             // Vérifier que la facture appartient à l'utilisateur connecté
@@ -177,18 +250,19 @@ public class InvoiceController {
         }
     }
 
-    // Méthodes utilitaires privées
-
-    private UUID getCurrentUserId(HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        return authService.getUserFromToken(token).getId();
+    private static String attachment(String fileName) {
+        return ContentDisposition.attachment().filename(fileName).build().toString();
     }
 
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
+    // Envoie régulièrement le tampon au client pour ne pas accumuler la réponse en mémoire
+    private void writeInvoice(JsonGenerator generator, Invoice invoice) {
+        try {
+            invoiceWriter.writeValue(generator, invoiceMapper.toSimpleResponse(invoice));
+            if (generator.getOutputContext().getCurrentIndex() % STREAM_FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        throw new IllegalArgumentException("No valid token found in request");
     }
 }
\ No newline at end of file
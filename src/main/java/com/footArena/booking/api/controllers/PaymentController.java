@@ -1,29 +1,49 @@
 package com.footArena.booking.api.controllers;
 
 import com.footArena.booking.api.dto.response.ApiResponse;
+import com.footArena.booking.api.dto.response.CursorPageResponse;
+import com.footArena.booking.api.dto.response.PageResponse;
 import com.footArena.booking.api.dto.response.PaymentResponse;
+import com.footArena.booking.api.export.ExportFormat;
+import com.footArena.booking.api.export.ExportWriter;
+import com.footArena.booking.api.mappers.CursorMapper;
 import com.footArena.booking.api.mappers.PaymentMapper;
 import com.footArena.booking.domain.entities.Payment;
 import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.PaymentStatus;
 import com.footArena.booking.domain.services.PaymentService;
-import com.footArena.booking.security.services.AuthService;
+import com.footArena.booking.domain.services.RevenueRollupService;
+import com.footArena.booking.domain.services.StripeWebhookService;
+import com.footArena.booking.security.dto.AuthenticatedUser;
+import com.footArena.booking.security.web.CurrentUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.exception.SignatureVerificationException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -32,15 +52,26 @@ import java.util.UUID;
 public class PaymentController {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
+    // Colonnes non nulles uniquement : une valeur nulle ne peut pas servir de position keyset
+    private static final Set<String> CURSOR_SORTABLE_PROPERTIES =
+            Set.of("createdAt", "amount", "status", "paymentMethod");
 
     private final PaymentService paymentService;
     private final PaymentMapper paymentMapper;
-    private final AuthService authService;
-
-    public PaymentController(PaymentService paymentService, PaymentMapper paymentMapper, AuthService authService) {
+    private final CursorMapper cursorMapper;
+    private final StripeWebhookService stripeWebhookService;
+    private final RevenueRollupService revenueRollupService;
+    private final ObjectMapper objectMapper;
+
+    public PaymentController(PaymentService paymentService, PaymentMapper paymentMapper,
+                             CursorMapper cursorMapper, StripeWebhookService stripeWebhookService,
+                             RevenueRollupService revenueRollupService, ObjectMapper objectMapper) {
         this.paymentService = paymentService;
         this.paymentMapper = paymentMapper;
-        this.authService = authService;
+        this.cursorMapper = cursorMapper;
+        this.stripeWebhookService = stripeWebhookService;
+        this.revenueRollupService = revenueRollupService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Créer un paiement en espèces",
@@ -68,9 +99,9 @@ public class PaymentController {
             @Parameter(description = "ID de la réservation") @RequestParam @NotNull UUID bookingId,
             @Parameter(description = "URL de succès") @RequestParam @NotNull String successUrl,
             @Parameter(description = "URL d'annulation") @RequestParam @NotNull String cancelUrl,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Creating Stripe session for booking: {} by user: {}", bookingId, userId);
 
         try {
@@ -90,9 +121,9 @@ public class PaymentController {
     @PostMapping("/stripe/create-payment-intent")
     public ResponseEntity<ApiResponse<String>> createStripePaymentIntent(
             @Parameter(description = "ID de la réservation") @RequestParam @NotNull UUID bookingId,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.info("Creating Payment Intent for booking: {} by user: {}", bookingId, userId);
 
         try {
@@ -142,13 +173,107 @@ public class PaymentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @Operation(summary = "Rechercher des paiements avec filtres")
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<PageResponse<PaymentResponse>>> searchPayments(
+            @Parameter(description = "Statut du paiement") @RequestParam(required = false) PaymentStatus status,
+            @Parameter(description = "Méthode de paiement") @RequestParam(required = false) PaymentMethod paymentMethod,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Montant minimum") @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Montant maximum") @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Numéro de page") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Searching payments with filters");
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+
+        Pageable pageable = PageRequest.of(page, size, sort);
+        Page<Payment> payments = paymentService.searchPayments(status, paymentMethod, startDate, endDate,
+                minAmount, maxAmount, pageable);
+
+        Page<PaymentResponse> responsePage = payments.map(paymentMapper::toResponse);
+        PageResponse<PaymentResponse> pageResponse = PageResponse.of(responsePage);
+
+        return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
+    }
+
+    @Operation(summary = "Rechercher des paiements avec pagination par curseur (Admin/Manager)",
+            description = "Même recherche que /search, sans comptage total : passer le nextCursor reçu dans after pour la page suivante")
+    @GetMapping("/search/cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<PaymentResponse>>> searchPaymentsByCursor(
+            @Parameter(description = "Statut du paiement") @RequestParam(required = false) PaymentStatus status,
+            @Parameter(description = "Méthode de paiement") @RequestParam(required = false) PaymentMethod paymentMethod,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Montant minimum") @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Montant maximum") @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Curseur de la page précédente (nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        logger.debug("Searching payments with filters by cursor");
+
+        int pageSize = cursorMapper.pageSize(size);
+
+        Sort sort = cursorMapper.sort(sortBy, sortDir, CURSOR_SORTABLE_PROPERTIES);
+
+        Window<Payment> payments = paymentService.scrollPayments(status, paymentMethod, startDate, endDate,
+                minAmount, maxAmount, sort, pageSize, cursorMapper.toScrollPosition(after, Payment.class, sort));
+
+        CursorPageResponse<PaymentResponse> pageResponse = CursorPageResponse.of(
+                payments.map(paymentMapper::toResponse), pageSize, cursorMapper.toCursor(payments));
+
+        return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
+    }
+
+    @Operation(summary = "Exporter les paiements en CSV ou JSON lines (Admin/Manager)",
+            description = "Mêmes filtres que /search ; le fichier est écrit au fil de la lecture, par date de création, " +
+                    "sans enveloppe ApiResponse. gzip=true compresse le fichier")
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @Parameter(description = "Statut du paiement") @RequestParam(required = false) PaymentStatus status,
+            @Parameter(description = "Méthode de paiement") @RequestParam(required = false) PaymentMethod paymentMethod,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Montant minimum") @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Montant maximum") @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Format (CSV ou JSONL)") @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @Parameter(description = "Compression gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        logger.debug("Exporting payments as {}", format);
+
+        StreamingResponseBody body = outputStream -> {
+            try (ExportWriter<Payment> writer = ExportWriter.open(format, PaymentMapper.EXPORT_COLUMNS,
+                    outputStream, gzip, objectMapper)) {
+                long count = paymentService.forEachPayment(status, paymentMethod, startDate, endDate,
+                        minAmount, maxAmount, writer::write);
+                logger.debug("Exported {} payments", count);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(format.mediaType(gzip))
+                .header(HttpHeaders.CONTENT_DISPOSITION, format.attachment("paiements", gzip))
+                .body(body);
+    }
+
     @Operation(summary = "Récupérer les paiements d'une réservation")
     @GetMapping("/booking/{bookingId}")
     public ResponseEntity<ApiResponse<List<PaymentResponse>>> getBookingPayments(
             @Parameter(description = "ID de la réservation") @PathVariable UUID bookingId,
-            HttpServletRequest httpRequest) {
+            @CurrentUser AuthenticatedUser currentUser) {
 
-        UUID userId = getCurrentUserId(httpRequest);
+        UUID userId = currentUser.getUserId();
         logger.debug("Fetching payments for booking: {} by user: {}", bookingId, userId);
 
         List<Payment> payments = paymentService.getBookingPayments(bookingId);
@@ -180,19 +305,18 @@ public class PaymentController {
         }
     }
 
-    @Operation(summary = "Calculer les revenus pour une période")
+    @Operation(summary = "Calculer les revenus pour une période",
+            description = "Revenus nets (encaissements moins remboursements) par jour entier, lus dans les agrégats quotidiens")
     @GetMapping("/revenue")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
     public ResponseEntity<ApiResponse<BigDecimal>> calculateRevenue(
-            @Parameter(description = "Date de début") @RequestParam String startDate,
-            @Parameter(description = "Date de fin") @RequestParam String endDate) {
+            @Parameter(description = "Date de début (jour inclus)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (jour inclus)") @RequestParam String endDate,
+            @Parameter(description = "ID de l'établissement") @RequestParam(required = false) UUID establishmentId) {
 
         logger.debug("Calculating revenue from {} to {}", startDate, endDate);
 
-        LocalDateTime start = LocalDateTime.parse(startDate);
-        LocalDateTime end = LocalDateTime.parse(endDate);
-
-        BigDecimal revenue = paymentService.calculateRevenue(start, end);
+        BigDecimal revenue = revenueRollupService.getRevenue(toDay(startDate), toDay(endDate), establishmentId);
 
         return ResponseEntity.ok(ApiResponse.success("Revenus calculés", revenue));
     }
@@ -201,53 +325,70 @@ public class PaymentController {
     @GetMapping("/revenue/by-method")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
     public ResponseEntity<ApiResponse<Map<PaymentMethod, BigDecimal>>> getRevenueByPaymentMethod(
-            @Parameter(description = "Date de début") @RequestParam String startDate,
-            @Parameter(description = "Date de fin") @RequestParam String endDate) {
+            @Parameter(description = "Date de début (jour inclus)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (jour inclus)") @RequestParam String endDate,
+            @Parameter(description = "ID de l'établissement") @RequestParam(required = false) UUID establishmentId) {
 
         logger.debug("Getting revenue by payment method from {} to {}", startDate, endDate);
 
-        LocalDateTime start = LocalDateTime.parse(startDate);
-        LocalDateTime end = LocalDateTime.parse(endDate);
-
-        Map<PaymentMethod, BigDecimal> revenueByMethod = paymentService.getRevenueByPaymentMethod(start, end);
+        Map<PaymentMethod, BigDecimal> revenueByMethod =
+                revenueRollupService.getRevenueByPaymentMethod(toDay(startDate), toDay(endDate), establishmentId);
 
         return ResponseEntity.ok(ApiResponse.success("Statistiques des revenus", revenueByMethod));
     }
 
+    @Operation(summary = "Revenus jour par jour")
+    @GetMapping("/revenue/daily")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<Map<LocalDate, BigDecimal>>> getDailyRevenue(
+            @Parameter(description = "Date de début (jour inclus)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (jour inclus)") @RequestParam String endDate,
+            @Parameter(description = "ID de l'établissement") @RequestParam(required = false) UUID establishmentId) {
+
+        logger.debug("Getting daily revenue from {} to {}", startDate, endDate);
+
+        Map<LocalDate, BigDecimal> dailyRevenue =
+                revenueRollupService.getDailyRevenue(toDay(startDate), toDay(endDate), establishmentId);
+
+        return ResponseEntity.ok(ApiResponse.success("Revenus quotidiens", dailyRevenue));
+    }
+
+    @Operation(summary = "Reconstruire les agrégats de revenus",
+            description = "Recalcule les agrégats quotidiens d'une période depuis la table des paiements")
+    @PostMapping("/revenue/rollups/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> rebuildRevenueRollups(
+            @Parameter(description = "Date de début (jour inclus)") @RequestParam String startDate,
+            @Parameter(description = "Date de fin (jour inclus)") @RequestParam String endDate) {
+
+        logger.info("Rebuilding revenue rollups from {} to {}", startDate, endDate);
+
+        int rows = revenueRollupService.backfill(toDay(startDate), toDay(endDate));
+
+        return ResponseEntity.ok(ApiResponse.success("Agrégats de revenus reconstruits", rows));
+    }
+
     @Operation(summary = "Webhook Stripe",
-            description = "Endpoint pour recevoir les webhooks de Stripe")
+            description = "Endpoint pour recevoir les webhooks de Stripe : acquitté dès l'enregistrement, traité en arrière-plan")
     @PostMapping("/stripe/webhook")
     public ResponseEntity<String> handleStripeWebhook(
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
 
-        logger.info("Received Stripe webhook");
+        logger.debug("Received Stripe webhook");
 
         try {
-            // TODO: Implémenter la vérification de signature et le traitement des événements Stripe
-            // Event event = Webhook.constructEvent(payload, sigHeader, webhookSecret);
+            boolean accepted = stripeWebhookService.receive(payload, sigHeader);
+            return ResponseEntity.ok(accepted ? "Webhook accepted" : "Webhook already received");
 
-            logger.info("Stripe webhook processed successfully");
-            return ResponseEntity.ok("Webhook handled");
-
-        } catch (Exception e) {
-            logger.error("Failed to process Stripe webhook", e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Webhook failed");
+        } catch (SignatureVerificationException e) {
+            logger.warn("Rejected Stripe webhook: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid signature");
         }
     }
 
-    // Méthodes utilitaires privées
-
-    private UUID getCurrentUserId(HttpServletRequest request) {
-        String token = extractTokenFromRequest(request);
-        return authService.getUserFromToken(token).getId();
-    }
-
-    private String extractTokenFromRequest(HttpServletRequest request) {
-        String bearerToken = request.getHeader("Authorization");
-        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            return bearerToken.substring(7);
-        }
-        throw new IllegalArgumentException("No valid token found in request");
+    // Les agrégats sont quotidiens : accepte une date ou une date-heure, dont seul le jour est retenu
+    private static LocalDate toDay(String value) {
+        return value.length() > 10 ? LocalDateTime.parse(value).toLocalDate() : LocalDate.parse(value);
     }
 }
\ No newline at end of file
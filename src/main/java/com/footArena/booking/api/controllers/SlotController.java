@@ -1,10 +1,15 @@
 package com.footArena.booking.api.controllers;
 
+import com.footArena.booking.api.dto.request.CreateRecurringSlotsRequest;
 import com.footArena.booking.api.dto.request.CreateSlotRequest;
 import com.footArena.booking.api.dto.request.UpdateSlotRequest;
 import com.footArena.booking.api.dto.response.ApiResponse;
+import com.footArena.booking.api.dto.response.CursorPageResponse;
 import com.footArena.booking.api.dto.response.PageResponse;
+import com.footArena.booking.api.dto.response.RecurringGenerationResult;
+import com.footArena.booking.api.dto.response.RecurringSlotsResponse;
 import com.footArena.booking.api.dto.response.SlotResponse;
+import com.footArena.booking.api.mappers.CursorMapper;
 import com.footArena.booking.api.mappers.SlotMapper;
 import com.footArena.booking.domain.entities.Slot;
 import com.footArena.booking.domain.enums.SlotStatus;
@@ -20,17 +25,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/slots")
@@ -38,13 +48,18 @@ import java.util.UUID;
 public class SlotController {
 
     private static final Logger logger = LoggerFactory.getLogger(SlotController.class);
+    // Colonnes non nulles uniquement : une valeur nulle ne peut pas servir de position keyset
+    private static final Set<String> CURSOR_SORTABLE_PROPERTIES =
+            Set.of("startTime", "endTime", "price", "status", "createdAt");
 
     private final SlotService slotService;
     private final SlotMapper slotMapper;
+    private final CursorMapper cursorMapper;
 
-    public SlotController(SlotService slotService, SlotMapper slotMapper) {
+    public SlotController(SlotService slotService, SlotMapper slotMapper, CursorMapper cursorMapper) {
         this.slotService = slotService;
         this.slotMapper = slotMapper;
+        this.cursorMapper = cursorMapper;
     }
 
     @Operation(summary = "Créer un nouveau créneau",
@@ -100,6 +115,31 @@ public class SlotController {
                 .body(ApiResponse.success(slots.size() + " créneaux créés avec succès", responses));
     }
 
+    @Operation(summary = "Créer un planning récurrent sur plusieurs terrains",
+            description = "Génère en une seule requête les créneaux récurrents de plusieurs terrains et retourne, " +
+                    "pour chaque terrain, le nombre d'occurrences créées et ignorées (conflit ou date passée)")
+    @PostMapping(value = "/recurring", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<ApiResponse<List<RecurringSlotsResponse>>> createRecurringSchedule(
+            @Valid @RequestBody CreateRecurringSlotsRequest request) {
+
+        logger.info("Creating recurring schedule for fields: {}", request.getFieldIds());
+
+        List<RecurringGenerationResult> results = slotService.createRecurringSchedule(
+                request.getFieldIds(), request.getStartDate(), request.getEndDate(),
+                request.getStartTime(), request.getEndTime(), request.getPrice(),
+                request.getMaxCapacity(), request.getDaysOfWeek(), request.getDescription()
+        );
+
+        List<RecurringSlotsResponse> responses = results.stream()
+                .map(slotMapper::toRecurringResponse)
+                .collect(Collectors.toList());
+        int createdCount = results.stream().mapToInt(RecurringGenerationResult::getCreatedCount).sum();
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(createdCount + " créneaux créés avec succès", responses));
+    }
+
     @Operation(summary = "Récupérer un créneau par ID")
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SlotResponse>> getSlotById(
@@ -150,14 +190,18 @@ public class SlotController {
     @Operation(summary = "Récupérer les créneaux d'un terrain")
     @GetMapping("/field/{fieldId}")
     public ResponseEntity<ApiResponse<List<SlotResponse>>> getSlotsByField(
-            @Parameter(description = "ID du terrain") @PathVariable UUID fieldId) {
+            @Parameter(description = "ID du terrain") @PathVariable UUID fieldId,
+            WebRequest request) {
 
         logger.debug("Fetching slots for field: {}", fieldId);
 
-        List<Slot> slots = slotService.getSlotsByField(fieldId);
-        List<SlotResponse> responses = slotMapper.toResponseList(slots);
+        return ConditionalResponses.ifNoneMatch(request, slotService.getFieldSlotsVersion(fieldId),
+                ConditionalResponses.AVAILABILITY, () -> {
+                    List<Slot> slots = slotService.getSlotsByField(fieldId);
+                    List<SlotResponse> responses = slotMapper.toResponseList(slots);
 
-        return ResponseEntity.ok(ApiResponse.success("Créneaux du terrain récupérés", responses));
+                    return ApiResponse.success("Créneaux du terrain récupérés", responses);
+                });
     }
 
     @Operation(summary = "Rechercher des créneaux avec filtres")
@@ -191,6 +235,37 @@ public class SlotController {
         return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
     }
 
+    @Operation(summary = "Rechercher des créneaux avec pagination par curseur",
+            description = "Même recherche que /search, sans comptage total : passer le nextCursor reçu dans after pour la page suivante")
+    @GetMapping("/search/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<SlotResponse>>> searchSlotsByCursor(
+            @Parameter(description = "ID du terrain") @RequestParam(required = false) UUID fieldId,
+            @Parameter(description = "Statut du créneau") @RequestParam(required = false) SlotStatus status,
+            @Parameter(description = "Date de début") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Date de fin") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Prix minimum") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Prix maximum") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Créneaux premium uniquement") @RequestParam(required = false) Boolean isPremium,
+            @Parameter(description = "Curseur de la page précédente (nextCursor)") @RequestParam(required = false) String after,
+            @Parameter(description = "Taille de page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Champ de tri") @RequestParam(defaultValue = "startTime") String sortBy,
+            @Parameter(description = "Direction du tri") @RequestParam(defaultValue = "asc") String sortDir) {
+
+        logger.debug("Searching slots with filters by cursor");
+
+        int pageSize = cursorMapper.pageSize(size);
+
+        Sort sort = cursorMapper.sort(sortBy, sortDir, CURSOR_SORTABLE_PROPERTIES);
+
+        Window<Slot> slots = slotService.scrollSlots(fieldId, status, startDate, endDate, minPrice, maxPrice,
+                isPremium, sort, pageSize, cursorMapper.toScrollPosition(after, Slot.class, sort));
+
+        CursorPageResponse<SlotResponse> pageResponse = CursorPageResponse.of(
+                slots.map(slotMapper::toResponse), pageSize, cursorMapper.toCursor(slots));
+
+        return ResponseEntity.ok(ApiResponse.success("Recherche effectuée", pageResponse));
+    }
+
     @Operation(summary = "Mettre à jour un créneau")
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
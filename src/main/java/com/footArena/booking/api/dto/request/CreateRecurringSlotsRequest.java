@@ -0,0 +1,119 @@
+package com.footArena.booking.api.dto.request;
+
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+public class CreateRecurringSlotsRequest {
+
+    @NotEmpty(message = "At least one field ID is required")
+    @Size(max = 100, message = "Cannot generate slots for more than 100 fields at once")
+    private List<@NotNull UUID> fieldIds;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be positive")
+    @Digits(integer = 8, fraction = 2, message = "Invalid price format")
+    private BigDecimal price;
+
+    @NotNull(message = "Max capacity is required")
+    @Min(value = 1, message = "Max capacity must be at least 1")
+    @Max(value = 50, message = "Max capacity cannot exceed 50")
+    private Integer maxCapacity;
+
+    @NotEmpty(message = "At least one day of week is required")
+    private List<@Min(1) @Max(7) Integer> daysOfWeek;
+
+    @Size(max = 500, message = "Description cannot exceed 500 characters")
+    private String description;
+
+    public CreateRecurringSlotsRequest() {
+    }
+
+    public List<UUID> getFieldIds() {
+        return fieldIds;
+    }
+
+    public void setFieldIds(List<UUID> fieldIds) {
+        this.fieldIds = fieldIds;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getMaxCapacity() {
+        return maxCapacity;
+    }
+
+    public void setMaxCapacity(Integer maxCapacity) {
+        this.maxCapacity = maxCapacity;
+    }
+
+    public List<Integer> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(List<Integer> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
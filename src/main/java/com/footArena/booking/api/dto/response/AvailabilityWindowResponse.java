@@ -0,0 +1,74 @@
+package com.footArena.booking.api.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AvailabilityWindowResponse {
+
+    private UUID fieldId;
+    private UUID slotId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private long durationInMinutes;
+    private int availableSpots;
+    private boolean partiallyBooked;
+
+    public AvailabilityWindowResponse() {
+    }
+
+    public UUID getFieldId() {
+        return fieldId;
+    }
+
+    public void setFieldId(UUID fieldId) {
+        this.fieldId = fieldId;
+    }
+
+    public UUID getSlotId() {
+        return slotId;
+    }
+
+    public void setSlotId(UUID slotId) {
+        this.slotId = slotId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public long getDurationInMinutes() {
+        return durationInMinutes;
+    }
+
+    public void setDurationInMinutes(long durationInMinutes) {
+        this.durationInMinutes = durationInMinutes;
+    }
+
+    public int getAvailableSpots() {
+        return availableSpots;
+    }
+
+    public void setAvailableSpots(int availableSpots) {
+        this.availableSpots = availableSpots;
+    }
+
+    public boolean isPartiallyBooked() {
+        return partiallyBooked;
+    }
+
+    public void setPartiallyBooked(boolean partiallyBooked) {
+        this.partiallyBooked = partiallyBooked;
+    }
+}
@@ -0,0 +1,74 @@
+package com.footArena.booking.api.dto.response;
+
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/**
+ * Page obtenue par pagination par curseur : pas de numéro de page ni de total,
+ * seulement le curseur opaque à renvoyer dans "after" pour obtenir la page suivante
+ */
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int pageSize;
+    private String nextCursor;
+    private boolean hasNext;
+    private boolean empty;
+
+    public CursorPageResponse() {
+    }
+
+    public CursorPageResponse(Window<T> window, int pageSize, String nextCursor) {
+        this.content = window.getContent();
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.hasNext = window.hasNext();
+        this.empty = window.isEmpty();
+    }
+
+    public static <T> CursorPageResponse<T> of(Window<T> window, int pageSize, String nextCursor) {
+        return new CursorPageResponse<>(window, pageSize, nextCursor);
+    }
+
+    // Getters et Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public void setEmpty(boolean empty) {
+        this.empty = empty;
+    }
+}
@@ -0,0 +1,50 @@
+package com.footArena.booking.api.dto.response;
+
+import com.footArena.booking.domain.entities.Slot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bilan de la génération des créneaux récurrents d'un terrain : créneaux créés et dates ignorées
+ */
+public class RecurringGenerationResult {
+
+    private final UUID fieldId;
+    private final List<Slot> createdSlots;
+    private final List<LocalDate> conflictingDates;
+    private final List<LocalDate> pastDates;
+
+    public RecurringGenerationResult(UUID fieldId, List<Slot> createdSlots,
+                                     List<LocalDate> conflictingDates, List<LocalDate> pastDates) {
+        this.fieldId = fieldId;
+        this.createdSlots = createdSlots;
+        this.conflictingDates = conflictingDates;
+        this.pastDates = pastDates;
+    }
+
+    public UUID getFieldId() {
+        return fieldId;
+    }
+
+    public List<Slot> getCreatedSlots() {
+        return createdSlots;
+    }
+
+    public List<LocalDate> getConflictingDates() {
+        return conflictingDates;
+    }
+
+    public List<LocalDate> getPastDates() {
+        return pastDates;
+    }
+
+    public int getCreatedCount() {
+        return createdSlots.size();
+    }
+
+    public int getSkippedCount() {
+        return conflictingDates.size() + pastDates.size();
+    }
+}
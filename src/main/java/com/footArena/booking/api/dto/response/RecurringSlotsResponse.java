@@ -0,0 +1,57 @@
+package com.footArena.booking.api.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public class RecurringSlotsResponse {
+
+    private UUID fieldId;
+    private int createdCount;
+    private int skippedCount;
+    private List<LocalDate> conflictingDates;
+    private List<LocalDate> pastDates;
+
+    public RecurringSlotsResponse() {
+    }
+
+    public UUID getFieldId() {
+        return fieldId;
+    }
+
+    public void setFieldId(UUID fieldId) {
+        this.fieldId = fieldId;
+    }
+
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    public void setCreatedCount(int createdCount) {
+        this.createdCount = createdCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+
+    public List<LocalDate> getConflictingDates() {
+        return conflictingDates;
+    }
+
+    public void setConflictingDates(List<LocalDate> conflictingDates) {
+        this.conflictingDates = conflictingDates;
+    }
+
+    public List<LocalDate> getPastDates() {
+        return pastDates;
+    }
+
+    public void setPastDates(List<LocalDate> pastDates) {
+        this.pastDates = pastDates;
+    }
+}
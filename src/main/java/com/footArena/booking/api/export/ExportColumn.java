@@ -0,0 +1,9 @@
+package com.footArena.booking.api.export;
+
+import java.util.function.Function;
+
+/**
+ * Colonne d'un export : nom (en-tête CSV ou clé JSON) et valeur extraite de l'entité
+ */
+public record ExportColumn<T>(String name, Function<T, Object> value) {
+}
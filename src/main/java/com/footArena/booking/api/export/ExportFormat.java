@@ -0,0 +1,37 @@
+package com.footArena.booking.api.export;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats des exports en flux : CSV (avec ligne d'en-tête) ou JSON lines (un objet par ligne)
+ */
+public enum ExportFormat {
+
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    JSONL(new MediaType("application", "x-ndjson"), "jsonl");
+
+    private static final MediaType GZIP = new MediaType("application", "gzip");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType(boolean gzip) {
+        return gzip ? GZIP : mediaType;
+    }
+
+    /**
+     * En-tête Content-Disposition du fichier exporté (extension .gz ajoutée si compressé)
+     */
+    public String attachment(String baseName, boolean gzip) {
+        String fileName = baseName + "." + extension + (gzip ? ".gz" : "");
+        return ContentDisposition.attachment().filename(fileName).build().toString();
+    }
+}
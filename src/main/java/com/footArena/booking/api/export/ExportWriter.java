@@ -0,0 +1,110 @@
+package com.footArena.booking.api.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Écrit les lignes d'un export au fil de l'eau dans le flux de réponse, éventuellement compressé en gzip.
+ * Seul le tampon d'écriture est conservé en mémoire. La fermeture termine le fichier sans fermer le flux reçu.
+ */
+public final class ExportWriter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final List<ExportColumn<T>> columns;
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+    private final JsonGenerator generator;
+
+    private ExportWriter(ExportFormat format, List<ExportColumn<T>> columns, OutputStream output, boolean compressed,
+                         ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.columns = columns;
+        this.gzip = compressed ? new GZIPOutputStream(output, BUFFER_SIZE) : null;
+        this.writer = new BufferedWriter(
+                new OutputStreamWriter(compressed ? gzip : output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.JSONL) {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        } else {
+            this.generator = null;
+        }
+    }
+
+    /**
+     * Ouvre l'export ; en CSV, la ligne d'en-tête est écrite immédiatement
+     */
+    public static <T> ExportWriter<T> open(ExportFormat format, List<ExportColumn<T>> columns, OutputStream output,
+                                           boolean gzip, ObjectMapper objectMapper) throws IOException {
+        ExportWriter<T> exportWriter = new ExportWriter<>(format, columns, output, gzip, objectMapper);
+        if (format == ExportFormat.CSV) {
+            exportWriter.writeCsvLine(columns.stream().map(ExportColumn::name).toList());
+        }
+        return exportWriter;
+    }
+
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(columns.stream().map(column -> column.value().apply(row)).toList());
+            } else {
+                generator.writeStartObject();
+                for (ExportColumn<T> column : columns) {
+                    generator.writeFieldName(column.name());
+                    generator.writeObject(column.value().apply(row));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        }
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 : les valeurs contenant un séparateur, un guillemet ou un retour à la ligne sont entre guillemets
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal amount ? amount.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,45 @@
+package com.footArena.booking.api.mappers;
+
+import com.footArena.booking.api.dto.response.AvailabilityWindowResponse;
+import com.footArena.booking.infrastructure.index.AvailabilityWindow;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class AvailabilityMapper {
+
+    /**
+     * Convertit une AvailabilityWindow en AvailabilityWindowResponse
+     */
+    public AvailabilityWindowResponse toResponse(AvailabilityWindow window) {
+        if (window == null) {
+            return null;
+        }
+
+        AvailabilityWindowResponse response = new AvailabilityWindowResponse();
+        response.setFieldId(window.getFieldId());
+        response.setSlotId(window.getSlotId());
+        response.setStartTime(window.getStartTime());
+        response.setEndTime(window.getEndTime());
+        response.setDurationInMinutes(window.getDurationInMinutes());
+        response.setAvailableSpots(window.getAvailableSpots());
+        response.setPartiallyBooked(window.isPartiallyBooked());
+
+        return response;
+    }
+
+    /**
+     * Convertit une liste de plages en liste de AvailabilityWindowResponse
+     */
+    public List<AvailabilityWindowResponse> toResponseList(List<AvailabilityWindow> windows) {
+        if (windows == null) {
+            return List.of();
+        }
+
+        return windows.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+}
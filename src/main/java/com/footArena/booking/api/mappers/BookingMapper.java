@@ -3,6 +3,7 @@ package com.footArena.booking.api.mappers;
 import com.footArena.booking.api.dto.response.BookingPlayerResponse;
 import com.footArena.booking.api.dto.response.BookingResponse;
 import com.footArena.booking.api.dto.response.PaymentResponse;
+import com.footArena.booking.api.export.ExportColumn;
 import com.footArena.booking.domain.entities.Booking;
 import com.footArena.booking.domain.entities.BookingPlayer;
 import org.springframework.stereotype.Component;
@@ -13,6 +14,25 @@ import java.util.stream.Collectors;
 @Component
 public class BookingMapper {
 
+    /**
+     * Colonnes de l'export des réservations (utilisateur et créneau chargés avec la réservation)
+     */
+    public static final List<ExportColumn<Booking>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", Booking::getId),
+            new ExportColumn<>("reference", Booking::getBookingReference),
+            new ExportColumn<>("status", Booking::getStatus),
+            new ExportColumn<>("type", Booking::getBookingType),
+            new ExportColumn<>("players", Booking::getNumberOfPlayers),
+            new ExportColumn<>("totalAmount", Booking::getTotalAmount),
+            new ExportColumn<>("paid", Booking::getIsPaid),
+            new ExportColumn<>("userEmail", booking -> booking.getUser().getEmail()),
+            new ExportColumn<>("userName", booking -> booking.getUser().getFullName()),
+            new ExportColumn<>("slotStart", booking -> booking.getSlot().getStartTime()),
+            new ExportColumn<>("slotEnd", booking -> booking.getSlot().getEndTime()),
+            new ExportColumn<>("teamName", Booking::getTeamName),
+            new ExportColumn<>("createdAt", Booking::getCreatedAt),
+            new ExportColumn<>("cancelledAt", Booking::getCancelledAt));
+
     private final UserMapper userMapper;
     private final SlotMapper slotMapper;
     private final PaymentMapper paymentMapper;
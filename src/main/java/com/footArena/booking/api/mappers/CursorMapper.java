@@ -0,0 +1,155 @@
+package com.footArena.booking.api.mappers;
+
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversion entre une position keyset (valeurs de tri + id du dernier élément) et le curseur opaque
+ * exposé aux clients ("after")
+ */
+@Component
+public class CursorMapper {
+
+    private static final String ID_PROPERTY = "id";
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String VALUE_SEPARATOR = "=";
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ConversionService conversionService = DefaultConversionService.getSharedInstance();
+    private final Map<String, Class<?>> propertyTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Taille de page demandée, ramenée entre 1 et MAX_PAGE_SIZE
+     */
+    public int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Tri demandé, limité aux propriétés que l'endpoint autorise ; toute autre propriété est refusée
+     */
+    public Sort sort(String sortBy, String sortDir, Set<String> sortableProperties) {
+        if (!sortableProperties.contains(sortBy)) {
+            throw new BusinessValidationException("Unsupported sort property: " + sortBy);
+        }
+        return sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending()
+                : Sort.by(sortBy).ascending();
+    }
+
+    /**
+     * Curseur désignant la page qui suit la fenêtre, ou null s'il s'agit de la dernière
+     */
+    public String toCursor(Window<?> window) {
+        if (window == null || window.isEmpty() || !window.hasNext()) {
+            return null;
+        }
+
+        KeysetScrollPosition position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        StringBuilder payload = new StringBuilder();
+        position.getKeys().forEach((property, value) -> {
+            if (payload.length() > 0) {
+                payload.append(LINE_SEPARATOR);
+            }
+            payload.append(property);
+            if (value != null) {
+                payload.append(VALUE_SEPARATOR).append(value);
+            }
+        });
+
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position de départ correspondant au curseur reçu, ou début de la liste s'il est absent.
+     * Le curseur doit avoir été émis pour le même tri.
+     */
+    public KeysetScrollPosition toScrollPosition(String cursor, Class<?> entityType, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, String> rawKeys = decode(cursor);
+
+        Set<String> expectedProperties = new LinkedHashSet<>();
+        sort.forEach(order -> expectedProperties.add(order.getProperty()));
+        expectedProperties.add(ID_PROPERTY);
+        if (!rawKeys.keySet().equals(expectedProperties)) {
+            throw new BusinessValidationException("Cursor does not match the requested sort");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        rawKeys.forEach((property, value) -> keys.put(property, convert(entityType, property, value)));
+        return ScrollPosition.forward(keys);
+    }
+
+    private Map<String, String> decode(String cursor) {
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String line : payload.split(LINE_SEPARATOR)) {
+            int separator = line.indexOf(VALUE_SEPARATOR);
+            if (separator < 0) {
+                keys.put(line, null);
+            } else {
+                keys.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+        return keys;
+    }
+
+    private Object convert(Class<?> entityType, String property, String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> type = propertyTypes.computeIfAbsent(entityType.getName() + "#" + property,
+                key -> resolvePropertyType(entityType, property));
+        try {
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            return conversionService.convert(value, type);
+        } catch (RuntimeException e) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+    }
+
+    private Class<?> resolvePropertyType(Class<?> entityType, String property) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(BeanUtils.instantiateClass(entityType));
+        wrapper.setAutoGrowNestedPaths(true);
+        Class<?> type = wrapper.getPropertyType(property);
+        if (type == null) {
+            throw new BusinessValidationException("Invalid cursor");
+        }
+        return type;
+    }
+}
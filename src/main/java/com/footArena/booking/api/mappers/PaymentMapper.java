@@ -1,6 +1,7 @@
 package com.footArena.booking.api.mappers;
 
 import com.footArena.booking.api.dto.response.PaymentResponse;
+import com.footArena.booking.api.export.ExportColumn;
 import com.footArena.booking.domain.entities.Payment;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +11,22 @@ import java.util.stream.Collectors;
 @Component
 public class PaymentMapper {
 
+    /**
+     * Colonnes de l'export des paiements (réservation chargée avec le paiement)
+     */
+    public static final List<ExportColumn<Payment>> EXPORT_COLUMNS = List.of(
+            new ExportColumn<>("id", Payment::getId),
+            new ExportColumn<>("transactionReference", Payment::getTransactionReference),
+            new ExportColumn<>("bookingReference", payment -> payment.getBooking().getBookingReference()),
+            new ExportColumn<>("amount", Payment::getAmount),
+            new ExportColumn<>("currency", Payment::getCurrency),
+            new ExportColumn<>("method", Payment::getPaymentMethod),
+            new ExportColumn<>("status", Payment::getStatus),
+            new ExportColumn<>("processedAt", Payment::getProcessedAt),
+            new ExportColumn<>("refundAmount", Payment::getRefundAmount),
+            new ExportColumn<>("refundedAt", Payment::getRefundedAt),
+            new ExportColumn<>("createdAt", Payment::getCreatedAt));
+
     /**
      * Convertit une entité Payment en PaymentResponse
      */
@@ -1,5 +1,7 @@
 package com.footArena.booking.api.mappers;
 
+import com.footArena.booking.api.dto.response.RecurringGenerationResult;
+import com.footArena.booking.api.dto.response.RecurringSlotsResponse;
 import com.footArena.booking.api.dto.response.SlotResponse;
 import com.footArena.booking.domain.entities.Slot;
 import org.springframework.stereotype.Component;
@@ -77,4 +79,22 @@ public class SlotMapper {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Convertit le bilan d'une génération récurrente en RecurringSlotsResponse
+     */
+    public RecurringSlotsResponse toRecurringResponse(RecurringGenerationResult result) {
+        if (result == null) {
+            return null;
+        }
+
+        RecurringSlotsResponse response = new RecurringSlotsResponse();
+        response.setFieldId(result.getFieldId());
+        response.setCreatedCount(result.getCreatedCount());
+        response.setSkippedCount(result.getSkippedCount());
+        response.setConflictingDates(result.getConflictingDates());
+        response.setPastDates(result.getPastDates());
+
+        return response;
+    }
+}
@@ -6,54 +6,53 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * Token révoqué avant son expiration. Seule l'empreinte SHA-256 du token est conservée, avec son expiration :
+ * la ligne est purgée une fois le token expiré (voir BlackListTokenService).
+ */
 @Entity
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = {
+        @Index(name = "idx_blacklisted_tokens_expires_at", columnList = "expires_at")
+})
 public class BlacklistedToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private UUID id;
+    @Column(name = "token_digest", length = 43)
+    private String tokenDigest;
 
-    @Column(nullable = false, name = "token", length = Integer.MAX_VALUE)
-    private String token;
+    @Column(nullable = false, name = "expires_at")
+    private Instant expiresAt;
 
     @Column(nullable = false, name = "blacklisted_at")
     private LocalDateTime blacklistedAt;
 
-    @Column(nullable = false, name = "expires_at")
-    private Instant expiresAt;
-
-    @Column(nullable = false, name = "user_id")
+    @Column(name = "user_id")
     private UUID userId;
 
-    @Column(nullable = false, name = "isBlackListed")
-    private boolean isBlackListed;
-
     public BlacklistedToken() {
     }
 
-    public BlacklistedToken(String token, LocalDateTime blacklistedAt, Instant expiresAt, UUID userId, boolean isBlackListed) {
-        this.token = token;
-        this.blacklistedAt = blacklistedAt;
+    public BlacklistedToken(String tokenDigest, Instant expiresAt, UUID userId) {
+        this.tokenDigest = tokenDigest;
         this.expiresAt = expiresAt;
         this.userId = userId;
-        this.isBlackListed = isBlackListed;
+        this.blacklistedAt = LocalDateTime.now();
     }
 
-    public UUID getId() {
-        return id;
+    public String getTokenDigest() {
+        return tokenDigest;
     }
 
-    public void setId(UUID id) {
-        this.id = id;
+    public void setTokenDigest(String tokenDigest) {
+        this.tokenDigest = tokenDigest;
     }
 
-    public String getToken() {
-        return token;
+    public Instant getExpiresAt() {
+        return expiresAt;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
     }
 
     public LocalDateTime getBlacklistedAt() {
@@ -64,14 +63,6 @@ public class BlacklistedToken {
         this.blacklistedAt = blacklistedAt;
     }
 
-    public Instant getExpiresAt() {
-        return expiresAt;
-    }
-
-    public void setExpiresAt(Instant expiresAt) {
-        this.expiresAt = expiresAt;
-    }
-
     public UUID getUserId() {
         return userId;
     }
@@ -79,13 +70,4 @@ public class BlacklistedToken {
     public void setUserId(UUID userId) {
         this.userId = userId;
     }
-
-    public boolean isBlackListed() {
-        return isBlackListed;
-    }
-
-    public void setBlackListed(boolean isBlackListed) {
-        this.isBlackListed = isBlackListed;
-    }
-
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.footArena.booking.domain.entities;
 
 import com.footArena.booking.domain.enums.BookingStatus;
 import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -13,11 +14,16 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_bookings_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_bookings_status_deadline", columnList = "status, confirmation_deadline"),
+        @Index(name = "idx_bookings_slot_status", columnList = "slot_id, status")
+})
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -98,7 +104,6 @@ public class Booking {
         this.totalAmount = totalAmount;
         this.status = BookingStatus.PENDING;
         this.isPaid = false;
-        this.bookingReference = generateBookingReference();
         this.confirmationDeadline = LocalDateTime.now().plusHours(2); // 2h pour confirmer
     }
 
@@ -170,11 +175,6 @@ public class Booking {
         return totalAmount.subtract(getTotalPaidAmount());
     }
 
-    private String generateBookingReference() {
-        return "BK" + System.currentTimeMillis() +
-                String.format("%03d", (int) (Math.random() * 1000));
-    }
-
     public UUID getId() {
         return id;
     }
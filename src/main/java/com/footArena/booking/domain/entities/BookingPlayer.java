@@ -1,5 +1,6 @@
 package com.footArena.booking.domain.entities;
 
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -11,7 +12,7 @@ import java.util.UUID;
 public class BookingPlayer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
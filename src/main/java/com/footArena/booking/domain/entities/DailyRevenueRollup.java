@@ -0,0 +1,60 @@
+package com.footArena.booking.domain.entities;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Revenus pré-agrégés par jour, établissement et méthode de paiement.
+ * Les paiements sont comptés au jour de leur encaissement, les remboursements au jour du remboursement.
+ * Alimenté au fil de l'eau par RevenueRollupService (mise à jour atomique dans la transaction du paiement)
+ * et reconstruit par le rattrapage ; les statistiques de revenus ne lisent que cette table.
+ */
+@Entity
+@Table(name = "daily_revenue_rollups", indexes = {
+        @Index(name = "idx_daily_revenue_rollups_date", columnList = "rollup_date, establishment_id")
+})
+public class DailyRevenueRollup {
+
+    @EmbeddedId
+    private DailyRevenueRollupId id;
+
+    @Column(name = "payment_count", nullable = false)
+    private long paymentCount;
+
+    @Column(name = "gross_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossAmount = BigDecimal.ZERO;
+
+    @Column(name = "refund_count", nullable = false)
+    private long refundCount;
+
+    @Column(name = "refund_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundAmount = BigDecimal.ZERO;
+
+    public DailyRevenueRollup() {
+    }
+
+    public DailyRevenueRollupId getId() {
+        return id;
+    }
+
+    public long getPaymentCount() {
+        return paymentCount;
+    }
+
+    public BigDecimal getGrossAmount() {
+        return grossAmount;
+    }
+
+    public long getRefundCount() {
+        return refundCount;
+    }
+
+    public BigDecimal getRefundAmount() {
+        return refundAmount;
+    }
+
+    public BigDecimal getNetAmount() {
+        return grossAmount.subtract(refundAmount);
+    }
+}
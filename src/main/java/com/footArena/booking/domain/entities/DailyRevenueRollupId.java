@@ -0,0 +1,64 @@
+package com.footArena.booking.domain.entities;
+
+import com.footArena.booking.domain.enums.PaymentMethod;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Clé d'un agrégat de revenus : jour × établissement × méthode de paiement
+ */
+@Embeddable
+public class DailyRevenueRollupId implements Serializable {
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "establishment_id", nullable = false)
+    private UUID establishmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+
+    public DailyRevenueRollupId() {
+    }
+
+    public DailyRevenueRollupId(LocalDate rollupDate, UUID establishmentId, PaymentMethod paymentMethod) {
+        this.rollupDate = rollupDate;
+        this.establishmentId = establishmentId;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public UUID getEstablishmentId() {
+        return establishmentId;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DailyRevenueRollupId that)) return false;
+        return Objects.equals(rollupDate, that.rollupDate)
+                && Objects.equals(establishmentId, that.establishmentId)
+                && paymentMethod == that.paymentMethod;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rollupDate, establishmentId, paymentMethod);
+    }
+}
@@ -1,6 +1,10 @@
 package com.footArena.booking.domain.entities;
 
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -11,10 +15,12 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "establishments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Establishment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "name", nullable = false)
@@ -29,6 +35,11 @@ public class Establishment {
     @Column(name = "email", nullable = false)
     private String email;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @Temporal(TemporalType.TIMESTAMP)
     @CreationTimestamp
@@ -40,6 +51,7 @@ public class Establishment {
     private Date updatedAt;
 
     @OneToMany(mappedBy = "establishment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Field> fields = new ArrayList<>();
 
     public Establishment() {
@@ -92,6 +104,10 @@ public class Establishment {
         this.email = email;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Date getCreatedAt() {
         return createdAt;
     }
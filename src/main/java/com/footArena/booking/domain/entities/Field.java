@@ -1,14 +1,20 @@
 package com.footArena.booking.domain.entities;
 
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
 @Entity
 @Table(name = "fields")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Field {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "name", nullable = false)
@@ -30,6 +36,11 @@ public class Field {
     @JoinColumn(name = "establishment_id", nullable = false)
     private Establishment establishment;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     public Field() {
     }
 
@@ -90,6 +101,10 @@ public class Field {
         this.available = available;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public Establishment getEstablishment() {
         return establishment;
     }
@@ -1,5 +1,6 @@
 package com.footArena.booking.domain.entities;
 
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
@@ -8,11 +9,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invoices")
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoices_status_due", columnList = "status, due_date"),
+        @Index(name = "idx_invoices_issued", columnList = "issued_at")
+})
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -81,7 +85,6 @@ public class Invoice {
         this.customerEmail = customerEmail;
         this.establishmentName = establishmentName;
         this.establishmentAddress = establishmentAddress;
-        this.invoiceNumber = generateInvoiceNumber();
         this.status = "ISSUED";
         this.dueDate = LocalDateTime.now().plusDays(30);
 
@@ -111,13 +114,9 @@ public class Invoice {
         return "CANCELLED".equals(status);
     }
 
+    // Même règle que InvoiceRepository.findOverdueInvoices : une facture annulée n'est pas en retard
     public boolean isOverdue() {
-        return !isPaid() && LocalDateTime.now().isAfter(dueDate);
-    }
-
-    private String generateInvoiceNumber() {
-        return "INV-" + LocalDateTime.now().getYear() + "-" +
-                String.format("%06d", System.currentTimeMillis() % 1000000);
+        return "ISSUED".equals(status) && dueDate != null && LocalDateTime.now().isAfter(dueDate);
     }
 
     public UUID getId() {
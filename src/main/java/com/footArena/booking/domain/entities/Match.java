@@ -3,6 +3,7 @@ package com.footArena.booking.domain.entities;
 import com.footArena.booking.domain.enums.MatchStatus;
 import com.footArena.booking.domain.enums.MatchType;
 import com.footArena.booking.domain.enums.SkillLevel;
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class Match {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.footArena.booking.domain.entities;
 
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 
 import java.util.UUID;
@@ -9,7 +10,7 @@ import java.util.UUID;
 public class MatchPlayer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne
@@ -2,6 +2,7 @@ package com.footArena.booking.domain.entities;
 
 import com.footArena.booking.domain.enums.PaymentMethod;
 import com.footArena.booking.domain.enums.PaymentStatus;
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -11,11 +12,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_payments_method_created", columnList = "payment_method, created_at")
+})
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -66,9 +70,6 @@ public class Payment {
     @Column(name = "admin_notes")
     private String adminNotes;
 
-    @OneToOne(mappedBy = "payment", cascade = CascadeType.ALL, orphanRemoval = true)
-    private Invoice invoice;
-
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -86,7 +87,6 @@ public class Payment {
         this.paymentMethod = paymentMethod;
         this.status = PaymentStatus.PENDING;
         this.currency = "EUR";
-        this.transactionReference = generateTransactionReference();
         this.description = "Paiement pour réservation " + booking.getBookingReference();
     }
 
@@ -145,11 +145,6 @@ public class Payment {
         return amount.subtract(refundAmount);
     }
 
-    private String generateTransactionReference() {
-        return "TXN" + System.currentTimeMillis() +
-                String.format("%04d", (int) (Math.random() * 10000));
-    }
-
     public UUID getId() {
         return id;
     }
@@ -278,14 +273,6 @@ public class Payment {
         this.adminNotes = adminNotes;
     }
 
-    public Invoice getInvoice() {
-        return invoice;
-    }
-
-    public void setInvoice(Invoice invoice) {
-        this.invoice = invoice;
-    }
-
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
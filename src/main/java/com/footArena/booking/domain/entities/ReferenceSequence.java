@@ -0,0 +1,31 @@
+package com.footArena.booking.domain.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Compteur nommé servant à numéroter les références (réservations, transactions, factures).
+ * reserved_until est la dernière valeur réservée : les valeurs sont distribuées par blocs réservés
+ * d'une seule mise à jour (voir ReferenceAllocator).
+ */
+@Entity
+@Table(name = "reference_sequences")
+public class ReferenceSequence {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "reserved_until", nullable = false)
+    private long reservedUntil;
+
+    public ReferenceSequence() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getReservedUntil() {
+        return reservedUntil;
+    }
+}
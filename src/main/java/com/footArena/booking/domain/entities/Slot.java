@@ -1,7 +1,9 @@
 package com.footArena.booking.domain.entities;
 
 import com.footArena.booking.domain.enums.SlotStatus;
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,11 +14,14 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "slots")
+@Table(name = "slots", indexes = {
+        @Index(name = "idx_slots_field_start", columnList = "field_id, start_time"),
+        @Index(name = "idx_slots_status_start", columnList = "status, start_time")
+})
 public class Slot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -57,6 +62,11 @@ public class Slot {
     @OneToMany(mappedBy = "slot", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Booking> bookings = new ArrayList<>();
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -235,6 +245,10 @@ public class Slot {
         this.bookings = bookings;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,187 @@
+package com.footArena.booking.domain.entities;
+
+import com.footArena.booking.domain.enums.WebhookEventStatus;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Événement webhook Stripe reçu. L'identifiant de l'événement est la clé primaire : un second envoi
+ * du même événement échoue à l'insertion, ce qui sert de garde d'idempotence.
+ * Seuls les champs utiles au traitement sont extraits du corps de la requête.
+ */
+@Entity
+@Table(name = "stripe_webhook_events", indexes = {
+        @Index(name = "idx_stripe_webhook_events_status_received", columnList = "status, received_at")
+})
+public class StripeWebhookEvent implements Persistable<String> {
+
+    @Id
+    @Column(name = "event_id", length = 255)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    // Session Checkout ou PaymentIntent concerné
+    @Column(name = "object_id")
+    private String objectId;
+
+    // payment_status d'une session Checkout
+    @Column(name = "object_status")
+    private String objectStatus;
+
+    @Column(name = "failure_message")
+    private String failureMessage;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private WebhookEventStatus status = WebhookEventStatus.RECEIVED;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Identifiant attribué par Stripe : save() doit insérer (persist) et non fusionner
+    @Transient
+    private boolean persisted;
+
+    public StripeWebhookEvent() {
+    }
+
+    public StripeWebhookEvent(String eventId, String eventType, String objectId, String objectStatus,
+                              String failureMessage) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.objectId = objectId;
+        this.objectStatus = objectStatus;
+        this.failureMessage = failureMessage;
+        this.status = WebhookEventStatus.RECEIVED;
+        this.receivedAt = LocalDateTime.now();
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Override
+    public String getId() {
+        return eventId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    public void markProcessed() {
+        this.status = WebhookEventStatus.PROCESSED;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public void markIgnored(String reason) {
+        this.status = WebhookEventStatus.IGNORED;
+        this.lastError = reason;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    public void recordFailure(String error, int maxAttempts) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 255 ? error.substring(0, 255) : error;
+        if (attempts >= maxAttempts) {
+            this.status = WebhookEventStatus.FAILED;
+            this.processedAt = LocalDateTime.now();
+        }
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public void setObjectId(String objectId) {
+        this.objectId = objectId;
+    }
+
+    public String getObjectStatus() {
+        return objectStatus;
+    }
+
+    public void setObjectStatus(String objectStatus) {
+        this.objectStatus = objectStatus;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    public WebhookEventStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WebhookEventStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
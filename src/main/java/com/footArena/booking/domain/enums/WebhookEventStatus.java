@@ -0,0 +1,26 @@
+package com.footArena.booking.domain.enums;
+
+/**
+ * Statuts de traitement des événements webhook Stripe
+ */
+public enum WebhookEventStatus {
+    /**
+     * Reçu et signature vérifiée, en attente de traitement
+     */
+    RECEIVED,
+
+    /**
+     * Appliqué au paiement correspondant
+     */
+    PROCESSED,
+
+    /**
+     * Sans effet (type non géré, paiement inconnu ou déjà traité)
+     */
+    IGNORED,
+
+    /**
+     * Échec après le nombre maximal de tentatives
+     */
+    FAILED
+}
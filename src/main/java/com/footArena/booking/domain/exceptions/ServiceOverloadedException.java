@@ -0,0 +1,12 @@
+package com.footArena.booking.domain.exceptions;
+
+public class ServiceOverloadedException extends BaseException {
+
+    public ServiceOverloadedException(String message) {
+        super(message, "SERVICE_OVERLOADED");
+    }
+
+    public ServiceOverloadedException(String message, Throwable cause) {
+        super(message, "SERVICE_OVERLOADED", cause);
+    }
+}
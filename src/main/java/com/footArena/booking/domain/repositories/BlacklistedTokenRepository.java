@@ -1,12 +1,19 @@
 package com.footArena.booking.domain.repositories;
 
-import org.springframework.data.jpa.repository.JpaRepository;
 import com.footArena.booking.domain.entities.BlacklistedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
 
-import java.util.UUID;
+public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, String> {
 
-public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, UUID> {
-    public BlacklistedToken findByUserIdAndIsBlackListed(UUID userId, boolean isBlackListed);
+    List<BlacklistedToken> findByExpiresAtAfter(Instant now);
 
-    public BlacklistedToken findByToken(String token);
-}
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM BlacklistedToken b WHERE b.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -5,22 +5,34 @@ import com.footArena.booking.domain.enums.BookingStatus;
 import com.footArena.booking.domain.enums.BookingType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface BookingRepository extends JpaRepository<Booking, UUID> {
+public interface BookingRepository extends JpaRepository<Booking, UUID>, KeysetScrollExecutor<Booking> {
+
+    // Recherche filtrée (listes et recherche) : utilisateur et créneau chargés dans la même requête
+    @Override
+    @EntityGraph(attributePaths = {"user", "slot"})
+    Page<Booking> findAll(Specification<Booking> spec, Pageable pageable);
 
     // Recherche par référence de réservation
     Optional<Booking> findByBookingReference(String bookingReference);
 
+    // Réservation avec utilisateur, créneau et terrain chargés pour la vue détaillée
+    @EntityGraph(attributePaths = {"user", "slot", "slot.field"})
+    Optional<Booking> findDetailedById(UUID id);
+
     // Réservations d'un utilisateur
+    @EntityGraph(attributePaths = {"user", "slot"})
     List<Booking> findByUserIdOrderByCreatedAtDesc(UUID userId);
 
     // Réservations par statut
@@ -33,6 +45,14 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.confirmationDeadline < :deadline")
     List<Booking> findExpiredPendingBookings(@Param("deadline") LocalDateTime deadline);
 
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' AND b.confirmationDeadline < :deadline")
+    List<Booking> findExpiredPendingBookingsByIds(@Param("ids") Collection<UUID> ids,
+                                                  @Param("deadline") LocalDateTime deadline);
+
+    // Échéances de confirmation en attente (id, confirmationDeadline)
+    @Query("SELECT b.id, b.confirmationDeadline FROM Booking b WHERE b.status = 'PENDING'")
+    List<Object[]> findPendingConfirmationDeadlines();
+
     // Réservations confirmées pour aujourd'hui
     @Query("SELECT b FROM Booking b WHERE b.status = 'CONFIRMED' AND DATE(b.slot.startTime) = CURRENT_DATE")
     List<Booking> findTodayConfirmedBookings();
@@ -53,12 +73,14 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     Page<Booking> findByEstablishmentId(@Param("establishmentId") UUID establishmentId, Pageable pageable);
 
     // Réservations à venir d'un utilisateur
+    @EntityGraph(attributePaths = {"user", "slot"})
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.slot.startTime > :now AND b.status IN :statuses ORDER BY b.slot.startTime")
     List<Booking> findUpcomingBookingsByUser(@Param("userId") UUID userId,
                                              @Param("now") LocalDateTime now,
                                              @Param("statuses") List<BookingStatus> statuses);
 
     // Historique des réservations d'un utilisateur
+    @EntityGraph(attributePaths = {"user", "slot"})
     @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.slot.endTime < :now ORDER BY b.slot.startTime DESC")
     Page<Booking> findUserBookingHistory(@Param("userId") UUID userId,
                                          @Param("now") LocalDateTime now,
@@ -72,11 +94,6 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.user.id = :userId AND b.status = 'COMPLETED'")
     Long countCompletedBookingsByUser(@Param("userId") UUID userId);
 
-    // Revenus par période
-    @Query("SELECT SUM(b.totalAmount) FROM Booking b WHERE b.status = 'COMPLETED' AND b.slot.startTime BETWEEN :startDate AND :endDate")
-    BigDecimal calculateRevenueByPeriod(@Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
-
     // Réservations populaires par terrain
     @Query("SELECT b.slot.field.id, COUNT(b) FROM Booking b WHERE b.status = 'COMPLETED' GROUP BY b.slot.field.id ORDER BY COUNT(b) DESC")
     List<Object[]> findMostPopularFields();
@@ -89,24 +106,6 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
     @Query("SELECT b FROM Booking b WHERE b.slot.id = :slotId AND b.status IN ('PENDING', 'CONFIRMED') AND b.id != :excludeBookingId")
     List<Booking> findConflictingBookings(@Param("slotId") UUID slotId, @Param("excludeBookingId") UUID excludeBookingId);
 
-    // Recherche avec filtres avancés
-    @Query("SELECT b FROM Booking b WHERE " +
-            "(:userId IS NULL OR b.user.id = :userId) AND " +
-            "(:status IS NULL OR b.status = :status) AND " +
-            "(:bookingType IS NULL OR b.bookingType = :bookingType) AND " +
-            "(:startDate IS NULL OR b.slot.startTime >= :startDate) AND " +
-            "(:endDate IS NULL OR b.slot.endTime <= :endDate) AND " +
-            "(:establishmentId IS NULL OR b.slot.field.establishment.id = :establishmentId) AND " +
-            "(:isPaid IS NULL OR b.isPaid = :isPaid)")
-    Page<Booking> findBookingsWithFilters(@Param("userId") UUID userId,
-                                          @Param("status") BookingStatus status,
-                                          @Param("bookingType") BookingType bookingType,
-                                          @Param("startDate") LocalDateTime startDate,
-                                          @Param("endDate") LocalDateTime endDate,
-                                          @Param("establishmentId") UUID establishmentId,
-                                          @Param("isPaid") Boolean isPaid,
-                                          Pageable pageable);
-
     // Réservations à rappeler (confirmation requise)
     @Query("SELECT b FROM Booking b WHERE b.status = 'PENDING' AND b.confirmationDeadline BETWEEN :now AND :reminderTime")
     List<Booking> findBookingsNeedingReminder(@Param("now") LocalDateTime now,
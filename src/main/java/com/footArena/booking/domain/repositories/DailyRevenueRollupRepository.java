@@ -0,0 +1,94 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.DailyRevenueRollup;
+import com.footArena.booking.domain.entities.DailyRevenueRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, DailyRevenueRollupId> {
+
+    // Incrément atomique : deux paiements simultanés sur la même ligne ne peuvent pas se perdre
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, establishment_id, payment_method, payment_count, gross_amount, refund_count, refund_amount) " +
+            "VALUES (:day, :establishmentId, :paymentMethod, 1, :amount, 0, 0) " +
+            "ON DUPLICATE KEY UPDATE payment_count = payment_count + 1, gross_amount = gross_amount + :amount",
+            nativeQuery = true)
+    int addPayment(@Param("day") LocalDate day,
+                   @Param("establishmentId") UUID establishmentId,
+                   @Param("paymentMethod") String paymentMethod,
+                   @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, establishment_id, payment_method, payment_count, gross_amount, refund_count, refund_amount) " +
+            "VALUES (:day, :establishmentId, :paymentMethod, 0, 0, 1, :amount) " +
+            "ON DUPLICATE KEY UPDATE refund_count = refund_count + 1, refund_amount = refund_amount + :amount",
+            nativeQuery = true)
+    int addRefund(@Param("day") LocalDate day,
+                  @Param("establishmentId") UUID establishmentId,
+                  @Param("paymentMethod") String paymentMethod,
+                  @Param("amount") BigDecimal amount);
+
+    // Revenus bruts et remboursements par méthode de paiement (établissement facultatif)
+    @Query("SELECT r.id.paymentMethod, SUM(r.grossAmount), SUM(r.refundAmount) FROM DailyRevenueRollup r " +
+            "WHERE r.id.rollupDate BETWEEN :startDate AND :endDate " +
+            "AND (:establishmentId IS NULL OR r.id.establishmentId = :establishmentId) " +
+            "GROUP BY r.id.paymentMethod")
+    List<Object[]> sumByPaymentMethod(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("establishmentId") UUID establishmentId);
+
+    // Revenus bruts et remboursements par jour (établissement facultatif)
+    @Query("SELECT r.id.rollupDate, SUM(r.grossAmount), SUM(r.refundAmount) FROM DailyRevenueRollup r " +
+            "WHERE r.id.rollupDate BETWEEN :startDate AND :endDate " +
+            "AND (:establishmentId IS NULL OR r.id.establishmentId = :establishmentId) " +
+            "GROUP BY r.id.rollupDate ORDER BY r.id.rollupDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate,
+                            @Param("endDate") LocalDate endDate,
+                            @Param("establishmentId") UUID establishmentId);
+
+    @Modifying
+    @Query("DELETE FROM DailyRevenueRollup r WHERE r.id.rollupDate BETWEEN :startDate AND :endDate")
+    int deleteByRollupDateBetween(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    // Reconstruction depuis la table des paiements : encaissements de la période
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, establishment_id, payment_method, payment_count, gross_amount, refund_count, refund_amount) " +
+            "SELECT DATE(p.processed_at), f.establishment_id, p.payment_method, COUNT(*), SUM(p.amount), 0, 0 " +
+            "FROM payments p " +
+            "JOIN bookings b ON b.id = p.booking_id " +
+            "JOIN slots s ON s.id = b.slot_id " +
+            "JOIN fields f ON f.id = s.field_id " +
+            "WHERE p.status IN ('COMPLETED', 'PARTIALLY_REFUNDED', 'REFUNDED') " +
+            "AND p.processed_at >= :from AND p.processed_at < :to " +
+            "GROUP BY DATE(p.processed_at), f.establishment_id, p.payment_method",
+            nativeQuery = true)
+    int rebuildPayments(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Reconstruction des remboursements : le montant cumulé d'un paiement est compté au jour de son dernier remboursement
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollups " +
+            "(rollup_date, establishment_id, payment_method, payment_count, gross_amount, refund_count, refund_amount) " +
+            "SELECT DATE(p.refunded_at), f.establishment_id, p.payment_method, 0, 0, COUNT(*), SUM(p.refund_amount) " +
+            "FROM payments p " +
+            "JOIN bookings b ON b.id = p.booking_id " +
+            "JOIN slots s ON s.id = b.slot_id " +
+            "JOIN fields f ON f.id = s.field_id " +
+            "WHERE p.refund_amount IS NOT NULL " +
+            "AND p.refunded_at >= :from AND p.refunded_at < :to " +
+            "GROUP BY DATE(p.refunded_at), f.establishment_id, p.payment_method " +
+            "ON DUPLICATE KEY UPDATE refund_count = VALUES(refund_count), refund_amount = VALUES(refund_amount)",
+            nativeQuery = true)
+    int rebuildRefunds(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
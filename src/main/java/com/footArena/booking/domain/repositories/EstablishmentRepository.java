@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface EstablishmentRepository extends JpaRepository<Establishment, UUID> {
@@ -20,4 +21,12 @@ public interface EstablishmentRepository extends JpaRepository<Establishment, UU
 
     @Query("SELECT e FROM Establishment e JOIN FETCH e.fields WHERE e.id = :id")
     Establishment findByIdWithFields(@Param("id") UUID id);
-}
\ No newline at end of file
+
+    // Empreinte du catalogue : toute modification d'un terrain incrémente aussi la version de son établissement
+    @Query("SELECT new com.footArena.booking.domain.repositories.VersionStamp(" +
+            "COUNT(e), COALESCE(SUM(e.version), 0), MAX(e.createdAt)) FROM Establishment e")
+    VersionStamp findCatalogStamp();
+
+    @Query("SELECT e.version FROM Establishment e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface FieldRepository extends JpaRepository<Field, UUID> {
@@ -27,4 +28,8 @@ public interface FieldRepository extends JpaRepository<Field, UUID> {
     List<Field> findAvailableFieldsByNameContaining(@Param("name") String name);
 
     boolean existsByNameAndEstablishmentId(String name, UUID establishmentId);
-}
\ No newline at end of file
+
+    // Les versions ne font que croître : la somme change dès que le terrain ou son établissement change
+    @Query("SELECT f.version + e.version FROM Field f JOIN f.establishment e WHERE f.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+}
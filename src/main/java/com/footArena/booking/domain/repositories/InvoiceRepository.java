@@ -10,11 +10,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
+public interface InvoiceRepository extends JpaRepository<Invoice, UUID>, KeysetScrollExecutor<Invoice> {
 
     // Recherche par numéro de facture
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
+    Optional<Invoice> findByPaymentId(UUID paymentId);
+
+    // Plus grand numéro portant ce préfixe (numéros de même longueur : ordre alphabétique = ordre numérique)
+    @Query("SELECT MAX(i.invoiceNumber) FROM Invoice i WHERE i.invoiceNumber LIKE CONCAT(:prefix, '%')")
+    String findMaxInvoiceNumber(@Param("prefix") String prefix);
+
     // Factures par statut
     List<Invoice> findByStatus(String status);
 
@@ -27,8 +33,8 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID> {
     // Factures émises dans une période
     List<Invoice> findByIssuedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
-    // Factures échues
-    @Query("SELECT i FROM Invoice i WHERE i.status = 'ISSUED' AND i.dueDate < :now")
+    // Factures échues (index status, due_date)
+    @Query("SELECT i FROM Invoice i WHERE i.status = 'ISSUED' AND i.dueDate < :now ORDER BY i.dueDate")
     List<Invoice> findOverdueInvoices(@Param("now") LocalDateTime now);
 
     // Factures payées dans une période
@@ -0,0 +1,18 @@
+package com.footArena.booking.domain.repositories;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Pagination par clé (keyset) sur une Specification : la page suivante est lue à partir des valeurs
+ * de tri du dernier élément (l'id sert de départage), sans OFFSET ni COUNT
+ */
+public interface KeysetScrollExecutor<T> extends JpaSpecificationExecutor<T> {
+
+    default Window<T> scrollAll(Specification<T> spec, Sort sort, int limit, ScrollPosition position) {
+        return findBy(spec, query -> query.sortBy(sort).limit(limit).scroll(position));
+    }
+}
@@ -11,11 +11,12 @@ import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface PaymentRepository extends JpaRepository<Payment, UUID> {
+public interface PaymentRepository extends JpaRepository<Payment, UUID>, KeysetScrollExecutor<Payment> {
 
     // Recherche par référence de transaction
     Optional<Payment> findByTransactionReference(String transactionReference);
@@ -26,6 +27,11 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     // Recherche par Stripe Session ID
     Optional<Payment> findByStripeSessionId(String stripeSessionId);
 
+    // Recherche groupée pour le traitement des webhooks par lots
+    List<Payment> findByStripePaymentIntentIdIn(Collection<String> stripePaymentIntentIds);
+
+    List<Payment> findByStripeSessionIdIn(Collection<String> stripeSessionIds);
+
     // Paiements d'une réservation
     List<Payment> findByBookingIdOrderByCreatedAtDesc(UUID bookingId);
 
@@ -47,15 +53,9 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @Query("SELECT p FROM Payment p WHERE p.status = 'COMPLETED' AND p.refundAmount IS NULL")
     List<Payment> findRefundablePayments();
 
-    // Revenus par période
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.processedAt BETWEEN :startDate AND :endDate")
-    BigDecimal calculateRevenueByPeriod(@Param("startDate") LocalDateTime startDate,
-                                        @Param("endDate") LocalDateTime endDate);
-
-    // Revenus par méthode de paiement
-    @Query("SELECT p.paymentMethod, SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.processedAt BETWEEN :startDate AND :endDate GROUP BY p.paymentMethod")
-    List<Object[]> findRevenueByPaymentMethod(@Param("startDate") LocalDateTime startDate,
-                                              @Param("endDate") LocalDateTime endDate);
+    // Premier encaissement enregistré, point de départ du rattrapage des agrégats de revenus
+    @Query("SELECT MIN(p.processedAt) FROM Payment p WHERE p.processedAt IS NOT NULL")
+    LocalDateTime findFirstProcessedAt();
 
     // Paiements par établissement
     @Query("SELECT p FROM Payment p WHERE p.booking.slot.field.establishment.id = :establishmentId")
@@ -70,6 +70,14 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @Query("SELECT p FROM Payment p WHERE p.status = 'PENDING' AND p.createdAt < :cutoffTime")
     List<Payment> findExpiredPayments(@Param("cutoffTime") LocalDateTime cutoffTime);
 
+    @Query("SELECT p FROM Payment p WHERE p.id IN :ids AND p.status = 'PENDING' AND p.createdAt < :cutoffTime")
+    List<Payment> findExpiredPaymentsByIds(@Param("ids") Collection<UUID> ids,
+                                           @Param("cutoffTime") LocalDateTime cutoffTime);
+
+    // Paiements en attente (id, createdAt)
+    @Query("SELECT p.id, p.createdAt FROM Payment p WHERE p.status = 'PENDING'")
+    List<Object[]> findPendingPaymentCreationTimes();
+
     // Montant total des paiements d'un utilisateur
     @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.booking.user.id = :userId AND p.status = 'COMPLETED'")
     BigDecimal calculateTotalPaidByUser(@Param("userId") UUID userId);
@@ -77,25 +85,4 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     // Paiements suspects (montants élevés)
     @Query("SELECT p FROM Payment p WHERE p.amount > :threshold AND p.status = 'COMPLETED'")
     List<Payment> findHighValuePayments(@Param("threshold") BigDecimal threshold);
-
-    // Paiements quotidiens
-    @Query("SELECT DATE(p.processedAt), COUNT(p), SUM(p.amount) FROM Payment p WHERE p.status = 'COMPLETED' AND p.processedAt BETWEEN :startDate AND :endDate GROUP BY DATE(p.processedAt) ORDER BY DATE(p.processedAt)")
-    List<Object[]> findDailyPaymentStats(@Param("startDate") LocalDateTime startDate,
-                                         @Param("endDate") LocalDateTime endDate);
-
-    // Recherche avec filtres
-    @Query("SELECT p FROM Payment p WHERE " +
-            "(:status IS NULL OR p.status = :status) AND " +
-            "(:paymentMethod IS NULL OR p.paymentMethod = :paymentMethod) AND " +
-            "(:startDate IS NULL OR p.createdAt >= :startDate) AND " +
-            "(:endDate IS NULL OR p.createdAt <= :endDate) AND " +
-            "(:minAmount IS NULL OR p.amount >= :minAmount) AND " +
-            "(:maxAmount IS NULL OR p.amount <= :maxAmount)")
-    Page<Payment> findPaymentsWithFilters(@Param("status") PaymentStatus status,
-                                          @Param("paymentMethod") PaymentMethod paymentMethod,
-                                          @Param("startDate") LocalDateTime startDate,
-                                          @Param("endDate") LocalDateTime endDate,
-                                          @Param("minAmount") BigDecimal minAmount,
-                                          @Param("maxAmount") BigDecimal maxAmount,
-                                          Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.ReferenceSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ReferenceSequenceRepository extends JpaRepository<ReferenceSequence, String> {
+
+    // Réserve atomiquement les `count` valeurs suivantes ; la ligne reste verrouillée jusqu'à la fin de la transaction
+    @Modifying
+    @Query(value = "INSERT INTO reference_sequences (name, reserved_until) VALUES (:name, :count) " +
+            "ON DUPLICATE KEY UPDATE reserved_until = reserved_until + :count",
+            nativeQuery = true)
+    int reserve(@Param("name") String name, @Param("count") long count);
+
+    // Crée le compteur à la valeur indiquée s'il n'existe pas encore, sans effet sinon
+    @Modifying
+    @Query(value = "INSERT INTO reference_sequences (name, reserved_until) VALUES (:name, :reservedUntil) " +
+            "ON DUPLICATE KEY UPDATE reserved_until = reserved_until",
+            nativeQuery = true)
+    int initialize(@Param("name") String name, @Param("reservedUntil") long reservedUntil);
+
+    @Query(value = "SELECT reserved_until FROM reference_sequences WHERE name = :name", nativeQuery = true)
+    long findReservedUntil(@Param("name") String name);
+}
@@ -0,0 +1,17 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.Slot;
+
+import java.util.List;
+
+/**
+ * Insertion en masse de créneaux neufs (génération récurrente)
+ */
+public interface SlotBatchInsert {
+
+    /**
+     * Insère les créneaux par lots JDBC, sans passer par le contexte de persistance.
+     * Les identifiants et dates de création sont attribués ici ; les créneaux restent détachés.
+     */
+    void insertAll(List<Slot> slots);
+}
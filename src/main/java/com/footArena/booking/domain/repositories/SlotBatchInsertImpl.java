@@ -0,0 +1,65 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.infrastructure.persistence.TimeOrderedUuids;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fragment de SlotRepository : un INSERT préparé exécuté par lots dans la transaction courante.
+ * Hibernate n'a ni entité à gérer ni flush à parcourir, et MySQL regroupe chaque lot en un INSERT
+ * multi-lignes (rewriteBatchedStatements).
+ */
+class SlotBatchInsertImpl implements SlotBatchInsert {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String INSERT_SQL = "INSERT INTO slots (id, field_id, start_time, end_time, price, status, " +
+            "max_capacity, current_bookings, description, recurring_pattern, is_premium, " +
+            "cancellation_deadline_hours, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SlotBatchInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Slot> slots) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        List<Object[]> batch = new ArrayList<>(Math.min(slots.size(), BATCH_SIZE));
+        for (Slot slot : slots) {
+            slot.setId(TimeOrderedUuids.next());
+            slot.setCreatedAt(now);
+            slot.setUpdatedAt(now);
+            batch.add(new Object[]{toBytes(slot.getId()), toBytes(slot.getField().getId()),
+                    Timestamp.valueOf(slot.getStartTime()), Timestamp.valueOf(slot.getEndTime()), slot.getPrice(),
+                    slot.getStatus().name(), slot.getMaxCapacity(), slot.getCurrentBookings(),
+                    slot.getDescription(), slot.getRecurringPattern(), slot.getIsPremium(),
+                    slot.getCancellationDeadlineHours(), createdAt, createdAt, slot.getVersion()});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+    }
+
+    // Même représentation BINARY(16) que Hibernate : bits de poids fort puis de poids faible
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -5,15 +5,17 @@ import com.footArena.booking.domain.enums.SlotStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-public interface SlotRepository extends JpaRepository<Slot, UUID> {
+public interface SlotRepository extends JpaRepository<Slot, UUID>, KeysetScrollExecutor<Slot>, SlotBatchInsert {
 
     // Recherche par statut
     List<Slot> findByStatus(SlotStatus status);
@@ -46,6 +48,27 @@ public interface SlotRepository extends JpaRepository<Slot, UUID> {
                                     @Param("startTime") LocalDateTime startTime,
                                     @Param("endTime") LocalDateTime endTime);
 
+    // Intervalles (id, début, fin) des créneaux à venir d'un terrain, pour l'index de conflits
+    @Query("SELECT s.id, s.startTime, s.endTime FROM Slot s WHERE s.field.id = :fieldId AND s.endTime > :from")
+    List<Object[]> findUpcomingIntervalsByFieldId(@Param("fieldId") UUID fieldId,
+                                                  @Param("from") LocalDateTime from);
+
+    // Intervalles (id, début, fin) des créneaux d'un terrain chevauchant une période, en une seule requête
+    @Query("SELECT s.id, s.startTime, s.endTime FROM Slot s WHERE s.field.id = :fieldId " +
+            "AND s.startTime < :rangeEnd AND s.endTime > :rangeStart")
+    List<Object[]> findIntervalsByFieldIdBetween(@Param("fieldId") UUID fieldId,
+                                                 @Param("rangeStart") LocalDateTime rangeStart,
+                                                 @Param("rangeEnd") LocalDateTime rangeEnd);
+
+    // États (id, terrain, début, fin, statut, réservations, capacité, mise à jour) pour l'index de disponibilité
+    @Query("SELECT s.id, s.field.id, s.startTime, s.endTime, s.status, s.currentBookings, s.maxCapacity, s.updatedAt " +
+            "FROM Slot s WHERE s.id IN :ids")
+    List<Object[]> findAvailabilityStatesByIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT s.id, s.field.id, s.startTime, s.endTime, s.status, s.currentBookings, s.maxCapacity, s.updatedAt " +
+            "FROM Slot s WHERE s.endTime > :from")
+    List<Object[]> findUpcomingAvailabilityStates(@Param("from") LocalDateTime from);
+
     // Créneaux disponibles aujourd'hui
     @Query("SELECT s FROM Slot s WHERE s.status IN :statuses AND DATE(s.startTime) = CURRENT_DATE ORDER BY s.startTime")
     List<Slot> findTodayAvailableSlots(@Param("statuses") List<SlotStatus> statuses);
@@ -82,21 +105,40 @@ public interface SlotRepository extends JpaRepository<Slot, UUID> {
     @Query("SELECT s FROM Slot s WHERE s.endTime < :cutoffTime AND s.status != 'COMPLETED'")
     List<Slot> findExpiredSlots(@Param("cutoffTime") LocalDateTime cutoffTime);
 
-    // Recherche de créneaux avec filtres avancés
-    @Query("SELECT s FROM Slot s WHERE " +
-            "(:fieldId IS NULL OR s.field.id = :fieldId) AND " +
-            "(:status IS NULL OR s.status = :status) AND " +
-            "(:startDate IS NULL OR s.startTime >= :startDate) AND " +
-            "(:endDate IS NULL OR s.endTime <= :endDate) AND " +
-            "(:minPrice IS NULL OR s.price >= :minPrice) AND " +
-            "(:maxPrice IS NULL OR s.price <= :maxPrice) AND " +
-            "(:isPremium IS NULL OR s.isPremium = :isPremium)")
-    Page<Slot> findSlotsWithFilters(@Param("fieldId") UUID fieldId,
-                                    @Param("status") SlotStatus status,
-                                    @Param("startDate") LocalDateTime startDate,
-                                    @Param("endDate") LocalDateTime endDate,
-                                    @Param("minPrice") BigDecimal minPrice,
-                                    @Param("maxPrice") BigDecimal maxPrice,
-                                    @Param("isPremium") Boolean isPremium,
-                                    Pageable pageable);
-}
\ No newline at end of file
+    // Réservation atomique d'une place : le contrôle de capacité et l'incrément se font dans le même UPDATE
+    // (le statut est calculé avant l'incrément, MySQL évaluant les affectations de gauche à droite).
+    // Un UPDATE JPQL ne gère pas @Version : la version est incrémentée explicitement.
+    @Modifying
+    @Query("UPDATE Slot s SET " +
+            "s.status = CASE WHEN s.currentBookings + 1 >= s.maxCapacity " +
+            "THEN com.footArena.booking.domain.enums.SlotStatus.FULL " +
+            "ELSE com.footArena.booking.domain.enums.SlotStatus.RESERVED END, " +
+            "s.currentBookings = s.currentBookings + 1, " +
+            "s.updatedAt = :now, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.id = :slotId " +
+            "AND s.status IN (com.footArena.booking.domain.enums.SlotStatus.AVAILABLE, com.footArena.booking.domain.enums.SlotStatus.RESERVED) " +
+            "AND s.maxCapacity - s.currentBookings >= :requestedSpots " +
+            "AND s.endTime > :now")
+    int reserveSpot(@Param("slotId") UUID slotId,
+                    @Param("requestedSpots") int requestedSpots,
+                    @Param("now") LocalDateTime now);
+
+    // Libération atomique d'une place (les statuts MAINTENANCE / CANCELLED sont conservés)
+    @Modifying
+    @Query("UPDATE Slot s SET " +
+            "s.status = CASE " +
+            "WHEN s.status NOT IN (com.footArena.booking.domain.enums.SlotStatus.RESERVED, com.footArena.booking.domain.enums.SlotStatus.FULL) THEN s.status " +
+            "WHEN s.currentBookings - 1 > 0 THEN com.footArena.booking.domain.enums.SlotStatus.RESERVED " +
+            "ELSE com.footArena.booking.domain.enums.SlotStatus.AVAILABLE END, " +
+            "s.currentBookings = s.currentBookings - 1, " +
+            "s.updatedAt = :now, " +
+            "s.version = s.version + 1 " +
+            "WHERE s.id = :slotId AND s.currentBookings > 0")
+    int releaseSpot(@Param("slotId") UUID slotId,
+                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.footArena.booking.domain.repositories.VersionStamp(" +
+            "COUNT(s), COALESCE(SUM(s.version), 0), MAX(s.createdAt)) FROM Slot s WHERE s.field.id = :fieldId")
+    VersionStamp findStampByFieldId(@Param("fieldId") UUID fieldId);
+}
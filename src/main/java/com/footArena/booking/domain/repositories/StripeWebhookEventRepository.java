@@ -0,0 +1,20 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.StripeWebhookEvent;
+import com.footArena.booking.domain.enums.WebhookEventStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    // Événements reçus mais pas encore traités (file pleine, redémarrage, échec à retenter)
+    @Query("SELECT e.eventId FROM StripeWebhookEvent e WHERE e.status = :status AND e.receivedAt < :before ORDER BY e.receivedAt")
+    List<String> findEventIdsByStatusReceivedBefore(@Param("status") WebhookEventStatus status,
+                                                    @Param("before") LocalDateTime before,
+                                                    Pageable pageable);
+}
@@ -0,0 +1,23 @@
+package com.footArena.booking.domain.repositories;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Empreinte d'un ensemble d'entités versionnées : nombre de lignes, somme des versions et date de la
+ * création la plus récente. Toute modification augmente la somme, une suppression change le nombre et
+ * une création la date : l'empreinte change dès que l'ensemble change, sans charger les entités.
+ */
+public record VersionStamp(long count, long versionSum, LocalDateTime lastCreatedAt) {
+
+    public VersionStamp(Long count, Long versionSum, Date lastCreatedAt) {
+        this(count, versionSum, lastCreatedAt != null
+                ? LocalDateTime.ofInstant(lastCreatedAt.toInstant(), ZoneId.systemDefault())
+                : null);
+    }
+
+    public String tag() {
+        return count + "-" + versionSum + "-" + (lastCreatedAt != null ? lastCreatedAt.toString() : "0");
+    }
+}
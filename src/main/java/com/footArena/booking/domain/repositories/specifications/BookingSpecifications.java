@@ -0,0 +1,83 @@
+package com.footArena.booking.domain.repositories.specifications;
+
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.enums.BookingStatus;
+import com.footArena.booking.domain.enums.BookingType;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Critères de recherche des réservations : seuls les filtres renseignés produisent un prédicat,
+ * et la jointure vers le créneau n'est ajoutée que si un filtre porte dessus
+ */
+public final class BookingSpecifications {
+
+    private BookingSpecifications() {
+    }
+
+    public static Specification<Booking> withFilters(UUID userId, BookingStatus status, BookingType bookingType,
+                                                     LocalDateTime startDate, LocalDateTime endDate,
+                                                     UUID establishmentId, Boolean isPaid) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), userId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (bookingType != null) {
+                predicates.add(cb.equal(root.get("bookingType"), bookingType));
+            }
+            if (isPaid != null) {
+                predicates.add(cb.equal(root.get("isPaid"), isPaid));
+            }
+
+            if (startDate != null || endDate != null || establishmentId != null) {
+                Join<Booking, Slot> slot = root.join("slot");
+                if (startDate != null) {
+                    predicates.add(cb.greaterThanOrEqualTo(slot.get("startTime"), startDate));
+                }
+                if (endDate != null) {
+                    predicates.add(cb.lessThanOrEqualTo(slot.get("endTime"), endDate));
+                }
+                if (establishmentId != null) {
+                    predicates.add(cb.equal(slot.join("field").get("establishment").get("id"), establishmentId));
+                }
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Charge l'utilisateur et le créneau dans la même requête que les réservations (listes paginées par curseur).
+     * Aucun effet sur les requêtes de comptage.
+     */
+    public static Specification<Booking> fetchUserAndSlot() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("user");
+                root.fetch("slot");
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Réservations passées d'un utilisateur (créneau terminé)
+     */
+    public static Specification<Booking> historyOf(UUID userId, LocalDateTime now) {
+        return (root, query, cb) -> cb.and(
+                cb.equal(root.get("user").get("id"), userId),
+                cb.lessThan(root.get("slot").get("endTime"), now));
+    }
+}
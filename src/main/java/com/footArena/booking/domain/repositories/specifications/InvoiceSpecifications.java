@@ -0,0 +1,22 @@
+package com.footArena.booking.domain.repositories.specifications;
+
+import com.footArena.booking.domain.entities.Invoice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Critères de recherche des factures
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    // Borne de fin exclue (début du mois suivant, par exemple)
+    public static Specification<Invoice> issuedBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("issuedAt"), from),
+                cb.lessThan(root.get("issuedAt"), to));
+    }
+}
@@ -0,0 +1,63 @@
+package com.footArena.booking.domain.repositories.specifications;
+
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.PaymentStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critères de recherche des paiements : seuls les filtres renseignés produisent un prédicat
+ */
+public final class PaymentSpecifications {
+
+    private PaymentSpecifications() {
+    }
+
+    public static Specification<Payment> withFilters(PaymentStatus status, PaymentMethod paymentMethod,
+                                                     LocalDateTime startDate, LocalDateTime endDate,
+                                                     BigDecimal minAmount, BigDecimal maxAmount) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (paymentMethod != null) {
+                predicates.add(cb.equal(root.get("paymentMethod"), paymentMethod));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
+            }
+            if (minAmount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("amount"), minAmount));
+            }
+            if (maxAmount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("amount"), maxAmount));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Charge la réservation dans la même requête que les paiements (export en flux).
+     * Aucun effet sur les requêtes de comptage.
+     */
+    public static Specification<Payment> fetchBooking() {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("booking");
+            }
+            return null;
+        };
+    }
+}
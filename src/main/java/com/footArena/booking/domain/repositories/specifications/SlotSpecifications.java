@@ -0,0 +1,54 @@
+package com.footArena.booking.domain.repositories.specifications;
+
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.enums.SlotStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Critères de recherche des créneaux : seuls les filtres renseignés produisent un prédicat,
+ * ce qui laisse MySQL choisir l'index adapté (field_id/start_time ou status/start_time)
+ */
+public final class SlotSpecifications {
+
+    private SlotSpecifications() {
+    }
+
+    public static Specification<Slot> withFilters(UUID fieldId, SlotStatus status, LocalDateTime startDate,
+                                                  LocalDateTime endDate, BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Boolean isPremium) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (fieldId != null) {
+                predicates.add(cb.equal(root.get("field").get("id"), fieldId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endTime"), endDate));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (isPremium != null) {
+                predicates.add(cb.equal(root.get("isPremium"), isPremium));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import com.footArena.booking.infrastructure.index.AvailabilityIndex;
+import com.footArena.booking.infrastructure.index.AvailabilityWindow;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recherche de disponibilités à partir de l'AvailabilityIndex, sans accès à la base (d'où l'absence de transaction)
+ */
+@Service
+public class AvailabilityService {
+
+    private static final int MAX_SEARCH_RANGE_DAYS = 31;
+    private static final int MIN_DURATION_MINUTES = 15;
+
+    private final AvailabilityIndex availabilityIndex;
+
+    public AvailabilityService(AvailabilityIndex availabilityIndex) {
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    /**
+     * Plages réservables d'un terrain sur une journée (à partir de maintenant pour la journée en cours)
+     */
+    public List<AvailabilityWindow> getFreeWindows(UUID fieldId, LocalDate date) {
+        if (fieldId == null || date == null) {
+            throw new BusinessValidationException("Field and date are required");
+        }
+
+        LocalDateTime from = latest(date.atStartOfDay(), LocalDateTime.now());
+        LocalDateTime to = date.plusDays(1).atStartOfDay();
+        return availabilityIndex.findWindows(fieldId, from, to, Duration.ofMinutes(MIN_DURATION_MINUTES));
+    }
+
+    /**
+     * Terrains offrant une plage réservable d'au moins la durée demandée entre deux instants
+     */
+    public List<AvailabilityWindow> findFieldsWithFreeWindow(LocalDateTime startTime, LocalDateTime endTime,
+                                                             int durationMinutes) {
+        if (startTime == null || endTime == null) {
+            throw new BusinessValidationException("Start time and end time are required");
+        }
+
+        if (!startTime.isBefore(endTime)) {
+            throw new BusinessValidationException("Start time must be before end time");
+        }
+
+        if (startTime.plusDays(MAX_SEARCH_RANGE_DAYS).isBefore(endTime)) {
+            throw new BusinessValidationException("Search range cannot exceed " + MAX_SEARCH_RANGE_DAYS + " days");
+        }
+
+        if (durationMinutes < MIN_DURATION_MINUTES || durationMinutes > 24 * 60) {
+            throw new BusinessValidationException("Duration must be between 15 minutes and 24 hours");
+        }
+
+        LocalDateTime from = latest(startTime, LocalDateTime.now());
+        return availabilityIndex.findWindows(from, endTime, Duration.ofMinutes(durationMinutes));
+    }
+
+    private LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
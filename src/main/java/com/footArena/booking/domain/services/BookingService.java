@@ -11,18 +11,31 @@ import com.footArena.booking.domain.exceptions.ResourceNotFoundException;
 import com.footArena.booking.domain.repositories.BookingPlayerRepository;
 import com.footArena.booking.domain.repositories.BookingRepository;
 import com.footArena.booking.domain.repositories.UserRepository;
+import com.footArena.booking.domain.repositories.specifications.BookingSpecifications;
+import com.footArena.booking.infrastructure.persistence.SpecificationStreamer;
+import com.footArena.booking.infrastructure.scheduling.ExpirationScheduler;
+import com.footArena.booking.infrastructure.scheduling.ExpirationType;
+import com.footArena.booking.infrastructure.sequence.ReferenceAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
@@ -36,15 +49,24 @@ public class BookingService {
     private final BookingPlayerRepository bookingPlayerRepository;
     private final UserRepository userRepository;
     private final SlotService slotService;
+    private final ExpirationScheduler expirationScheduler;
+    private final ReferenceAllocator referenceAllocator;
+    private final SpecificationStreamer specificationStreamer;
 
     public BookingService(BookingRepository bookingRepository,
                           BookingPlayerRepository bookingPlayerRepository,
                           UserRepository userRepository,
-                          SlotService slotService) {
+                          SlotService slotService,
+                          ExpirationScheduler expirationScheduler,
+                          ReferenceAllocator referenceAllocator,
+                          SpecificationStreamer specificationStreamer) {
         this.bookingRepository = bookingRepository;
         this.bookingPlayerRepository = bookingPlayerRepository;
         this.userRepository = userRepository;
         this.slotService = slotService;
+        this.expirationScheduler = expirationScheduler;
+        this.referenceAllocator = referenceAllocator;
+        this.specificationStreamer = specificationStreamer;
     }
 
     /**
@@ -56,19 +78,22 @@ public class BookingService {
         logger.info("Creating booking for user: {} and slot: {}", userId, slotId);
 
         User user = getUserById(userId);
-        Slot slot = slotService.getSlotById(slotId);
 
         // Validations métier
-        validateBookingRequest(user, slot, bookingType, numberOfPlayers);
-        checkSlotAvailability(slot, numberOfPlayers);
+        validateBookingRequest(user, bookingType, numberOfPlayers);
         checkUserBookingLimits(userId);
         checkDuplicateBooking(userId, slotId);
 
+        // Réserver la place de manière atomique avant de lire le créneau, qui est ainsi à jour
+        slotService.reserveSpot(slotId, numberOfPlayers);
+        Slot slot = slotService.getSlotById(slotId);
+
         // Calculer le montant total
         BigDecimal totalAmount = calculateBookingAmount(slot, numberOfPlayers, bookingType);
 
         // Créer la réservation
         Booking booking = new Booking(user, slot, bookingType, numberOfPlayers, totalAmount);
+        booking.setBookingReference(referenceAllocator.nextBookingReference());
         booking.setTeamName(teamName);
         booking.setSpecialRequests(specialRequests);
         booking.setContactPhone(contactPhone);
@@ -76,12 +101,13 @@ public class BookingService {
         // Sauvegarder la réservation
         Booking savedBooking = bookingRepository.save(booking);
 
-        // Mettre à jour le créneau
-        slot.incrementBookings();
-
         // Ajouter l'utilisateur comme joueur principal
         addPlayerToBooking(savedBooking.getId(), userId, user.getFullName(), true);
 
+        // Libérer la place dès l'échéance si la réservation n'est pas confirmée
+        expirationScheduler.scheduleAfterCommit(ExpirationType.BOOKING_CONFIRMATION,
+                savedBooking.getId(), savedBooking.getConfirmationDeadline());
+
         logger.info("Booking created with ID: {} and reference: {}",
                 savedBooking.getId(), savedBooking.getBookingReference());
 
@@ -108,6 +134,7 @@ public class BookingService {
         booking.setStatus(BookingStatus.AWAITING_PAYMENT);
 
         Booking confirmedBooking = bookingRepository.save(booking);
+        expirationScheduler.cancelAfterCommit(ExpirationType.BOOKING_CONFIRMATION, bookingId);
         logger.info("Booking confirmed: {}", bookingId);
 
         return confirmedBooking;
@@ -128,10 +155,10 @@ public class BookingService {
         booking.cancel(reason);
 
         // Libérer la place dans le créneau
-        Slot slot = booking.getSlot();
-        slot.decrementBookings();
+        slotService.releaseSpot(booking.getSlot().getId());
 
         Booking cancelledBooking = bookingRepository.save(booking);
+        expirationScheduler.cancelAfterCommit(ExpirationType.BOOKING_CONFIRMATION, bookingId);
         logger.info("Booking cancelled: {}", bookingId);
 
         return cancelledBooking;
@@ -243,6 +270,15 @@ public class BookingService {
                 .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId.toString()));
     }
 
+    /**
+     * Récupère une réservation pour la vue détaillée (utilisateur, créneau et terrain chargés d'emblée)
+     */
+    @Transactional(readOnly = true)
+    public Booking getBookingDetails(UUID bookingId) {
+        return bookingRepository.findDetailedById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", bookingId.toString()));
+    }
+
     /**
      * Récupère une réservation par référence
      */
@@ -277,6 +313,15 @@ public class BookingService {
         return bookingRepository.findUserBookingHistory(userId, LocalDateTime.now(), pageable);
     }
 
+    /**
+     * Historique des réservations d'un utilisateur en pagination par curseur
+     */
+    @Transactional(readOnly = true)
+    public Window<Booking> scrollUserBookingHistory(UUID userId, Sort sort, int size, ScrollPosition position) {
+        return bookingRepository.scrollAll(BookingSpecifications.historyOf(userId, LocalDateTime.now())
+                .and(BookingSpecifications.fetchUserAndSlot()), sort, size, position);
+    }
+
     /**
      * Recherche de réservations avec filtres
      */
@@ -284,8 +329,34 @@ public class BookingService {
     public Page<Booking> searchBookings(UUID userId, BookingStatus status, BookingType bookingType,
                                         LocalDateTime startDate, LocalDateTime endDate,
                                         UUID establishmentId, Boolean isPaid, Pageable pageable) {
-        return bookingRepository.findBookingsWithFilters(userId, status, bookingType, startDate,
-                endDate, establishmentId, isPaid, pageable);
+        return bookingRepository.findAll(BookingSpecifications.withFilters(userId, status, bookingType, startDate,
+                endDate, establishmentId, isPaid), pageable);
+    }
+
+    /**
+     * Recherche de réservations avec filtres en pagination par curseur (sans comptage)
+     */
+    @Transactional(readOnly = true)
+    public Window<Booking> scrollBookings(UUID userId, BookingStatus status, BookingType bookingType,
+                                          LocalDateTime startDate, LocalDateTime endDate,
+                                          UUID establishmentId, Boolean isPaid,
+                                          Sort sort, int size, ScrollPosition position) {
+        Specification<Booking> spec = BookingSpecifications.withFilters(userId, status, bookingType, startDate,
+                endDate, establishmentId, isPaid);
+        return bookingRepository.scrollAll(spec.and(BookingSpecifications.fetchUserAndSlot()), sort, size, position);
+    }
+
+    /**
+     * Parcourt en flux les réservations répondant aux filtres (export), par date de création
+     */
+    @Transactional(readOnly = true)
+    public long forEachBooking(UUID userId, BookingStatus status, BookingType bookingType,
+                               LocalDateTime startDate, LocalDateTime endDate,
+                               UUID establishmentId, Boolean isPaid, Consumer<Booking> action) {
+        Specification<Booking> spec = BookingSpecifications.withFilters(userId, status, bookingType, startDate,
+                endDate, establishmentId, isPaid);
+        return specificationStreamer.forEach(Booking.class, spec.and(BookingSpecifications.fetchUserAndSlot()),
+                Sort.by("createdAt", "id"), action);
     }
 
     /**
@@ -297,25 +368,41 @@ public class BookingService {
     }
 
     /**
-     * Nettoyage automatique des réservations expirées
+     * Expire les réservations arrivées à échéance parmi celles indiquées (appelé par l'ExpirationScheduler)
+     */
+    public int expireBookings(Collection<UUID> bookingIds) {
+        List<Booking> expiredBookings = bookingRepository.findExpiredPendingBookingsByIds(bookingIds, LocalDateTime.now());
+        expiredBookings.forEach(this::expireBooking);
+
+        if (!expiredBookings.isEmpty()) {
+            logger.info("Expired {} pending bookings", expiredBookings.size());
+        }
+        return expiredBookings.size();
+    }
+
+    /**
+     * Échéances de confirmation des réservations en attente, pour reconstruire l'ExpirationScheduler
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> getPendingConfirmationDeadlines() {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (Object[] row : bookingRepository.findPendingConfirmationDeadlines()) {
+            deadlines.put((UUID) row[0], (LocalDateTime) row[1]);
+        }
+        return deadlines;
+    }
+
+    /**
+     * Nettoyage des réservations expirées, en filet de sécurité de l'ExpirationScheduler
      */
-    @Scheduled(fixedRate = 300000) // Toutes les 5 minutes
+    @Scheduled(fixedRate = 3600000) // Toutes les heures
     @Transactional
     public void cleanupExpiredBookings() {
         logger.info("Starting cleanup of expired bookings");
 
         LocalDateTime now = LocalDateTime.now();
         List<Booking> expiredBookings = bookingRepository.findExpiredPendingBookings(now);
-
-        for (Booking booking : expiredBookings) {
-            booking.setStatus(BookingStatus.EXPIRED);
-
-            // Libérer la place dans le créneau
-            Slot slot = booking.getSlot();
-            slot.decrementBookings();
-
-            bookingRepository.save(booking);
-        }
+        expiredBookings.forEach(this::expireBooking);
 
         logger.info("Cleaned up {} expired bookings", expiredBookings.size());
     }
@@ -341,19 +428,11 @@ public class BookingService {
 
     // Méthodes de validation privées
 
-    private void validateBookingRequest(User user, Slot slot, BookingType bookingType, Integer numberOfPlayers) {
+    private void validateBookingRequest(User user, BookingType bookingType, Integer numberOfPlayers) {
         if (!user.isEnabled()) {
             throw new BusinessValidationException("User account is disabled");
         }
 
-        if (!slot.isAvailable()) {
-            throw new BusinessValidationException("Slot is not available for booking");
-        }
-
-        if (slot.isInPast()) {
-            throw new BusinessValidationException("Cannot book slots in the past");
-        }
-
         if (numberOfPlayers == null || numberOfPlayers < 1) {
             throw new BusinessValidationException("Number of players must be at least 1");
         }
@@ -367,12 +446,6 @@ public class BookingService {
         }
     }
 
-    private void checkSlotAvailability(Slot slot, Integer numberOfPlayers) {
-        if (slot.getAvailableSpots() < numberOfPlayers) {
-            throw new BusinessValidationException("Not enough available spots in this slot");
-        }
-    }
-
     private void checkUserBookingLimits(UUID userId) {
         LocalDateTime today = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
         LocalDateTime tomorrow = today.plusDays(1);
@@ -409,6 +482,15 @@ public class BookingService {
         return totalAmount;
     }
 
+    private void expireBooking(Booking booking) {
+        booking.setStatus(BookingStatus.EXPIRED);
+
+        // Libérer la place dans le créneau
+        slotService.releaseSpot(booking.getSlot().getId());
+
+        bookingRepository.save(booking);
+    }
+
     private User getUserById(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", userId.toString()));
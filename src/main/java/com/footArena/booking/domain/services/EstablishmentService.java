@@ -4,6 +4,8 @@ import com.footArena.booking.domain.entities.Establishment;
 import com.footArena.booking.domain.exceptions.BusinessValidationException;
 import com.footArena.booking.domain.exceptions.ResourceNotFoundException;
 import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -22,9 +24,11 @@ public class EstablishmentService {
     private static final Logger logger = LoggerFactory.getLogger(EstablishmentService.class);
 
     private final EstablishmentRepository establishmentRepository;
+    private final EntityManager entityManager;
 
-    public EstablishmentService(EstablishmentRepository establishmentRepository) {
+    public EstablishmentService(EstablishmentRepository establishmentRepository, EntityManager entityManager) {
         this.establishmentRepository = establishmentRepository;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -140,6 +144,30 @@ public class EstablishmentService {
         return establishmentRepository.existsById(id);
     }
 
+    /**
+     * Version du catalogue (établissements et terrains), lue sans charger les entités
+     */
+    @Transactional(readOnly = true)
+    public String getCatalogVersion() {
+        return establishmentRepository.findCatalogStamp().tag();
+    }
+
+    /**
+     * Version d'un établissement et de ses terrains, ou null s'il n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public String getEstablishmentVersion(UUID id) {
+        return establishmentRepository.findVersionById(id).map(String::valueOf).orElse(null);
+    }
+
+    /**
+     * Incrémente la version d'un établissement à la validation de la transaction :
+     * sa représentation inclut ses terrains
+     */
+    public void incrementVersion(UUID id) {
+        entityManager.lock(getEstablishmentById(id), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
     // Méthodes de validation privées
 
     private void validateEstablishmentData(String name, String address, String phone, String email) {
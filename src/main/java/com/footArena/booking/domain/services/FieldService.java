@@ -43,6 +43,7 @@ public class FieldService {
         Field field = new Field(name, location, surfaceType, capacity, available, establishment);
 
         Field savedField = fieldRepository.save(field);
+        establishmentService.incrementVersion(establishmentId);
         logger.info("Field created with ID: {}", savedField.getId());
 
         return savedField;
@@ -82,6 +83,7 @@ public class FieldService {
         }
 
         Field updatedField = fieldRepository.save(field);
+        establishmentService.incrementVersion(field.getEstablishment().getId());
         logger.info("Field updated successfully: {}", id);
 
         return updatedField;
@@ -129,6 +131,14 @@ public class FieldService {
         return fieldRepository.findByAvailableTrue();
     }
 
+    /**
+     * Version d'un terrain et de son établissement, ou null s'il n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public String getFieldVersion(UUID id) {
+        return fieldRepository.findVersionById(id).map(String::valueOf).orElse(null);
+    }
+
     /**
      * Supprime un terrain
      */
@@ -141,6 +151,7 @@ public class FieldService {
         // TODO: Ajouter cette vérification quand les réservations seront implémentées
 
         fieldRepository.delete(field);
+        establishmentService.incrementVersion(field.getEstablishment().getId());
         logger.info("Field deleted successfully: {}", id);
     }
 
@@ -154,6 +165,7 @@ public class FieldService {
         field.setAvailable(!field.isAvailable());
 
         Field updatedField = fieldRepository.save(field);
+        establishmentService.incrementVersion(field.getEstablishment().getId());
         logger.info("Field availability toggled: {} - Available: {}", id, updatedField.isAvailable());
 
         return updatedField;
@@ -0,0 +1,76 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.domain.entities.Invoice;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.specifications.InvoiceSpecifications;
+import com.footArena.booking.infrastructure.pdf.InvoicePdfRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.WindowIterator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Documents PDF des factures. Aucune transaction n'est ouverte pendant l'écriture vers le client :
+ * l'export mensuel lit les factures par pages courtes (pagination par clé), chacune dans sa propre
+ * transaction, et n'en garde qu'une page en mémoire.
+ */
+@Service
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InvoicePdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfService.class);
+    private static final int EXPORT_PAGE_SIZE = 200;
+    private static final Sort EXPORT_ORDER = Sort.by("issuedAt", "id");
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoicePdfRenderer invoicePdfRenderer;
+
+    public InvoicePdfService(InvoiceRepository invoiceRepository, InvoicePdfRenderer invoicePdfRenderer) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoicePdfRenderer = invoicePdfRenderer;
+    }
+
+    /**
+     * Écrit le PDF d'une facture dans le flux
+     */
+    public void writeInvoicePdf(Invoice invoice, OutputStream output) throws IOException {
+        invoicePdfRenderer.write(invoice, output);
+    }
+
+    /**
+     * Écrit une archive ZIP des factures émises dans le mois, un PDF par facture
+     */
+    public int exportMonth(YearMonth month, OutputStream output) throws IOException {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+        WindowIterator<Invoice> invoices = WindowIterator.of(position -> invoiceRepository.scrollAll(
+                        InvoiceSpecifications.issuedBetween(from, to), EXPORT_ORDER, EXPORT_PAGE_SIZE, position))
+                .startingAt(ScrollPosition.keyset());
+
+        int count = 0;
+        ZipOutputStream zip = new ZipOutputStream(output);
+        while (invoices.hasNext()) {
+            Invoice invoice = invoices.next();
+            zip.putNextEntry(new ZipEntry(invoice.getInvoiceNumber() + ".pdf"));
+            invoicePdfRenderer.write(invoice, zip);
+            zip.closeEntry();
+            count++;
+        }
+        zip.finish();
+
+        logger.info("Exported {} invoices for {}", count, month);
+        return count;
+    }
+}
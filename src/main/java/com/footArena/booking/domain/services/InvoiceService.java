@@ -5,14 +5,24 @@ import com.footArena.booking.domain.entities.Payment;
 import com.footArena.booking.domain.exceptions.BusinessValidationException;
 import com.footArena.booking.domain.exceptions.ResourceNotFoundException;
 import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.infrastructure.sequence.ReferenceAllocator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -21,9 +31,18 @@ public class InvoiceService {
     private static final Logger logger = LoggerFactory.getLogger(InvoiceService.class);
 
     private final InvoiceRepository invoiceRepository;
-
-    public InvoiceService(InvoiceRepository invoiceRepository) {
+    private final ReferenceAllocator referenceAllocator;
+    private final EntityManager entityManager;
+    private final int streamFetchSize;
+
+    public InvoiceService(InvoiceRepository invoiceRepository,
+                          ReferenceAllocator referenceAllocator,
+                          EntityManager entityManager,
+                          @Value("${invoices.stream.fetch-size:500}") int streamFetchSize) {
         this.invoiceRepository = invoiceRepository;
+        this.referenceAllocator = referenceAllocator;
+        this.entityManager = entityManager;
+        this.streamFetchSize = streamFetchSize;
     }
 
     /**
@@ -37,9 +56,10 @@ public class InvoiceService {
         }
 
         // Vérifier si une facture existe déjà
-        if (payment.getInvoice() != null) {
+        Optional<Invoice> existing = invoiceRepository.findByPaymentId(payment.getId());
+        if (existing.isPresent()) {
             logger.warn("Invoice already exists for payment: {}", payment.getId());
-            return payment.getInvoice();
+            return existing.get();
         }
 
         // Extraire les informations client et établissement
@@ -50,6 +70,7 @@ public class InvoiceService {
 
         // Créer la facture
         Invoice invoice = new Invoice(payment, customerName, customerEmail, establishmentName, establishmentAddress);
+        invoice.setInvoiceNumber(referenceAllocator.nextInvoiceNumber(LocalDate.now().getYear()));
 
         // Définir la description détaillée
         String description = String.format(
@@ -97,11 +118,32 @@ public class InvoiceService {
     }
 
     /**
-     * Récupère toutes les factures
+     * Récupère les factures page par page
+     */
+    @Transactional(readOnly = true)
+    public Page<Invoice> getAllInvoices(Pageable pageable) {
+        return invoiceRepository.findAll(pageable);
+    }
+
+    /**
+     * Parcourt toutes les factures, de la plus récente à la plus ancienne, sans les charger en mémoire :
+     * les lignes sont lues par paquets de fetch-size et chaque facture est détachée une fois traitée
      */
     @Transactional(readOnly = true)
-    public List<Invoice> getAllInvoices() {
-        return invoiceRepository.findAll();
+    public long forEachInvoice(Consumer<Invoice> action) {
+        long count = 0;
+        try (Stream<Invoice> invoices = entityManager
+                .createQuery("SELECT i FROM Invoice i ORDER BY i.issuedAt DESC, i.id", Invoice.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (Invoice invoice : (Iterable<Invoice>) invoices::iterator) {
+                action.accept(invoice);
+                entityManager.detach(invoice);
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
@@ -139,27 +181,10 @@ public class InvoiceService {
     }
 
     /**
-     * Récupère les factures en retard
+     * Récupère les factures en retard (émises, non payées, échéance dépassée)
      */
     @Transactional(readOnly = true)
     public List<Invoice> getOverdueInvoices() {
-        return invoiceRepository.findAll().stream()
-                .filter(Invoice::isOverdue)
-                .toList();
-    }
-
-    /**
-     * Génère le PDF d'une facture (méthode placeholder)
-     */
-    public byte[] generateInvoicePdf(UUID invoiceId) {
-        logger.info("Generating PDF for invoice: {}", invoiceId);
-
-        Invoice invoice = getInvoiceById(invoiceId);
-
-        // TODO: Implémenter la génération PDF avec une librairie comme iText ou Apache PDFBox
-        // Ici on retournerait le byte array du PDF généré
-
-        logger.info("PDF generated for invoice: {}", invoice.getInvoiceNumber());
-        return new byte[0]; // Placeholder
+        return invoiceRepository.findOverdueInvoices(LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
@@ -8,59 +8,73 @@ import com.footArena.booking.domain.enums.PaymentStatus;
 import com.footArena.booking.domain.exceptions.BusinessValidationException;
 import com.footArena.booking.domain.exceptions.ResourceNotFoundException;
 import com.footArena.booking.domain.repositories.PaymentRepository;
-import com.stripe.Stripe;
+import com.footArena.booking.domain.repositories.specifications.PaymentSpecifications;
+import com.footArena.booking.infrastructure.payment.StripeGateway;
+import com.footArena.booking.infrastructure.persistence.SpecificationStreamer;
+import com.footArena.booking.infrastructure.scheduling.ExpirationScheduler;
+import com.footArena.booking.infrastructure.scheduling.ExpirationType;
+import com.footArena.booking.infrastructure.sequence.ReferenceAllocator;
 import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.model.checkout.Session;
-import com.stripe.param.PaymentIntentCreateParams;
-import com.stripe.param.checkout.SessionCreateParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
-
-    @Value("${stripe.secret-key:}")
-    private String stripeSecretKey;
-
-    @Value("${stripe.publishable-key:}")
-    private String stripePublishableKey;
+    private static final Duration PENDING_PAYMENT_TIMEOUT = Duration.ofHours(2);
 
     private final PaymentRepository paymentRepository;
     private final BookingService bookingService;
     private final InvoiceService invoiceService;
+    private final ExpirationScheduler expirationScheduler;
+    private final RevenueRollupService revenueRollupService;
+    private final StripeGateway stripeGateway;
+    private final ReferenceAllocator referenceAllocator;
+    private final SpecificationStreamer specificationStreamer;
+    private final TransactionTemplate transaction;
 
     public PaymentService(PaymentRepository paymentRepository,
                           BookingService bookingService,
-                          InvoiceService invoiceService) {
+                          InvoiceService invoiceService,
+                          ExpirationScheduler expirationScheduler,
+                          RevenueRollupService revenueRollupService,
+                          StripeGateway stripeGateway,
+                          ReferenceAllocator referenceAllocator,
+                          SpecificationStreamer specificationStreamer,
+                          PlatformTransactionManager transactionManager) {
         this.paymentRepository = paymentRepository;
         this.bookingService = bookingService;
         this.invoiceService = invoiceService;
-    }
-
-    @PostConstruct
-    public void init() {
-        if (stripeSecretKey != null && !stripeSecretKey.isEmpty()) {
-            Stripe.apiKey = stripeSecretKey;
-            logger.info("Stripe initialized successfully");
-        } else {
-            logger.warn("Stripe secret key not configured - online payments will not be available");
-        }
+        this.expirationScheduler = expirationScheduler;
+        this.revenueRollupService = revenueRollupService;
+        this.stripeGateway = stripeGateway;
+        this.referenceAllocator = referenceAllocator;
+        this.specificationStreamer = specificationStreamer;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -73,10 +87,12 @@ public class PaymentService {
         validatePaymentRequest(booking, amount);
 
         Payment payment = new Payment(booking, amount, PaymentMethod.CASH);
+        payment.setTransactionReference(referenceAllocator.nextTransactionReference());
         payment.setDescription(description);
         payment.markAsCompleted();
 
         Payment savedPayment = paymentRepository.save(payment);
+        revenueRollupService.recordPayment(savedPayment);
 
         // Mettre à jour la réservation
         bookingService.markBookingAsPaid(bookingId);
@@ -89,130 +105,158 @@ public class PaymentService {
     }
 
     /**
-     * Crée une session de paiement Stripe
+     * Crée une session de paiement Stripe.
+     * Aucune transaction n'est ouverte pendant l'appel à Stripe : le paiement en attente est enregistré
+     * dans une première transaction courte, la réponse appliquée dans une seconde.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String createStripeCheckoutSession(UUID bookingId, String successUrl, String cancelUrl) {
         logger.info("Creating Stripe checkout session for booking: {}", bookingId);
 
-        Booking booking = bookingService.getBookingById(bookingId);
-        validatePaymentRequest(booking, booking.getTotalAmount());
+        PendingStripePayment pending = transaction.execute(status -> createPendingStripePayment(bookingId));
 
+        StripeGateway.Checkout checkout;
         try {
-            // Créer la session Stripe
-            SessionCreateParams params = SessionCreateParams.builder()
-                    .setMode(SessionCreateParams.Mode.PAYMENT)
-                    .setSuccessUrl(successUrl + "?session_id={CHECKOUT_SESSION_ID}")
-                    .setCancelUrl(cancelUrl)
-                    .addLineItem(
-                            SessionCreateParams.LineItem.builder()
-                                    .setQuantity(1L)
-                                    .setPriceData(
-                                            SessionCreateParams.LineItem.PriceData.builder()
-                                                    .setCurrency("eur")
-                                                    .setUnitAmount(booking.getTotalAmount().multiply(BigDecimal.valueOf(100)).longValue()) // Stripe utilise les centimes
-                                                    .setProductData(
-                                                            SessionCreateParams.LineItem.PriceData.ProductData.builder()
-                                                                    .setName("Réservation terrain de foot")
-                                                                    .setDescription("Réservation " + booking.getBookingReference())
-                                                                    .build()
-                                                    )
-                                                    .build()
-                                    )
-                                    .build()
-                    )
-                    .putMetadata("bookingId", bookingId.toString())
-                    .putMetadata("bookingReference", booking.getBookingReference())
-                    .build();
-
-            Session session = Session.create(params);
-
-            // Créer l'enregistrement de paiement
-            Payment payment = new Payment(booking, booking.getTotalAmount(), PaymentMethod.STRIPE);
-            payment.setStripeSessionId(session.getId());
-            payment.setDescription("Paiement en ligne pour réservation " + booking.getBookingReference());
-            payment.markAsProcessing();
-
-            paymentRepository.save(payment);
-
-            logger.info("Stripe session created: {}", session.getId());
-            return session.getUrl();
-
+            checkout = stripeGateway.createCheckoutSession(
+                    pending.amountCents(),
+                    "Réservation " + pending.bookingReference(),
+                    successUrl + "?session_id={CHECKOUT_SESSION_ID}",
+                    cancelUrl,
+                    pending.metadata(),
+                    pending.transactionReference());
         } catch (StripeException e) {
             logger.error("Failed to create Stripe session", e);
+            failPendingPayment(pending.paymentId(), "Stripe error: " + e.getMessage());
             throw new BusinessValidationException("Failed to initialize payment: " + e.getMessage());
         }
+
+        transaction.executeWithoutResult(status -> {
+            Payment payment = getPaymentById(pending.paymentId());
+            payment.setStripeSessionId(checkout.sessionId());
+            payment.markAsProcessing();
+            paymentRepository.save(payment);
+        });
+
+        logger.info("Stripe session created: {}", checkout.sessionId());
+        return checkout.url();
     }
 
     /**
-     * Crée un Payment Intent Stripe (pour intégration personnalisée)
+     * Crée un Payment Intent Stripe (pour intégration personnalisée), hors transaction comme la session Checkout
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public String createStripePaymentIntent(UUID bookingId) {
         logger.info("Creating Stripe Payment Intent for booking: {}", bookingId);
 
-        Booking booking = bookingService.getBookingById(bookingId);
-        validatePaymentRequest(booking, booking.getTotalAmount());
+        PendingStripePayment pending = transaction.execute(status -> createPendingStripePayment(bookingId));
 
+        StripeGateway.Intent paymentIntent;
         try {
-            PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                    .setAmount(booking.getTotalAmount().multiply(BigDecimal.valueOf(100)).longValue())
-                    .setCurrency("eur")
-                    .setDescription("Réservation " + booking.getBookingReference())
-                    .putMetadata("bookingId", bookingId.toString())
-                    .putMetadata("bookingReference", booking.getBookingReference())
-                    .build();
-
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
-
-            // Créer l'enregistrement de paiement
-            Payment payment = new Payment(booking, booking.getTotalAmount(), PaymentMethod.STRIPE);
-            payment.setStripePaymentIntentId(paymentIntent.getId());
-            payment.setDescription("Paiement en ligne pour réservation " + booking.getBookingReference());
-
-            paymentRepository.save(payment);
-
-            logger.info("Payment Intent created: {}", paymentIntent.getId());
-            return paymentIntent.getClientSecret();
-
+            paymentIntent = stripeGateway.createPaymentIntent(
+                    pending.amountCents(),
+                    "Réservation " + pending.bookingReference(),
+                    pending.metadata(),
+                    pending.transactionReference());
         } catch (StripeException e) {
             logger.error("Failed to create Payment Intent", e);
+            failPendingPayment(pending.paymentId(), "Stripe error: " + e.getMessage());
             throw new BusinessValidationException("Failed to initialize payment: " + e.getMessage());
         }
+
+        transaction.executeWithoutResult(status -> {
+            Payment payment = getPaymentById(pending.paymentId());
+            payment.setStripePaymentIntentId(paymentIntent.id());
+            paymentRepository.save(payment);
+        });
+
+        logger.info("Payment Intent created: {}", paymentIntent.id());
+        return paymentIntent.clientSecret();
     }
 
     /**
-     * Confirme un paiement Stripe
+     * Confirme un paiement Stripe : lecture du paiement, interrogation de Stripe hors transaction,
+     * puis application du résultat
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Payment confirmStripePayment(String stripeSessionId) {
         logger.info("Confirming Stripe payment for session: {}", stripeSessionId);
 
-        Payment payment = paymentRepository.findByStripeSessionId(stripeSessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Payment for session", stripeSessionId));
+        UUID paymentId = transaction.execute(status -> paymentRepository.findByStripeSessionId(stripeSessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment for session", stripeSessionId))
+                .getId());
 
+        boolean paid;
+        String failureReason;
         try {
-            Session session = Session.retrieve(stripeSessionId);
+            paid = stripeGateway.isCheckoutSessionPaid(stripeSessionId);
+            failureReason = paid ? null : "Payment not completed in Stripe";
+        } catch (StripeException e) {
+            logger.error("Failed to confirm Stripe payment", e);
+            paid = false;
+            failureReason = "Stripe error: " + e.getMessage();
+        }
 
-            if ("complete".equals(session.getStatus()) && "paid".equals(session.getPaymentStatus())) {
-                payment.markAsCompleted();
+        boolean completed = paid;
+        String reason = failureReason;
+        return transaction.execute(status -> applyCheckoutResult(paymentId, completed, reason));
+    }
 
-                // Mettre à jour la réservation
-                bookingService.markBookingAsPaid(payment.getBooking().getId());
+    /**
+     * Applique l'issue d'un paiement Stripe (confirmation ou webhook) dans la transaction courante
+     */
+    public Payment settleStripePayment(Payment payment, boolean paid, String failureReason) {
+        // Un encaissement confirmé par Stripe l'emporte sur un échec ou une expiration enregistrés localement
+        boolean lateSuccess = paid && (payment.getStatus() == PaymentStatus.FAILED
+                || payment.getStatus() == PaymentStatus.EXPIRED);
+
+        // Déjà traité par une confirmation ou un webhook concurrent
+        if (!payment.isPending() && !lateSuccess) {
+            return payment;
+        }
 
-                // Générer la facture
-                invoiceService.generateInvoice(payment);
+        Booking booking = payment.getBooking();
+        if (lateSuccess && (booking.getIsPaid() || booking.isInFinalState())) {
+            // Argent encaissé pour une réservation déjà réglée ou close : à rembourser, pas à appliquer
+            payment.setFailureReason("Stripe succeeded after " + payment.getStatus() + ": reconciliation required");
+            logger.error("Stripe payment {} succeeded after {} but booking {} is no longer payable: "
+                    + "reconciliation required", payment.getId(), payment.getStatus(), booking.getId());
+            return paymentRepository.save(payment);
+        }
 
-                logger.info("Stripe payment confirmed: {}", payment.getId());
-            } else {
-                payment.markAsFailed("Payment not completed in Stripe");
-                logger.warn("Stripe payment failed for session: {}", stripeSessionId);
+        if (paid) {
+            if (lateSuccess) {
+                logger.warn("Stripe payment {} succeeded after being marked {}", payment.getId(), payment.getStatus());
             }
+            payment.markAsCompleted();
+            revenueRollupService.recordPayment(payment);
 
-            return paymentRepository.save(payment);
+            // Mettre à jour la réservation
+            bookingService.markBookingAsPaid(payment.getBooking().getId());
 
-        } catch (StripeException e) {
-            logger.error("Failed to confirm Stripe payment", e);
-            payment.markAsFailed("Stripe error: " + e.getMessage());
-            return paymentRepository.save(payment);
+            // Générer la facture
+            invoiceService.generateInvoice(payment);
+
+            logger.info("Stripe payment confirmed: {}", payment.getId());
+        } else {
+            payment.markAsFailed(failureReason);
+            logger.warn("Stripe payment failed for payment: {} - {}", payment.getId(), failureReason);
         }
+        expirationScheduler.cancelAfterCommit(ExpirationType.PAYMENT, payment.getId());
+
+        return paymentRepository.save(payment);
+    }
+
+    /**
+     * Enregistre une tentative refusée par Stripe ; le client peut réessayer avec le même Payment Intent,
+     * le paiement reste donc en attente jusqu'à son succès, son annulation ou son expiration
+     */
+    public Payment recordStripeAttemptFailure(Payment payment, String failureReason) {
+        if (!payment.isPending()) {
+            return payment;
+        }
+        payment.setFailureReason(failureReason);
+        logger.info("Stripe payment attempt failed for payment: {} - {}", payment.getId(), failureReason);
+        return paymentRepository.save(payment);
     }
 
     /**
@@ -239,6 +283,7 @@ public class PaymentService {
         // Mettre à jour le paiement
         payment.refund(refundAmount, reason);
         Payment refundedPayment = paymentRepository.save(payment);
+        revenueRollupService.recordRefund(refundedPayment, refundAmount);
 
         logger.info("Refund processed successfully: {}", paymentId);
         return refundedPayment;
@@ -262,52 +307,124 @@ public class PaymentService {
     }
 
     /**
-     * Calcule les revenus pour une période
+     * Recherche de paiements avec filtres
      */
     @Transactional(readOnly = true)
-    public BigDecimal calculateRevenue(LocalDateTime startDate, LocalDateTime endDate) {
-        BigDecimal revenue = paymentRepository.calculateRevenueByPeriod(startDate, endDate);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+    public Page<Payment> searchPayments(PaymentStatus status, PaymentMethod paymentMethod,
+                                        LocalDateTime startDate, LocalDateTime endDate,
+                                        BigDecimal minAmount, BigDecimal maxAmount, Pageable pageable) {
+        return paymentRepository.findAll(PaymentSpecifications.withFilters(status, paymentMethod, startDate,
+                endDate, minAmount, maxAmount), pageable);
     }
 
     /**
-     * Récupère les statistiques de revenus par méthode de paiement
+     * Recherche de paiements avec filtres en pagination par curseur (sans comptage)
      */
     @Transactional(readOnly = true)
-    public Map<PaymentMethod, BigDecimal> getRevenueByPaymentMethod(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Object[]> results = paymentRepository.findRevenueByPaymentMethod(startDate, endDate);
-        Map<PaymentMethod, BigDecimal> revenueMap = new HashMap<>();
-
-        for (Object[] result : results) {
-            PaymentMethod method = (PaymentMethod) result[0];
-            BigDecimal amount = (BigDecimal) result[1];
-            revenueMap.put(method, amount);
-        }
+    public Window<Payment> scrollPayments(PaymentStatus status, PaymentMethod paymentMethod,
+                                          LocalDateTime startDate, LocalDateTime endDate,
+                                          BigDecimal minAmount, BigDecimal maxAmount,
+                                          Sort sort, int size, ScrollPosition position) {
+        return paymentRepository.scrollAll(PaymentSpecifications.withFilters(status, paymentMethod, startDate,
+                endDate, minAmount, maxAmount), sort, size, position);
+    }
 
-        return revenueMap;
+    /**
+     * Parcourt en flux les paiements répondant aux filtres (export), par date de création
+     */
+    @Transactional(readOnly = true)
+    public long forEachPayment(PaymentStatus status, PaymentMethod paymentMethod,
+                               LocalDateTime startDate, LocalDateTime endDate,
+                               BigDecimal minAmount, BigDecimal maxAmount, Consumer<Payment> action) {
+        Specification<Payment> spec = PaymentSpecifications.withFilters(status, paymentMethod, startDate, endDate,
+                minAmount, maxAmount);
+        return specificationStreamer.forEach(Payment.class, spec.and(PaymentSpecifications.fetchBooking()),
+                Sort.by("createdAt", "id"), action);
     }
 
     /**
      * Nettoyage automatique des paiements expirés
      */
-    @Scheduled(fixedRate = 600000) // Toutes les 10 minutes
+    @Scheduled(fixedRate = 3600000) // Toutes les heures, en filet de sécurité de l'ExpirationScheduler
     @Transactional
     public void cleanupExpiredPayments() {
         logger.info("Starting cleanup of expired payments");
 
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(2);
+        LocalDateTime cutoffTime = LocalDateTime.now().minus(PENDING_PAYMENT_TIMEOUT);
         List<Payment> expiredPayments = paymentRepository.findExpiredPayments(cutoffTime);
+        expiredPayments.forEach(this::expirePayment);
 
-        for (Payment payment : expiredPayments) {
-            payment.setStatus(PaymentStatus.EXPIRED);
-            paymentRepository.save(payment);
+        logger.info("Cleaned up {} expired payments", expiredPayments.size());
+    }
+
+    /**
+     * Expire les paiements en attente arrivés à échéance parmi ceux indiqués (appelé par l'ExpirationScheduler)
+     */
+    public int expirePayments(Collection<UUID> paymentIds) {
+        LocalDateTime cutoffTime = LocalDateTime.now().minus(PENDING_PAYMENT_TIMEOUT);
+        List<Payment> expiredPayments = paymentRepository.findExpiredPaymentsByIds(paymentIds, cutoffTime);
+        expiredPayments.forEach(this::expirePayment);
+
+        if (!expiredPayments.isEmpty()) {
+            logger.info("Expired {} pending payments", expiredPayments.size());
         }
+        return expiredPayments.size();
+    }
 
-        logger.info("Cleaned up {} expired payments", expiredPayments.size());
+    /**
+     * Échéances des paiements en attente, pour reconstruire l'ExpirationScheduler
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> getPendingPaymentDeadlines() {
+        Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+        for (Object[] row : paymentRepository.findPendingPaymentCreationTimes()) {
+            deadlines.put((UUID) row[0], ((LocalDateTime) row[1]).plus(PENDING_PAYMENT_TIMEOUT));
+        }
+        return deadlines;
     }
 
     // Méthodes privées
 
+    /**
+     * Paiement en attente enregistré avant l'appel à Stripe ; s'il n'est jamais complété, il expire
+     */
+    private PendingStripePayment createPendingStripePayment(UUID bookingId) {
+        Booking booking = bookingService.getBookingById(bookingId);
+        validatePaymentRequest(booking, booking.getTotalAmount());
+
+        Payment payment = new Payment(booking, booking.getTotalAmount(), PaymentMethod.STRIPE);
+        payment.setTransactionReference(referenceAllocator.nextTransactionReference());
+        payment.setDescription("Paiement en ligne pour réservation " + booking.getBookingReference());
+
+        Payment savedPayment = paymentRepository.save(payment);
+        expirationScheduler.scheduleAfterCommit(ExpirationType.PAYMENT, savedPayment.getId(),
+                LocalDateTime.now().plus(PENDING_PAYMENT_TIMEOUT));
+
+        return new PendingStripePayment(
+                savedPayment.getId(),
+                savedPayment.getTransactionReference(),
+                booking.getTotalAmount().multiply(BigDecimal.valueOf(100)).longValue(),
+                booking.getBookingReference(),
+                Map.of("bookingId", bookingId.toString(), "bookingReference", booking.getBookingReference()));
+    }
+
+    private void failPendingPayment(UUID paymentId, String reason) {
+        transaction.executeWithoutResult(status -> {
+            Payment payment = getPaymentById(paymentId);
+            payment.markAsFailed(reason);
+            paymentRepository.save(payment);
+        });
+    }
+
+    private Payment applyCheckoutResult(UUID paymentId, boolean paid, String failureReason) {
+        return settleStripePayment(getPaymentById(paymentId), paid, failureReason);
+    }
+
+    private void expirePayment(Payment payment) {
+        payment.setStatus(PaymentStatus.EXPIRED);
+        paymentRepository.save(payment);
+    }
+
     private void validatePaymentRequest(Booking booking, BigDecimal amount) {
         if (booking.getIsPaid()) {
             throw new BusinessValidationException("Booking is already paid");
@@ -332,4 +449,8 @@ public class PaymentService {
             throw new BusinessValidationException("Failed to process refund via Stripe: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private record PendingStripePayment(UUID paymentId, String transactionReference, long amountCents,
+                                        String bookingReference, Map<String, String> metadata) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import com.footArena.booking.domain.repositories.DailyRevenueRollupRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Agrégats quotidiens de revenus (jour × établissement × méthode de paiement).
+ * Chaque encaissement et chaque remboursement incrémente sa ligne dans la transaction du paiement ;
+ * les statistiques de revenus lisent ces agrégats au lieu de parcourir la table des paiements.
+ * Le rattrapage reconstruit les agrégats depuis les paiements, mois par mois.
+ */
+@Service
+@Transactional
+public class RevenueRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupService.class);
+    private static final int RECONCILIATION_DAYS = 2;
+
+    private final DailyRevenueRollupRepository rollupRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transaction;
+
+    public RevenueRollupService(DailyRevenueRollupRepository rollupRepository,
+                                PaymentRepository paymentRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.paymentRepository = paymentRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Comptabilise un paiement encaissé au jour de son traitement
+     */
+    public void recordPayment(Payment payment) {
+        rollupRepository.addPayment(payment.getProcessedAt().toLocalDate(), establishmentOf(payment),
+                payment.getPaymentMethod().name(), payment.getAmount());
+    }
+
+    /**
+     * Comptabilise un remboursement au jour où il est effectué
+     */
+    public void recordRefund(Payment payment, BigDecimal refundAmount) {
+        rollupRepository.addRefund(payment.getRefundedAt().toLocalDate(), establishmentOf(payment),
+                payment.getPaymentMethod().name(), refundAmount);
+    }
+
+    /**
+     * Revenus nets (encaissements moins remboursements) entre deux jours inclus
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getRevenue(LocalDate startDate, LocalDate endDate, UUID establishmentId) {
+        return getRevenueByPaymentMethod(startDate, endDate, establishmentId).values().stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Revenus nets par méthode de paiement entre deux jours inclus
+     */
+    @Transactional(readOnly = true)
+    public Map<PaymentMethod, BigDecimal> getRevenueByPaymentMethod(LocalDate startDate, LocalDate endDate,
+                                                                    UUID establishmentId) {
+        validatePeriod(startDate, endDate);
+
+        Map<PaymentMethod, BigDecimal> revenueMap = new EnumMap<>(PaymentMethod.class);
+        for (Object[] row : rollupRepository.sumByPaymentMethod(startDate, endDate, establishmentId)) {
+            revenueMap.put((PaymentMethod) row[0], net(row));
+        }
+        return revenueMap;
+    }
+
+    /**
+     * Revenus nets jour par jour entre deux jours inclus (jours sans activité omis)
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> getDailyRevenue(LocalDate startDate, LocalDate endDate, UUID establishmentId) {
+        validatePeriod(startDate, endDate);
+
+        Map<LocalDate, BigDecimal> dailyRevenue = new LinkedHashMap<>();
+        for (Object[] row : rollupRepository.sumByDay(startDate, endDate, establishmentId)) {
+            dailyRevenue.put((LocalDate) row[0], net(row));
+        }
+        return dailyRevenue;
+    }
+
+    /**
+     * Reconstruit les agrégats d'une période depuis la table des paiements, un mois par transaction
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        validatePeriod(startDate, endDate);
+        logger.info("Rebuilding revenue rollups from {} to {}", startDate, endDate);
+
+        int rows = 0;
+        for (LocalDate chunkStart = startDate; !chunkStart.isAfter(endDate); ) {
+            LocalDate nextMonth = chunkStart.withDayOfMonth(1).plusMonths(1);
+            LocalDate chunkEnd = nextMonth.minusDays(1).isAfter(endDate) ? endDate : nextMonth.minusDays(1);
+
+            LocalDate from = chunkStart;
+            rows += transaction.execute(status -> rebuild(from, chunkEnd));
+            chunkStart = chunkEnd.plusDays(1);
+        }
+
+        logger.info("Revenue rollups rebuilt from {} to {}: {} rows", startDate, endDate, rows);
+        return rows;
+    }
+
+    /**
+     * Rattrapage initial : reconstruit tout l'historique si la table des agrégats est vide
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+
+        LocalDateTime firstProcessedAt = paymentRepository.findFirstProcessedAt();
+        if (firstProcessedAt != null) {
+            backfill(firstProcessedAt.toLocalDate(), LocalDate.now());
+        }
+    }
+
+    /**
+     * Réconciliation nocturne des derniers jours, qui corrige un éventuel écart avec la table des paiements
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcileRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        backfill(yesterday.minusDays(RECONCILIATION_DAYS - 1), yesterday);
+    }
+
+    private int rebuild(LocalDate startDate, LocalDate endDate) {
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+
+        rollupRepository.deleteByRollupDateBetween(startDate, endDate);
+        int rows = rollupRepository.rebuildPayments(from, to);
+        rollupRepository.rebuildRefunds(from, to);
+        return rows;
+    }
+
+    private static UUID establishmentOf(Payment payment) {
+        return payment.getBooking().getSlot().getField().getEstablishment().getId();
+    }
+
+    private static BigDecimal net(Object[] row) {
+        BigDecimal gross = (BigDecimal) row[1];
+        BigDecimal refunds = (BigDecimal) row[2];
+        return gross.subtract(refunds);
+    }
+
+    private static void validatePeriod(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessValidationException("End date must be after start date");
+        }
+    }
+}
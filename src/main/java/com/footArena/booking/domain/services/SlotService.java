@@ -1,37 +1,54 @@
 package com.footArena.booking.domain.services;
 
+import com.footArena.booking.api.dto.response.RecurringGenerationResult;
 import com.footArena.booking.domain.entities.Field;
 import com.footArena.booking.domain.entities.Slot;
 import com.footArena.booking.domain.enums.SlotStatus;
 import com.footArena.booking.domain.exceptions.BusinessValidationException;
 import com.footArena.booking.domain.exceptions.ResourceNotFoundException;
 import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.specifications.SlotSpecifications;
+import com.footArena.booking.infrastructure.index.AvailabilityIndex;
+import com.footArena.booking.infrastructure.index.IntervalTree;
+import com.footArena.booking.infrastructure.index.SlotConflictIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class SlotService {
 
     private static final Logger logger = LoggerFactory.getLogger(SlotService.class);
+    private static final int MAX_RECURRING_RANGE_DAYS = 400;
 
     private final SlotRepository slotRepository;
     private final FieldService fieldService;
+    private final SlotConflictIndex slotConflictIndex;
+    private final AvailabilityIndex availabilityIndex;
 
-    public SlotService(SlotRepository slotRepository, FieldService fieldService) {
+    public SlotService(SlotRepository slotRepository, FieldService fieldService,
+                       SlotConflictIndex slotConflictIndex, AvailabilityIndex availabilityIndex) {
         this.slotRepository = slotRepository;
         this.fieldService = fieldService;
+        this.slotConflictIndex = slotConflictIndex;
+        this.availabilityIndex = availabilityIndex;
     }
 
     /**
@@ -51,6 +68,10 @@ public class SlotService {
         slot.setDescription(description);
 
         Slot savedSlot = slotRepository.save(slot);
+        if (!slotConflictIndex.register(savedSlot)) {
+            throw new BusinessValidationException("Time slot conflicts with existing slot(s)");
+        }
+        availabilityIndex.refreshAfterCommit(savedSlot.getId());
         logger.info("Slot created with ID: {}", savedSlot.getId());
 
         return savedSlot;
@@ -65,29 +86,37 @@ public class SlotService {
         logger.info("Creating recurring slots for field: {} from {} to {}", fieldId, startDate, endDate);
 
         Field field = fieldService.getFieldById(fieldId);
-        List<Slot> createdSlots = new ArrayList<>();
-
-        LocalDateTime currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            if (daysOfWeek.contains(currentDate.getDayOfWeek().getValue())) {
-                LocalDateTime slotStart = currentDate.toLocalDate().atTime(startTime);
-                LocalDateTime slotEnd = currentDate.toLocalDate().atTime(endTime);
-
-                // Vérifier les conflits pour chaque créneau
-                List<Slot> conflicts = slotRepository.findConflictingSlots(fieldId, slotStart, slotEnd);
-                if (conflicts.isEmpty()) {
-                    Slot slot = new Slot(field, slotStart, slotEnd, price, maxCapacity);
-                    slot.setDescription(description);
-                    slot.setRecurringPattern("WEEKLY");
-
-                    createdSlots.add(slotRepository.save(slot));
-                }
-            }
-            currentDate = currentDate.plusDays(1);
+        validateRecurringData(startDate.toLocalDate(), endDate.toLocalDate(), startTime, endTime, price, maxCapacity);
+
+        RecurringGenerationResult result = generateRecurringSlots(field, startDate.toLocalDate(), endDate.toLocalDate(),
+                startTime, endTime, price, maxCapacity, daysOfWeek, description);
+
+        logger.info("Created {} recurring slots", result.getCreatedCount());
+        return result.getCreatedSlots();
+    }
+
+    /**
+     * Crée en masse des créneaux récurrents sur plusieurs terrains (planning de saison)
+     */
+    public List<RecurringGenerationResult> createRecurringSchedule(List<UUID> fieldIds, LocalDate startDate,
+                                                                   LocalDate endDate, LocalTime startTime,
+                                                                   LocalTime endTime, BigDecimal price,
+                                                                   Integer maxCapacity, List<Integer> daysOfWeek,
+                                                                   String description) {
+        logger.info("Creating recurring schedule for {} field(s) from {} to {}", fieldIds.size(), startDate, endDate);
+
+        validateRecurringData(startDate, endDate, startTime, endTime, price, maxCapacity);
+
+        List<RecurringGenerationResult> results = new ArrayList<>();
+        for (UUID fieldId : fieldIds) {
+            Field field = fieldService.getFieldById(fieldId);
+            results.add(generateRecurringSlots(field, startDate, endDate, startTime, endTime,
+                    price, maxCapacity, daysOfWeek, description));
         }
 
-        logger.info("Created {} recurring slots", createdSlots.size());
-        return createdSlots;
+        logger.info("Recurring schedule created: {} slot(s) across {} field(s)",
+                results.stream().mapToInt(RecurringGenerationResult::getCreatedCount).sum(), fieldIds.size());
+        return results;
     }
 
     /**
@@ -107,7 +136,9 @@ public class SlotService {
         if (startTime != null && endTime != null) {
             validateSlotData(startTime, endTime, price != null ? price : slot.getPrice(),
                     maxCapacity != null ? maxCapacity : slot.getMaxCapacity());
-            checkTimeConflicts(slot.getField().getId(), startTime, endTime, slotId);
+            if (!slotConflictIndex.reschedule(slot, startTime, endTime)) {
+                throw new BusinessValidationException("Time slot conflicts with existing slot(s)");
+            }
             slot.setStartTime(startTime);
             slot.setEndTime(endTime);
         }
@@ -128,6 +159,7 @@ public class SlotService {
         }
 
         Slot updatedSlot = slotRepository.save(slot);
+        availabilityIndex.refreshAfterCommit(slotId);
         logger.info("Slot updated successfully: {}", slotId);
 
         return updatedSlot;
@@ -158,6 +190,20 @@ public class SlotService {
         return slotRepository.findByFieldId(fieldId);
     }
 
+    /**
+     * Version des créneaux d'un terrain, lue sans charger les entités, ou null si le terrain n'existe pas.
+     * Elle change aussi chaque minute : les indicateurs canBeCancelled et isToday dépendent de l'heure.
+     */
+    @Transactional(readOnly = true)
+    public String getFieldSlotsVersion(UUID fieldId) {
+        String fieldVersion = fieldService.getFieldVersion(fieldId);
+        if (fieldVersion == null) {
+            return null;
+        }
+        long minute = System.currentTimeMillis() / 60_000;
+        return slotRepository.findStampByFieldId(fieldId).tag() + "-" + fieldVersion + "-" + minute;
+    }
+
     /**
      * Récupère les créneaux disponibles
      */
@@ -181,8 +227,19 @@ public class SlotService {
     public Page<Slot> searchSlots(UUID fieldId, SlotStatus status, LocalDateTime startDate,
                                   LocalDateTime endDate, BigDecimal minPrice, BigDecimal maxPrice,
                                   Boolean isPremium, Pageable pageable) {
-        return slotRepository.findSlotsWithFilters(fieldId, status, startDate, endDate,
-                minPrice, maxPrice, isPremium, pageable);
+        return slotRepository.findAll(SlotSpecifications.withFilters(fieldId, status, startDate, endDate,
+                minPrice, maxPrice, isPremium), pageable);
+    }
+
+    /**
+     * Recherche de créneaux avec filtres en pagination par curseur (sans comptage)
+     */
+    @Transactional(readOnly = true)
+    public Window<Slot> scrollSlots(UUID fieldId, SlotStatus status, LocalDateTime startDate,
+                                    LocalDateTime endDate, BigDecimal minPrice, BigDecimal maxPrice,
+                                    Boolean isPremium, Sort sort, int size, ScrollPosition position) {
+        return slotRepository.scrollAll(SlotSpecifications.withFilters(fieldId, status, startDate, endDate,
+                minPrice, maxPrice, isPremium), sort, size, position);
     }
 
     /**
@@ -201,11 +258,35 @@ public class SlotService {
         slot.setStatus(newStatus);
 
         Slot updatedSlot = slotRepository.save(slot);
+        availabilityIndex.refreshAfterCommit(slotId);
         logger.info("Slot status changed successfully");
 
         return updatedSlot;
     }
 
+    /**
+     * Réserve atomiquement une place dans un créneau (aucune lecture-modification-écriture en mémoire)
+     */
+    public void reserveSpot(UUID slotId, int requestedSpots) {
+        int updated = slotRepository.reserveSpot(slotId, requestedSpots, LocalDateTime.now());
+        if (updated == 0) {
+            throw explainReservationFailure(slotId, requestedSpots);
+        }
+        availabilityIndex.refreshAfterCommit(slotId);
+    }
+
+    /**
+     * Libère atomiquement une place dans un créneau
+     */
+    public void releaseSpot(UUID slotId) {
+        int updated = slotRepository.releaseSpot(slotId, LocalDateTime.now());
+        if (updated == 0) {
+            logger.warn("No booking to release on slot: {}", slotId);
+            return;
+        }
+        availabilityIndex.refreshAfterCommit(slotId);
+    }
+
     public void deleteSlot(UUID slotId) {
         logger.info("Deleting slot: {}", slotId);
 
@@ -216,6 +297,8 @@ public class SlotService {
         }
 
         slotRepository.delete(slot);
+        slotConflictIndex.unregister(slot);
+        availabilityIndex.refreshAfterCommit(slotId);
         logger.info("Slot deleted successfully: {}", slotId);
     }
 
@@ -237,6 +320,8 @@ public class SlotService {
         for (Slot slot : expiredSlots) {
             if (slot.getCurrentBookings() == 0) {
                 slotRepository.delete(slot);
+                slotConflictIndex.unregister(slot);
+                availabilityIndex.refreshAfterCommit(slot.getId());
             }
         }
 
@@ -249,14 +334,19 @@ public class SlotService {
             throw new BusinessValidationException("Start time and end time are required");
         }
 
-        if (startTime.isAfter(endTime)) {
-            throw new BusinessValidationException("Start time must be before end time");
-        }
-
         if (startTime.isBefore(LocalDateTime.now())) {
             throw new BusinessValidationException("Cannot create slot in the past");
         }
 
+        validateSlotShape(startTime, endTime, price, maxCapacity);
+    }
+
+    private void validateSlotShape(LocalDateTime startTime, LocalDateTime endTime,
+                                   BigDecimal price, Integer maxCapacity) {
+        if (startTime.isAfter(endTime)) {
+            throw new BusinessValidationException("Start time must be before end time");
+        }
+
         long durationMinutes = java.time.Duration.between(startTime, endTime).toMinutes();
         if (durationMinutes < 30) {
             throw new BusinessValidationException("Slot duration must be at least 30 minutes");
@@ -275,16 +365,100 @@ public class SlotService {
         }
     }
 
-    private void checkTimeConflicts(UUID fieldId, LocalDateTime startTime,
-                                    LocalDateTime endTime, UUID excludeSlotId) {
-        List<Slot> conflictingSlots = slotRepository.findConflictingSlots(fieldId, startTime, endTime);
+    /**
+     * Génère les occurrences d'un terrain : une seule requête pour les créneaux existants de la période,
+     * détection des conflits en mémoire puis insertion par lots JDBC hors du contexte de persistance
+     */
+    private RecurringGenerationResult generateRecurringSlots(Field field, LocalDate startDate, LocalDate endDate,
+                                                             LocalTime startTime, LocalTime endTime,
+                                                             BigDecimal price, Integer maxCapacity,
+                                                             List<Integer> daysOfWeek, String description) {
+        IntervalTree existingSlots = new IntervalTree();
+        List<Object[]> intervals = slotRepository.findIntervalsByFieldIdBetween(field.getId(),
+                startDate.atTime(startTime), endDate.atTime(endTime));
+        for (Object[] interval : intervals) {
+            existingSlots.insert(IntervalTree.key((LocalDateTime) interval[1]),
+                    IntervalTree.key((LocalDateTime) interval[2]), (UUID) interval[0]);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Slot> slotsToCreate = new ArrayList<>();
+        List<LocalDate> conflictingDates = new ArrayList<>();
+        List<LocalDate> pastDates = new ArrayList<>();
 
-        if (excludeSlotId != null) {
-            conflictingSlots.removeIf(slot -> slot.getId().equals(excludeSlotId));
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!daysOfWeek.contains(date.getDayOfWeek().getValue())) {
+                continue;
+            }
+
+            LocalDateTime slotStart = date.atTime(startTime);
+            LocalDateTime slotEnd = date.atTime(endTime);
+
+            if (slotStart.isBefore(now)) {
+                pastDates.add(date);
+            } else if (existingSlots.overlaps(IntervalTree.key(slotStart), IntervalTree.key(slotEnd), null)) {
+                conflictingDates.add(date);
+            } else {
+                Slot slot = new Slot(field, slotStart, slotEnd, price, maxCapacity);
+                slot.setDescription(description);
+                slot.setRecurringPattern("WEEKLY");
+                slotsToCreate.add(slot);
+            }
         }
 
-        if (!conflictingSlots.isEmpty()) {
+        // Les modifications en attente doivent précéder l'INSERT JDBC, qu'Hibernate ne voit pas
+        slotRepository.flush();
+        slotRepository.insertAll(slotsToCreate);
+        List<Slot> createdSlots = slotsToCreate;
+
+        for (Slot slot : createdSlots) {
+            if (!slotConflictIndex.register(slot)) {
+                throw new BusinessValidationException("Time slot conflicts with existing slot(s)");
+            }
+        }
+        availabilityIndex.refreshAfterCommit(createdSlots.stream().map(Slot::getId).collect(Collectors.toList()));
+
+        logger.debug("Field {}: {} slot(s) created, {} conflicting, {} in the past",
+                field.getId(), createdSlots.size(), conflictingDates.size(), pastDates.size());
+        return new RecurringGenerationResult(field.getId(), createdSlots, conflictingDates, pastDates);
+    }
+
+    private void validateRecurringData(LocalDate startDate, LocalDate endDate, LocalTime startTime,
+                                       LocalTime endTime, BigDecimal price, Integer maxCapacity) {
+        if (startDate == null || endDate == null || startTime == null || endTime == null) {
+            throw new BusinessValidationException("Start and end dates and times are required");
+        }
+
+        if (endDate.isBefore(startDate)) {
+            throw new BusinessValidationException("Start date must be before end date");
+        }
+
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_RECURRING_RANGE_DAYS) {
+            throw new BusinessValidationException("Recurring range cannot exceed " + MAX_RECURRING_RANGE_DAYS + " days");
+        }
+
+        validateSlotShape(startDate.atTime(startTime), startDate.atTime(endTime), price, maxCapacity);
+    }
+
+    private BusinessValidationException explainReservationFailure(UUID slotId, int requestedSpots) {
+        Slot slot = getSlotById(slotId);
+
+        if (slot.isInPast()) {
+            return new BusinessValidationException("Cannot book slots in the past");
+        }
+
+        if (slot.getStatus() != SlotStatus.AVAILABLE && slot.getStatus() != SlotStatus.RESERVED) {
+            return new BusinessValidationException("Slot is not available for booking");
+        }
+
+        logger.debug("Slot {} has {} spot(s) left, {} requested", slotId, slot.getAvailableSpots(), requestedSpots);
+        return new BusinessValidationException("Not enough available spots in this slot");
+    }
+
+    private void checkTimeConflicts(UUID fieldId, LocalDateTime startTime,
+                                    LocalDateTime endTime, UUID excludeSlotId) {
+        if (slotConflictIndex.hasConflict(fieldId, startTime, endTime, excludeSlotId)) {
             throw new BusinessValidationException("Time slot conflicts with existing slot(s)");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,316 @@
+package com.footArena.booking.domain.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.StripeWebhookEvent;
+import com.footArena.booking.domain.enums.WebhookEventStatus;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.StripeWebhookEventRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.net.Webhook;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Réception des webhooks Stripe. La requête se limite à vérifier la signature et à enregistrer l'identifiant
+ * de l'événement (clé primaire, donc garde d'idempotence) avant d'être acquittée ; le traitement se fait
+ * par lots sur un pool de workers borné. Les rejeux sont écartés par un cache des identifiants récents,
+ * puis par la contrainte d'unicité. Un événement qui n'a pas pu être mis en file (file pleine, redémarrage)
+ * ou dont le traitement a échoué est repris par un balayage périodique.
+ */
+@Service
+public class StripeWebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeWebhookService.class);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration RECOVERY_DELAY = Duration.ofSeconds(30);
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+
+    private final String webhookSecret;
+    private final int workers;
+    private final int batchSize;
+
+    private final BlockingQueue<String> queue;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Cache<String, Boolean> recentEventIds = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    public StripeWebhookService(StripeWebhookEventRepository eventRepository,
+                                PaymentRepository paymentRepository,
+                                PaymentService paymentService,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stripe.webhook.secret:}") String webhookSecret,
+                                @Value("${stripe.webhook.workers:2}") int workers,
+                                @Value("${stripe.webhook.queue-capacity:10000}") int queueCapacity,
+                                @Value("${stripe.webhook.batch-size:50}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.webhookSecret = webhookSecret;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "stripe-webhook-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::work);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Vérifie et enregistre un événement ; retourne faux si c'est un rejeu déjà reçu
+     */
+    public boolean receive(String payload, String signatureHeader) throws SignatureVerificationException {
+        if (webhookSecret == null || webhookSecret.isEmpty()) {
+            throw new SignatureVerificationException("Webhook secret not configured", signatureHeader);
+        }
+        Event event = Webhook.constructEvent(payload, signatureHeader, webhookSecret);
+
+        if (recentEventIds.getIfPresent(event.getId()) != null) {
+            logger.debug("Duplicate Stripe event ignored: {}", event.getId());
+            return false;
+        }
+
+        try {
+            eventRepository.saveAndFlush(toWebhookEvent(event, payload));
+        } catch (DataIntegrityViolationException e) {
+            recentEventIds.put(event.getId(), Boolean.TRUE);
+            logger.debug("Duplicate Stripe event ignored: {}", event.getId());
+            return false;
+        }
+        recentEventIds.put(event.getId(), Boolean.TRUE);
+
+        // File pleine : l'événement reste RECEIVED et sera repris par le balayage
+        enqueue(event.getId());
+        logger.info("Stripe event accepted: {} ({})", event.getId(), event.getType());
+        return true;
+    }
+
+    /**
+     * Remet en file les événements reçus mais non traités
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${stripe.webhook.recovery-interval-ms:60000}")
+    public void recoverPendingEvents() {
+        List<String> pending = eventRepository.findEventIdsByStatusReceivedBefore(WebhookEventStatus.RECEIVED,
+                LocalDateTime.now().minus(RECOVERY_DELAY), PageRequest.of(0, batchSize * 10));
+        int requeued = 0;
+        for (String eventId : pending) {
+            if (enqueue(eventId)) {
+                requeued++;
+            }
+        }
+        if (requeued > 0) {
+            logger.info("Requeued {} pending Stripe events", requeued);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private boolean enqueue(String eventId) {
+        if (!inFlight.add(eventId)) {
+            return false;
+        }
+        if (!queue.offer(eventId)) {
+            inFlight.remove(eventId);
+            logger.warn("Stripe webhook queue full, event {} left for recovery", eventId);
+            return false;
+        }
+        return true;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                String first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<String> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Stripe webhook worker error", e);
+            }
+        }
+    }
+
+    /**
+     * Un lot dans une seule transaction ; en cas d'échec, chaque événement est rejoué seul pour isoler le fautif
+     */
+    private void processBatch(List<String> eventIds) {
+        try {
+            transaction.executeWithoutResult(status -> apply(eventIds));
+        } catch (RuntimeException batchFailure) {
+            logger.warn("Stripe event batch failed, retrying events one by one: {}", batchFailure.getMessage());
+            for (String eventId : eventIds) {
+                try {
+                    transaction.executeWithoutResult(status -> apply(List.of(eventId)));
+                } catch (RuntimeException e) {
+                    logger.error("Failed to process Stripe event {}", eventId, e);
+                    transaction.executeWithoutResult(status -> eventRepository.findById(eventId)
+                            .ifPresent(event -> event.recordFailure(e.getMessage(), MAX_ATTEMPTS)));
+                }
+            }
+        } finally {
+            inFlight.removeAll(eventIds);
+        }
+    }
+
+    private void apply(List<String> eventIds) {
+        List<StripeWebhookEvent> events = eventRepository.findAllById(eventIds).stream()
+                .filter(event -> event.getStatus() == WebhookEventStatus.RECEIVED)
+                .collect(Collectors.toList());
+
+        // Paiements du lot chargés en deux requêtes
+        Map<String, Payment> bySession = index(paymentRepository.findByStripeSessionIdIn(
+                objectIds(events, "checkout.session.")), Payment::getStripeSessionId);
+        Map<String, Payment> byIntent = index(paymentRepository.findByStripePaymentIntentIdIn(
+                objectIds(events, "payment_intent.")), Payment::getStripePaymentIntentId);
+
+        for (StripeWebhookEvent event : events) {
+            Outcome outcome = outcome(event);
+            if (outcome == null) {
+                event.markIgnored("Unhandled event type or status");
+                continue;
+            }
+
+            Payment payment = event.getEventType().startsWith("checkout.session.")
+                    ? bySession.get(event.getObjectId())
+                    : byIntent.get(event.getObjectId());
+            if (payment == null) {
+                event.markIgnored("No matching payment");
+                logger.debug("No payment for Stripe event {} ({})", event.getEventId(), event.getObjectId());
+                continue;
+            }
+
+            String failureReason = outcome == Outcome.PAID ? null : "Stripe: " + (event.getFailureMessage() != null
+                    ? event.getFailureMessage() : event.getEventType());
+            if (outcome == Outcome.ATTEMPT_FAILED) {
+                paymentService.recordStripeAttemptFailure(payment, failureReason);
+            } else {
+                paymentService.settleStripePayment(payment, outcome == Outcome.PAID, failureReason);
+            }
+            event.markProcessed();
+        }
+    }
+
+    /**
+     * Issue portée par l'événement ; null = sans effet
+     */
+    private static Outcome outcome(StripeWebhookEvent event) {
+        return switch (event.getEventType()) {
+            // Avec un moyen de paiement différé, la session est terminée avant d'être payée
+            case "checkout.session.completed" -> "paid".equals(event.getObjectStatus()) ? Outcome.PAID : null;
+            case "checkout.session.async_payment_succeeded", "payment_intent.succeeded" -> Outcome.PAID;
+            // Carte refusée : le Payment Intent reste utilisable pour une nouvelle tentative
+            case "payment_intent.payment_failed" -> Outcome.ATTEMPT_FAILED;
+            case "checkout.session.async_payment_failed", "checkout.session.expired",
+                 "payment_intent.canceled" -> Outcome.FAILED;
+            default -> null;
+        };
+    }
+
+    private enum Outcome {
+        PAID,
+        FAILED,
+        ATTEMPT_FAILED
+    }
+
+    private static Set<String> objectIds(Collection<StripeWebhookEvent> events, String typePrefix) {
+        return events.stream()
+                .filter(event -> event.getEventType().startsWith(typePrefix) && event.getObjectId() != null)
+                .map(StripeWebhookEvent::getObjectId)
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<String, Payment> index(List<Payment> payments, Function<Payment, String> key) {
+        return payments.stream().collect(Collectors.toMap(key, Function.identity(), (first, second) -> first));
+    }
+
+    private StripeWebhookEvent toWebhookEvent(Event event, String payload) {
+        JsonNode object;
+        try {
+            object = objectMapper.readTree(payload).path("data").path("object");
+        } catch (JsonProcessingException e) {
+            // Déjà validé par la vérification de signature
+            throw new IllegalStateException("Unreadable Stripe payload", e);
+        }
+        String failureMessage = object.path("last_payment_error").path("message").asText(null);
+        if (failureMessage != null && failureMessage.length() > 255) {
+            failureMessage = failureMessage.substring(0, 255);
+        }
+        return new StripeWebhookEvent(
+                event.getId(),
+                event.getType(),
+                object.path("id").asText(null),
+                object.path("payment_status").asText(null),
+                failureMessage);
+    }
+}
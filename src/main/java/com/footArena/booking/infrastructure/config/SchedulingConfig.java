@@ -0,0 +1,12 @@
+package com.footArena.booking.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches @Scheduled (nettoyages périodiques des services)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
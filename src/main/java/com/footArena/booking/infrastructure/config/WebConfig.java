@@ -1,15 +1,29 @@
 package com.footArena.booking.infrastructure.config;
 
+import com.footArena.booking.security.web.CurrentUserArgumentResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.Nullable;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public WebConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
     @Override
     public void addCorsMappings(@Nullable CorsRegistry registry) {
         if (registry != null) {
@@ -39,4 +53,25 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addRedirectViewController("/swagger-ui", "/swagger-ui/index.html");
         registry.addRedirectViewController("/swagger-ui/", "/swagger-ui/index.html");
     }
-}
\ No newline at end of file
+
+    /**
+     * Open-in-view sauf pour les appels Stripe : l'EntityManager de la requête garderait sa connexion
+     * pendant l'appel réseau (spring.jpa.open-in-view est désactivé au profit de cet intercepteur)
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        if (emf != null) {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(emf);
+            registry.addWebRequestInterceptor(interceptor)
+                    .excludePathPatterns("/payments/stripe/**");
+        }
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // Paramètres @CurrentUser des contrôleurs
+        resolvers.add(new CurrentUserArgumentResolver());
+    }
+}
@@ -0,0 +1,368 @@
+package com.footArena.booking.infrastructure.index;
+
+import com.footArena.booking.domain.enums.SlotStatus;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.infrastructure.index.DayAvailability.QuantumState;
+import com.footArena.booking.infrastructure.index.DayAvailability.SlotQuanta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Index en mémoire de la disponibilité des terrains : une DayAvailability par terrain et par jour.
+ * Chargé au démarrage, puis rafraîchi depuis la base après la validation de chaque transaction
+ * qui modifie un créneau (création, modification, statut, réservation, libération, suppression).
+ * Les rafraîchissements sont regroupés et exécutés sur un thread dédié, pour ne pas demander une seconde
+ * connexion au thread qui valide encore la sienne. Les états sont ordonnés par la date de mise à jour
+ * du créneau, un rafraîchissement plus ancien est ignoré. Les lectures ne touchent jamais la base.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final SlotRepository slotRepository;
+    private final TransactionTemplate readTransaction;
+    private final Map<UUID, IndexedSlot> slots = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableMap<LocalDate, DayAvailability>> fields = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "availability-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AvailabilityIndex(SlotRepository slotRepository, PlatformTransactionManager transactionManager) {
+        this.slotRepository = slotRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Charge les créneaux à venir
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> rows = readTransaction.execute(status ->
+                slotRepository.findUpcomingAvailabilityStates(LocalDate.now().atStartOfDay()));
+        if (rows == null) {
+            return;
+        }
+        rows.forEach(row -> apply((UUID) row[0], toIndexedSlot(row)));
+        logger.info("Availability index loaded with {} slots across {} fields", rows.size(), fields.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Rafraîchit un créneau une fois la transaction courante validée
+     */
+    public void refreshAfterCommit(UUID slotId) {
+        refreshAfterCommit(List.of(slotId));
+    }
+
+    /**
+     * Rafraîchit des créneaux une fois la transaction courante validée (immédiatement hors transaction)
+     */
+    public void refreshAfterCommit(Collection<UUID> slotIds) {
+        if (slotIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(slotIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(ids);
+                }
+            });
+        } else {
+            enqueue(ids);
+        }
+    }
+
+    /**
+     * Plages réservables d'un terrain entre deux instants, d'au moins la durée demandée
+     */
+    public List<AvailabilityWindow> findWindows(UUID fieldId, LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        NavigableMap<LocalDate, DayAvailability> days = fields.get(fieldId);
+        if (days == null || !from.isBefore(to)) {
+            return List.of();
+        }
+        return scan(fieldId, days, from, to, minDuration);
+    }
+
+    /**
+     * Plages réservables de tous les terrains entre deux instants, d'au moins la durée demandée
+     */
+    public List<AvailabilityWindow> findWindows(LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        if (!from.isBefore(to)) {
+            return List.of();
+        }
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        fields.forEach((fieldId, days) -> windows.addAll(scan(fieldId, days, from, to, minDuration)));
+        windows.sort(Comparator.comparing(AvailabilityWindow::getStartTime));
+        return windows;
+    }
+
+    /**
+     * Oublie les journées passées
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfToday = today.atStartOfDay();
+
+        slots.values().removeIf(slot -> !slot.end.isAfter(startOfToday));
+        fields.values().forEach(days -> days.headMap(today, false).clear());
+        fields.values().removeIf(NavigableMap::isEmpty);
+    }
+
+    private void enqueue(Collection<UUID> ids) {
+        pendingRefresh.addAll(ids);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::drainPendingRefresh);
+        }
+    }
+
+    private void drainPendingRefresh() {
+        // Remis à false avant la lecture : un ajout concurrent relancera un nouveau passage
+        refreshScheduled.set(false);
+        List<UUID> ids = new ArrayList<>(pendingRefresh);
+        pendingRefresh.removeAll(ids);
+        if (!ids.isEmpty()) {
+            refresh(ids);
+        }
+    }
+
+    private void refresh(List<UUID> ids) {
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+            try {
+                List<Object[]> rows = readTransaction.execute(status -> slotRepository.findAvailabilityStatesByIds(batch));
+                Set<UUID> found = new HashSet<>();
+                if (rows != null) {
+                    for (Object[] row : rows) {
+                        UUID slotId = (UUID) row[0];
+                        apply(slotId, toIndexedSlot(row));
+                        found.add(slotId);
+                    }
+                }
+                // Créneaux supprimés : marqueur daté pour écarter un rafraîchissement antérieur arrivé en retard
+                LocalDateTime now = LocalDateTime.now();
+                batch.stream()
+                        .filter(slotId -> !found.contains(slotId))
+                        .forEach(slotId -> apply(slotId, IndexedSlot.removed(slotId, slots.get(slotId), now)));
+            } catch (Exception e) {
+                logger.error("Failed to refresh availability for {} slot(s)", batch.size(), e);
+            }
+        }
+    }
+
+    private void apply(UUID slotId, IndexedSlot next) {
+        slots.compute(slotId, (id, previous) -> {
+            if (previous != null && previous.updatedAt.isAfter(next.updatedAt)) {
+                return previous;
+            }
+            if (previous != null) {
+                unplace(id, previous);
+            }
+            place(id, next);
+            return next;
+        });
+    }
+
+    private void place(UUID slotId, IndexedSlot slot) {
+        if (slot.fieldId == null) {
+            return;
+        }
+        NavigableMap<LocalDate, DayAvailability> days =
+                fields.computeIfAbsent(slot.fieldId, id -> new ConcurrentSkipListMap<>());
+        for (LocalDate day : slot.days()) {
+            SlotQuanta quanta = slot.quantaOn(day);
+            days.compute(day, (date, availability) ->
+                    (availability != null ? availability : DayAvailability.EMPTY).with(slotId, quanta));
+        }
+    }
+
+    private void unplace(UUID slotId, IndexedSlot slot) {
+        NavigableMap<LocalDate, DayAvailability> days = slot.fieldId != null ? fields.get(slot.fieldId) : null;
+        if (days == null) {
+            return;
+        }
+        for (LocalDate day : slot.days()) {
+            days.computeIfPresent(day, (date, availability) -> {
+                DayAvailability updated = availability.without(slotId);
+                return updated.isEmpty() ? null : updated;
+            });
+        }
+    }
+
+    private List<AvailabilityWindow> scan(UUID fieldId, NavigableMap<LocalDate, DayAvailability> days,
+                                          LocalDateTime from, LocalDateTime to, Duration minDuration) {
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.minusNanos(1).toLocalDate();
+
+        // Une plage par créneau, prolongée d'une journée à l'autre pour un créneau à cheval sur minuit
+        Map<UUID, Segment> segments = new LinkedHashMap<>();
+        for (Map.Entry<LocalDate, DayAvailability> entry : days.subMap(firstDay, true, lastDay, true).entrySet()) {
+            LocalDate day = entry.getKey();
+            DayAvailability availability = entry.getValue();
+            LocalDateTime dayStart = day.atStartOfDay();
+            int fromQuantum = day.equals(firstDay) ? ceilQuantum(dayStart, from) : 0;
+            int toQuantum = day.equals(lastDay) ? floorQuantum(dayStart, to) : DayAvailability.QUANTA_PER_DAY;
+
+            int quantum = fromQuantum < toQuantum ? availability.nextBookable(fromQuantum) : -1;
+            while (quantum >= 0 && quantum < toQuantum) {
+                SlotQuanta slot = availability.slotAt(quantum);
+                int end = Math.min(slot.to(), toQuantum);
+                LocalDateTime segmentStart = dayStart.plusMinutes((long) quantum * DayAvailability.QUANTUM_MINUTES);
+                LocalDateTime segmentEnd = dayStart.plusMinutes((long) end * DayAvailability.QUANTUM_MINUTES);
+
+                Segment segment = segments.get(slot.slotId());
+                if (segment != null && segment.end.equals(segmentStart)) {
+                    segment.end = segmentEnd;
+                } else {
+                    segments.put(slot.slotId(), new Segment(slot, segmentStart, segmentEnd));
+                }
+                quantum = end < toQuantum ? availability.nextBookable(end) : -1;
+            }
+        }
+
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (Duration.between(segment.start, segment.end).compareTo(minDuration) >= 0) {
+                windows.add(new AvailabilityWindow(fieldId, segment.slot.slotId(), segment.start, segment.end,
+                        segment.slot.availableSpots(), segment.slot.state() == QuantumState.BOOKED));
+            }
+        }
+        return windows;
+    }
+
+    private static int ceilQuantum(LocalDateTime dayStart, LocalDateTime time) {
+        Duration offset = Duration.between(dayStart, time);
+        long seconds = Math.max(0, offset.getSeconds() + (offset.getNano() > 0 ? 1 : 0));
+        return (int) Math.min(DayAvailability.QUANTA_PER_DAY,
+                (seconds + DayAvailability.QUANTUM_SECONDS - 1) / DayAvailability.QUANTUM_SECONDS);
+    }
+
+    private static int floorQuantum(LocalDateTime dayStart, LocalDateTime time) {
+        long seconds = Math.max(0, Duration.between(dayStart, time).getSeconds());
+        return (int) Math.min(DayAvailability.QUANTA_PER_DAY, seconds / DayAvailability.QUANTUM_SECONDS);
+    }
+
+    private static IndexedSlot toIndexedSlot(Object[] row) {
+        SlotStatus status = (SlotStatus) row[4];
+        int currentBookings = row[5] != null ? (Integer) row[5] : 0;
+        int maxCapacity = row[6] != null ? (Integer) row[6] : 0;
+        LocalDateTime updatedAt = row[7] != null ? (LocalDateTime) row[7] : LocalDateTime.MIN;
+        return new IndexedSlot((UUID) row[0], (UUID) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3],
+                stateOf(status, currentBookings, maxCapacity), Math.max(0, maxCapacity - currentBookings), updatedAt);
+    }
+
+    private static QuantumState stateOf(SlotStatus status, int currentBookings, int maxCapacity) {
+        if ((status != SlotStatus.AVAILABLE && status != SlotStatus.RESERVED) || currentBookings >= maxCapacity) {
+            return QuantumState.UNAVAILABLE;
+        }
+        return currentBookings > 0 ? QuantumState.BOOKED : QuantumState.FREE;
+    }
+
+    /**
+     * Portion réservable d'un créneau dans la période recherchée
+     */
+    private static final class Segment {
+        private final SlotQuanta slot;
+        private final LocalDateTime start;
+        private LocalDateTime end;
+
+        private Segment(SlotQuanta slot, LocalDateTime start, LocalDateTime end) {
+            this.slot = slot;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Dernier état connu d'un créneau
+     */
+    private static final class IndexedSlot {
+        private final UUID id;
+        private final UUID fieldId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final QuantumState state;
+        private final int availableSpots;
+        private final LocalDateTime updatedAt;
+
+        private IndexedSlot(UUID id, UUID fieldId, LocalDateTime start, LocalDateTime end,
+                            QuantumState state, int availableSpots, LocalDateTime updatedAt) {
+            this.id = id;
+            this.fieldId = fieldId;
+            this.start = start;
+            this.end = end;
+            this.state = state;
+            this.availableSpots = availableSpots;
+            this.updatedAt = updatedAt;
+        }
+
+        private static IndexedSlot removed(UUID id, IndexedSlot previous, LocalDateTime now) {
+            LocalDateTime end = previous != null ? previous.end : now;
+            return new IndexedSlot(id, null, end, end, QuantumState.UNAVAILABLE, 0, now);
+        }
+
+        private List<LocalDate> days() {
+            List<LocalDate> days = new ArrayList<>();
+            if (!start.isBefore(end)) {
+                return days;
+            }
+            LocalDate last = end.minusNanos(1).toLocalDate();
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(last); day = day.plusDays(1)) {
+                days.add(day);
+            }
+            return days;
+        }
+
+        private SlotQuanta quantaOn(LocalDate day) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+            LocalDateTime dayEnd = dayStart.plusDays(1);
+            LocalDateTime to = end.isBefore(dayEnd) ? end : dayEnd;
+            int toQuantum = to.equals(dayEnd) ? DayAvailability.QUANTA_PER_DAY : floorQuantum(dayStart, to);
+            return new SlotQuanta(id, ceilQuantum(dayStart, from), toQuantum, state, availableSpots);
+        }
+    }
+}
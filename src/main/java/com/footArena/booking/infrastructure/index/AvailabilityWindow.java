@@ -0,0 +1,56 @@
+package com.footArena.booking.infrastructure.index;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Plage réservable d'un créneau, limitée à la période recherchée
+ */
+public class AvailabilityWindow {
+
+    private final UUID fieldId;
+    private final UUID slotId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final int availableSpots;
+    private final boolean partiallyBooked;
+
+    public AvailabilityWindow(UUID fieldId, UUID slotId, LocalDateTime startTime, LocalDateTime endTime,
+                              int availableSpots, boolean partiallyBooked) {
+        this.fieldId = fieldId;
+        this.slotId = slotId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.availableSpots = availableSpots;
+        this.partiallyBooked = partiallyBooked;
+    }
+
+    public UUID getFieldId() {
+        return fieldId;
+    }
+
+    public UUID getSlotId() {
+        return slotId;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public int getAvailableSpots() {
+        return availableSpots;
+    }
+
+    public boolean isPartiallyBooked() {
+        return partiallyBooked;
+    }
+
+    public long getDurationInMinutes() {
+        return Duration.between(startTime, endTime).toMinutes();
+    }
+}
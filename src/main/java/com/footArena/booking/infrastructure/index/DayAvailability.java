@@ -0,0 +1,112 @@
+package com.footArena.booking.infrastructure.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Disponibilité d'un terrain sur une journée, en quanta de 15 minutes (96 bits).
+ * Un quantum est réservable lorsqu'il est entièrement couvert par un créneau disponible ayant encore des places ;
+ * chaque quantum réservable renvoie vers son créneau, afin que les plages restent propres à un créneau
+ * (deux créneaux adjacents ne forment pas une seule plage : une réservation porte sur un créneau).
+ * Immuable : chaque modification produit une nouvelle instance, ce qui permet des lectures sans verrou.
+ */
+final class DayAvailability {
+
+    static final int QUANTUM_MINUTES = 15;
+    static final int QUANTUM_SECONDS = QUANTUM_MINUTES * 60;
+    static final int QUANTA_PER_DAY = 24 * 60 / QUANTUM_MINUTES;
+
+    static final DayAvailability EMPTY = new DayAvailability(Map.of());
+
+    private final Map<UUID, SlotQuanta> slots;
+    private final BitSet bookable = new BitSet(QUANTA_PER_DAY);
+    private final SlotQuanta[] owners = new SlotQuanta[QUANTA_PER_DAY];
+
+    private DayAvailability(Map<UUID, SlotQuanta> slots) {
+        this.slots = slots;
+        for (SlotQuanta quanta : slots.values()) {
+            if (quanta.from >= quanta.to || quanta.state == QuantumState.UNAVAILABLE) {
+                continue;
+            }
+            bookable.set(quanta.from, quanta.to);
+            Arrays.fill(owners, quanta.from, quanta.to, quanta);
+        }
+    }
+
+    DayAvailability with(UUID slotId, SlotQuanta quanta) {
+        Map<UUID, SlotQuanta> updated = new HashMap<>(slots);
+        updated.put(slotId, quanta);
+        return new DayAvailability(updated);
+    }
+
+    DayAvailability without(UUID slotId) {
+        if (!slots.containsKey(slotId)) {
+            return this;
+        }
+        Map<UUID, SlotQuanta> updated = new HashMap<>(slots);
+        updated.remove(slotId);
+        return new DayAvailability(updated);
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    /**
+     * Premier quantum réservable à partir de l'index donné, -1 s'il n'y en a pas
+     */
+    int nextBookable(int fromQuantum) {
+        return bookable.nextSetBit(fromQuantum);
+    }
+
+    /**
+     * Créneau couvrant un quantum réservable, null si le quantum ne l'est pas
+     */
+    SlotQuanta slotAt(int quantum) {
+        return owners[quantum];
+    }
+
+    enum QuantumState {
+        FREE,
+        BOOKED,
+        UNAVAILABLE
+    }
+
+    /**
+     * Quanta entièrement couverts [from, to) par un créneau sur la journée, avec ses places restantes
+     */
+    static final class SlotQuanta {
+        private final UUID slotId;
+        private final int from;
+        private final int to;
+        private final QuantumState state;
+        private final int availableSpots;
+
+        SlotQuanta(UUID slotId, int from, int to, QuantumState state, int availableSpots) {
+            this.slotId = slotId;
+            this.from = from;
+            this.to = to;
+            this.state = state;
+            this.availableSpots = availableSpots;
+        }
+
+        UUID slotId() {
+            return slotId;
+        }
+
+        int to() {
+            return to;
+        }
+
+        QuantumState state() {
+            return state;
+        }
+
+        int availableSpots() {
+            return availableSpots;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.footArena.booking.infrastructure.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Arbre d'intervalles semi-ouverts [start, end) identifiés par un UUID.
+ * AVL ordonné par (start, id) et augmenté de la fin maximale de chaque sous-arbre :
+ * insertion, suppression et test de chevauchement en O(log n).
+ * Non thread-safe : la synchronisation est à la charge de l'appelant.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    /**
+     * Ajoute un intervalle (sans effet si le même couple (start, id) est déjà présent)
+     */
+    public void insert(long start, long end, UUID id) {
+        root = insert(root, start, end, id);
+    }
+
+    /**
+     * Retire un intervalle
+     */
+    public boolean remove(long start, UUID id) {
+        int before = size;
+        root = remove(root, start, id);
+        return size < before;
+    }
+
+    /**
+     * Indique si [start, end) chevauche un intervalle autre que celui exclu
+     */
+    public boolean overlaps(long start, long end, UUID excludedId) {
+        return anyOverlap(root, start, end, excludedId);
+    }
+
+    /**
+     * Liste les identifiants des intervalles chevauchant [start, end)
+     */
+    public List<UUID> findOverlapping(long start, long end) {
+        List<UUID> result = new ArrayList<>();
+        collectOverlaps(root, start, end, result);
+        return result;
+    }
+
+    /**
+     * Convertit une date locale en borne d'intervalle (secondes, sans fuseau)
+     */
+    public static long key(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Recherche
+
+    private boolean anyOverlap(Node node, long start, long end, UUID excludedId) {
+        if (node == null || node.maxEnd <= start) {
+            return false;
+        }
+        if (anyOverlap(node.left, start, end, excludedId)) {
+            return true;
+        }
+        if (node.start < end && start < node.end && !node.id.equals(excludedId)) {
+            return true;
+        }
+        // Tout le sous-arbre droit commence après node.start
+        return node.start < end && anyOverlap(node.right, start, end, excludedId);
+    }
+
+    private void collectOverlaps(Node node, long start, long end, List<UUID> result) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlaps(node.left, start, end, result);
+        if (node.start < end && start < node.end) {
+            result.add(node.id);
+        }
+        if (node.start < end) {
+            collectOverlaps(node.right, start, end, result);
+        }
+    }
+
+    // Mise à jour AVL
+
+    private Node insert(Node node, long start, long end, UUID id) {
+        if (node == null) {
+            size++;
+            return new Node(start, end, id);
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, start, end, id);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, start, end, id);
+        } else {
+            return node;
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, long start, UUID id) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, id);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = removeMin(node.right);
+            successor.right = node.right;
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private int compare(long start, UUID id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final UUID id;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, UUID id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.maxEnd = end;
+        }
+    }
+}
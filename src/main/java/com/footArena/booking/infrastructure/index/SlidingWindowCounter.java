@@ -0,0 +1,82 @@
+package com.footArena.booking.infrastructure.index;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteurs d'événements sur une fenêtre glissante, sans verrou.
+ * La fenêtre est découpée en tranches de durée fixe ; chaque case d'un compteur contient dans un même long
+ * le numéro de la tranche qu'elle couvre et son total, ce qui permet de recycler une case périmée
+ * et de l'incrémenter en un seul compareAndSet. Un comptage coûte un nombre fixe de lectures, quel que
+ * soit le volume d'événements. La précision est celle d'une tranche.
+ */
+public class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long MIN_SLICE_MILLIS = 1000;
+
+    private final AtomicLongArray slots;
+    private final int counters;
+    private final int slices;
+    private final long sliceMillis;
+
+    public SlidingWindowCounter(int counters, Duration window, int slices) {
+        this.counters = counters;
+        this.slices = slices;
+        // Le numéro de tranche doit tenir sur 40 bits
+        this.sliceMillis = Math.max(MIN_SLICE_MILLIS, window.toMillis() / slices);
+        this.slots = new AtomicLongArray(counters * slices);
+    }
+
+    /**
+     * Ajoute un événement au compteur et retourne son total sur la fenêtre
+     */
+    public long increment(int counter, long nowMillis) {
+        long slice = nowMillis / sliceMillis;
+        int index = counter * slices + (int) (slice % slices);
+        long current;
+        long updated;
+        do {
+            current = slots.get(index);
+            if (current >>> COUNT_BITS != slice) {
+                updated = slice << COUNT_BITS | 1;
+            } else if ((current & COUNT_MASK) < COUNT_MASK) {
+                updated = current + 1;
+            } else {
+                break;
+            }
+        } while (!slots.compareAndSet(index, current, updated));
+        return count(counter, nowMillis);
+    }
+
+    /**
+     * Total des événements du compteur dont la tranche appartient encore à la fenêtre
+     */
+    public long count(int counter, long nowMillis) {
+        long oldestSlice = nowMillis / sliceMillis - slices + 1;
+        long total = 0;
+        int base = counter * slices;
+        for (int i = 0; i < slices; i++) {
+            long slot = slots.get(base + i);
+            if (slot >>> COUNT_BITS >= oldestSlice) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Remet un compteur à zéro
+     */
+    public void reset(int counter) {
+        int base = counter * slices;
+        for (int i = 0; i < slices; i++) {
+            slots.set(base + i, 0);
+        }
+    }
+
+    public int getCounters() {
+        return counters;
+    }
+}
@@ -0,0 +1,48 @@
+package com.footArena.booking.infrastructure.index;
+
+import java.time.Duration;
+
+/**
+ * Count-Min Sketch sur fenêtre glissante : estime le nombre d'occurrences récentes d'une clé
+ * (adresse IP par exemple) en mémoire constante, quel que soit le nombre de clés distinctes.
+ * L'estimation ne sous-évalue jamais ; elle peut surévaluer d'environ fenêtre totale / largeur.
+ */
+public class SlidingWindowSketch {
+
+    private final SlidingWindowCounter counters;
+    private final int depth;
+    private final int width;
+
+    public SlidingWindowSketch(int depth, int width, Duration window, int slices) {
+        this.depth = depth;
+        this.width = width;
+        this.counters = new SlidingWindowCounter(depth * width, window, slices);
+    }
+
+    /**
+     * Compte une occurrence de la clé et retourne son estimation sur la fenêtre
+     */
+    public long add(CharSequence key, long nowMillis) {
+        long h1 = Hashing.hash(key);
+        long h2 = Hashing.mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.increment(cell(row, h1, h2), nowMillis));
+        }
+        return estimate;
+    }
+
+    public long estimate(CharSequence key, long nowMillis) {
+        long h1 = Hashing.hash(key);
+        long h2 = Hashing.mix(h1) | 1;
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.count(cell(row, h1, h2), nowMillis));
+        }
+        return estimate;
+    }
+
+    private int cell(int row, long h1, long h2) {
+        return row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+    }
+}
@@ -0,0 +1,187 @@
+package com.footArena.booking.infrastructure.index;
+
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index en mémoire des créneaux à venir, un arbre d'intervalles par terrain.
+ * Chargé paresseusement à la première demande pour un terrain, puis maintenu à jour par SlotService :
+ * les ajouts sont visibles immédiatement (ce qui sérialise les créations concurrentes sur un même terrain)
+ * et annulés si la transaction appelante échoue.
+ */
+@Component
+public class SlotConflictIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotConflictIndex.class);
+
+    private final SlotRepository slotRepository;
+    private final Map<UUID, FieldIntervals> fields = new ConcurrentHashMap<>();
+
+    public SlotConflictIndex(SlotRepository slotRepository) {
+        this.slotRepository = slotRepository;
+    }
+
+    /**
+     * Indique si [start, end) chevauche un créneau existant du terrain
+     */
+    public boolean hasConflict(UUID fieldId, LocalDateTime start, LocalDateTime end, UUID excludeSlotId) {
+        FieldIntervals intervals = forField(fieldId);
+        intervals.lock.lock();
+        try {
+            return intervals.tree.overlaps(toKey(start), toKey(end), excludeSlotId);
+        } finally {
+            intervals.lock.unlock();
+        }
+    }
+
+    /**
+     * Enregistre un créneau nouvellement sauvegardé si aucun chevauchement n'existe (vérification et ajout atomiques)
+     */
+    public boolean register(Slot slot) {
+        UUID fieldId = slot.getField().getId();
+        FieldIntervals intervals = forField(fieldId);
+        long start = toKey(slot.getStartTime());
+        long end = toKey(slot.getEndTime());
+
+        intervals.lock.lock();
+        try {
+            if (intervals.tree.overlaps(start, end, slot.getId())) {
+                return false;
+            }
+            intervals.tree.insert(start, end, slot.getId());
+        } finally {
+            intervals.lock.unlock();
+        }
+
+        onRollback(() -> remove(fieldId, start, slot.getId()));
+        return true;
+    }
+
+    /**
+     * Déplace un créneau existant vers [newStart, newEnd) si aucun chevauchement n'existe
+     */
+    public boolean reschedule(Slot slot, LocalDateTime newStart, LocalDateTime newEnd) {
+        UUID fieldId = slot.getField().getId();
+        FieldIntervals intervals = forField(fieldId);
+        long oldStart = toKey(slot.getStartTime());
+        long oldEnd = toKey(slot.getEndTime());
+        long start = toKey(newStart);
+        long end = toKey(newEnd);
+
+        intervals.lock.lock();
+        try {
+            if (intervals.tree.overlaps(start, end, slot.getId())) {
+                return false;
+            }
+            intervals.tree.remove(oldStart, slot.getId());
+            intervals.tree.insert(start, end, slot.getId());
+        } finally {
+            intervals.lock.unlock();
+        }
+
+        onRollback(() -> {
+            remove(fieldId, start, slot.getId());
+            insert(fieldId, oldStart, oldEnd, slot.getId());
+        });
+        return true;
+    }
+
+    /**
+     * Retire un créneau supprimé, une fois la suppression validée
+     */
+    public void unregister(Slot slot) {
+        UUID fieldId = slot.getField().getId();
+        long start = toKey(slot.getStartTime());
+        UUID slotId = slot.getId();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(fieldId, start, slotId);
+                }
+            });
+        } else {
+            remove(fieldId, start, slotId);
+        }
+    }
+
+    private FieldIntervals forField(UUID fieldId) {
+        FieldIntervals intervals = fields.get(fieldId);
+        if (intervals != null) {
+            return intervals;
+        }
+
+        // Chargement hors de la map pour ne pas bloquer les autres terrains pendant la requête
+        FieldIntervals loaded = new FieldIntervals();
+        List<Object[]> rows = slotRepository.findUpcomingIntervalsByFieldId(fieldId, LocalDateTime.now());
+        for (Object[] row : rows) {
+            loaded.tree.insert(toKey((LocalDateTime) row[1]), toKey((LocalDateTime) row[2]), (UUID) row[0]);
+        }
+        logger.debug("Loaded {} slot intervals for field: {}", rows.size(), fieldId);
+
+        FieldIntervals existing = fields.putIfAbsent(fieldId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void insert(UUID fieldId, long start, long end, UUID slotId) {
+        FieldIntervals intervals = fields.get(fieldId);
+        if (intervals == null) {
+            return;
+        }
+        intervals.lock.lock();
+        try {
+            intervals.tree.insert(start, end, slotId);
+        } finally {
+            intervals.lock.unlock();
+        }
+    }
+
+    private void remove(UUID fieldId, long start, UUID slotId) {
+        FieldIntervals intervals = fields.get(fieldId);
+        if (intervals == null) {
+            return;
+        }
+        intervals.lock.lock();
+        try {
+            intervals.tree.remove(start, slotId);
+        } finally {
+            intervals.lock.unlock();
+        }
+    }
+
+    private void onRollback(Runnable compensation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    compensation.run();
+                }
+            }
+        });
+    }
+
+    private static long toKey(LocalDateTime dateTime) {
+        return IntervalTree.key(dateTime);
+    }
+
+    private static final class FieldIntervals {
+        private final IntervalTree tree = new IntervalTree();
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+}
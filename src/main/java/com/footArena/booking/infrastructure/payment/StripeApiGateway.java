@@ -0,0 +1,93 @@
+package com.footArena.booking.infrastructure.payment;
+
+import com.stripe.Stripe;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+public class StripeApiGateway implements StripeGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(StripeApiGateway.class);
+
+    @Value("${stripe.secret-key:}")
+    private String stripeSecretKey;
+
+    @PostConstruct
+    public void init() {
+        if (stripeSecretKey != null && !stripeSecretKey.isEmpty()) {
+            Stripe.apiKey = stripeSecretKey;
+            logger.info("Stripe initialized successfully");
+        } else {
+            logger.warn("Stripe secret key not configured - online payments will not be available");
+        }
+    }
+
+    @Override
+    public Checkout createCheckoutSession(long amountCents, String productDescription, String successUrl,
+                                          String cancelUrl, Map<String, String> metadata,
+                                          String idempotencyKey) throws StripeException {
+        SessionCreateParams params = SessionCreateParams.builder()
+                .setMode(SessionCreateParams.Mode.PAYMENT)
+                .setSuccessUrl(successUrl)
+                .setCancelUrl(cancelUrl)
+                .addLineItem(
+                        SessionCreateParams.LineItem.builder()
+                                .setQuantity(1L)
+                                .setPriceData(
+                                        SessionCreateParams.LineItem.PriceData.builder()
+                                                .setCurrency("eur")
+                                                .setUnitAmount(amountCents) // Stripe utilise les centimes
+                                                .setProductData(
+                                                        SessionCreateParams.LineItem.PriceData.ProductData.builder()
+                                                                .setName("Réservation terrain de foot")
+                                                                .setDescription(productDescription)
+                                                                .build()
+                                                )
+                                                .build()
+                                )
+                                .build()
+                )
+                .putAllMetadata(metadata)
+                .build();
+
+        Session session = Session.create(params, requestOptions(idempotencyKey));
+        return new Checkout(session.getId(), session.getUrl());
+    }
+
+    @Override
+    public Intent createPaymentIntent(long amountCents, String description, Map<String, String> metadata,
+                                      String idempotencyKey) throws StripeException {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(amountCents)
+                .setCurrency("eur")
+                .setDescription(description)
+                .putAllMetadata(metadata)
+                .build();
+
+        PaymentIntent paymentIntent = PaymentIntent.create(params, requestOptions(idempotencyKey));
+        return new Intent(paymentIntent.getId(), paymentIntent.getClientSecret());
+    }
+
+    @Override
+    public boolean isCheckoutSessionPaid(String sessionId) throws StripeException {
+        Session session = Session.retrieve(sessionId);
+        return "complete".equals(session.getStatus()) && "paid".equals(session.getPaymentStatus());
+    }
+
+    private static RequestOptions requestOptions(String idempotencyKey) {
+        return RequestOptions.builder()
+                .setIdempotencyKey(idempotencyKey)
+                .build();
+    }
+}
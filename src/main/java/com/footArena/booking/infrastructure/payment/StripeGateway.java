@@ -0,0 +1,30 @@
+package com.footArena.booking.infrastructure.payment;
+
+import com.stripe.exception.StripeException;
+
+import java.util.Map;
+
+/**
+ * Appels réseau vers Stripe. Ils ne doivent jamais être faits dans une transaction :
+ * une réponse lente immobiliserait une connexion du pool pendant toute sa durée.
+ * La clé d'idempotence rend un nouvel essai sans effet de bord côté Stripe.
+ */
+public interface StripeGateway {
+
+    Checkout createCheckoutSession(long amountCents, String productDescription, String successUrl, String cancelUrl,
+                                   Map<String, String> metadata, String idempotencyKey) throws StripeException;
+
+    Intent createPaymentIntent(long amountCents, String description, Map<String, String> metadata,
+                               String idempotencyKey) throws StripeException;
+
+    /**
+     * Vrai si la session Checkout est terminée et payée
+     */
+    boolean isCheckoutSessionPaid(String sessionId) throws StripeException;
+
+    record Checkout(String sessionId, String url) {
+    }
+
+    record Intent(String id, String clientSecret) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.footArena.booking.infrastructure.pdf;
+
+import com.footArena.booking.domain.entities.Invoice;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Rendu PDF des factures, écrit directement dans le flux de sortie.
+ * Une facture payée ou annulée ne change plus : son PDF est conservé sur disque, sous un nom dérivé
+ * du numéro de facture et du statut, puis recopié tel quel aux demandes suivantes.
+ */
+@Component
+public class InvoicePdfRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfRenderer.class);
+
+    private final InvoicePdfTemplate template;
+    private final Path cacheDirectory;
+
+    private final Timer renderTimer;
+    private final Counter cacheHits;
+
+    public InvoicePdfRenderer(@Value("${invoices.pdf.cache-dir}") Path cacheDirectory,
+                              MeterRegistry meterRegistry) {
+        this.template = InvoicePdfTemplate.compile();
+        this.cacheDirectory = cacheDirectory;
+
+        try {
+            Files.createDirectories(cacheDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create invoice PDF cache directory " + cacheDirectory, e);
+        }
+
+        this.renderTimer = Timer.builder("invoice.pdf.render")
+                .description("Durée du rendu d'une facture PDF")
+                .register(meterRegistry);
+        this.cacheHits = Counter.builder("invoice.pdf.cache.hits")
+                .description("Factures PDF servies depuis le cache disque")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Écrit le PDF de la facture dans le flux, sans le fermer
+     */
+    public void write(Invoice invoice, OutputStream output) throws IOException {
+        if (!invoice.isPaid() && !invoice.isCancelled()) {
+            render(invoice, output);
+            return;
+        }
+
+        Path cached = cacheDirectory.resolve(cacheFileName(invoice));
+        if (Files.exists(cached)) {
+            cacheHits.increment();
+        } else {
+            store(invoice, cached);
+        }
+        Files.copy(cached, output);
+    }
+
+    // Écrit dans un fichier temporaire puis le renomme : un rendu concurrent ou interrompu ne laisse pas de fichier tronqué
+    private void store(Invoice invoice, Path cached) throws IOException {
+        Path temporary = Files.createTempFile(cacheDirectory, "invoice-", ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(temporary)) {
+                render(invoice, file);
+            }
+            Files.move(temporary, cached, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.debug("Invoice PDF cached: {}", cached.getFileName());
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void render(Invoice invoice, OutputStream output) throws IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            template.render(invoice, output);
+        } finally {
+            sample.stop(renderTimer);
+        }
+    }
+
+    private static String cacheFileName(Invoice invoice) {
+        return invoice.getInvoiceNumber().replaceAll("[^A-Za-z0-9_-]", "_") + "." + invoice.getStatus() + ".pdf";
+    }
+}
@@ -0,0 +1,233 @@
+package com.footArena.booking.infrastructure.pdf;
+
+import com.footArena.booking.domain.entities.Invoice;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts.FontName;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mise en page d'une facture, compilée une seule fois en une liste d'éléments positionnés
+ * (libellés fixes, champs extraits de la facture, filets). Le rendu d'une facture ne fait plus
+ * qu'exécuter ces éléments sur une page A4 et écrire le document dans le flux de sortie.
+ * Les polices standard (Helvetica) n'ont pas besoin d'être embarquées.
+ */
+final class InvoicePdfTemplate {
+
+    private static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    private static final float MARGIN = 50;
+    private static final float RIGHT = PAGE_WIDTH - MARGIN;
+    private static final float SECOND_COLUMN = 320;
+    private static final float LINE_HEIGHT = 14;
+    private static final int MAX_DESCRIPTION_LINES = 12;
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final List<Element> elements;
+
+    private InvoicePdfTemplate(List<Element> elements) {
+        this.elements = List.copyOf(elements);
+    }
+
+    /**
+     * Construit la mise en page des factures
+     */
+    static InvoicePdfTemplate compile() {
+        List<Element> elements = new ArrayList<>();
+
+        // En-tête
+        elements.add(text(FontName.HELVETICA_BOLD, 20, MARGIN, 780, invoice -> "FACTURE"));
+        elements.add(text(FontName.HELVETICA_BOLD, 12, MARGIN, 755, invoice -> "N° " + invoice.getInvoiceNumber()));
+        elements.add(text(FontName.HELVETICA, 10, MARGIN, 740, invoice -> "Émise le " + date(invoice.getIssuedAt())));
+        elements.add(text(FontName.HELVETICA, 10, MARGIN, 726, invoice -> "Échéance : " + date(invoice.getDueDate())));
+
+        // Émetteur et client
+        elements.add(text(FontName.HELVETICA_BOLD, 11, MARGIN, 690, invoice -> "Émetteur"));
+        elements.add(text(FontName.HELVETICA, 10, MARGIN, 674, Invoice::getEstablishmentName));
+        elements.add(text(FontName.HELVETICA, 10, MARGIN, 660, Invoice::getEstablishmentAddress));
+        elements.add(text(FontName.HELVETICA, 10, MARGIN, 646,
+                invoice -> invoice.getEstablishmentSiret() != null ? "SIRET : " + invoice.getEstablishmentSiret() : null));
+        elements.add(text(FontName.HELVETICA_BOLD, 11, SECOND_COLUMN, 690, invoice -> "Client"));
+        elements.add(text(FontName.HELVETICA, 10, SECOND_COLUMN, 674, Invoice::getCustomerName));
+        elements.add(text(FontName.HELVETICA, 10, SECOND_COLUMN, 660, Invoice::getCustomerEmail));
+        elements.add(text(FontName.HELVETICA, 10, SECOND_COLUMN, 646, Invoice::getCustomerAddress));
+
+        // Désignation
+        elements.add(rule(610));
+        elements.add(text(FontName.HELVETICA_BOLD, 11, MARGIN, 590, invoice -> "Désignation"));
+        elements.add(lines(FontName.HELVETICA, 10, MARGIN, 572, Invoice::getDescription));
+
+        // Montants
+        elements.add(rule(400));
+        elements.add(text(FontName.HELVETICA, 10, SECOND_COLUMN, 380, invoice -> "Montant HT"));
+        elements.add(rightAligned(FontName.HELVETICA, 10, 380, invoice -> amount(invoice.getAmountHT())));
+        elements.add(text(FontName.HELVETICA, 10, SECOND_COLUMN, 364,
+                invoice -> "TVA (" + rate(invoice.getTaxRate()) + " %)"));
+        elements.add(rightAligned(FontName.HELVETICA, 10, 364, invoice -> amount(invoice.getTaxAmount())));
+        elements.add(text(FontName.HELVETICA_BOLD, 11, SECOND_COLUMN, 344, invoice -> "Montant TTC"));
+        elements.add(rightAligned(FontName.HELVETICA_BOLD, 11, 344, invoice -> amount(invoice.getAmountTTC())));
+
+        // Statut et pied de page
+        elements.add(text(FontName.HELVETICA_BOLD, 12, MARGIN, 300, InvoicePdfTemplate::status));
+        elements.add(text(FontName.HELVETICA_OBLIQUE, 8, MARGIN, 60,
+                invoice -> "FootArena - facture générée automatiquement"));
+
+        return new InvoicePdfTemplate(elements);
+    }
+
+    /**
+     * Écrit le PDF de la facture dans le flux, sans le fermer
+     */
+    void render(Invoice invoice, OutputStream output) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+
+            // Polices propres au document : les objets PDFBox ne sont pas partagés entre rendus concurrents
+            Fonts fonts = new Fonts();
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                for (Element element : elements) {
+                    element.draw(content, fonts, invoice);
+                }
+            }
+
+            // PDDocument.save ferme le flux reçu : la facture peut être une entrée d'archive ZIP
+            document.save(new NonClosingOutputStream(output));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Element {
+        void draw(PDPageContentStream content, Fonts fonts, Invoice invoice) throws IOException;
+    }
+
+    private static Element text(FontName fontName, float size, float x, float y, Function<Invoice, String> value) {
+        return (content, fonts, invoice) -> {
+            String text = value.apply(invoice);
+            if (text != null) {
+                show(content, fonts.get(fontName), size, x, y, text);
+            }
+        };
+    }
+
+    private static Element rightAligned(FontName fontName, float size, float y, Function<Invoice, String> value) {
+        return (content, fonts, invoice) -> {
+            PDFont font = fonts.get(fontName);
+            String text = printable(font, value.apply(invoice));
+            float width = font.getStringWidth(text) / 1000 * size;
+            show(content, font, size, RIGHT - width, y, text);
+        };
+    }
+
+    private static Element lines(FontName fontName, float size, float x, float y, Function<Invoice, String> value) {
+        return (content, fonts, invoice) -> {
+            String text = value.apply(invoice);
+            if (text == null) {
+                return;
+            }
+            String[] lines = text.split("\\R");
+            for (int i = 0; i < Math.min(lines.length, MAX_DESCRIPTION_LINES); i++) {
+                show(content, fonts.get(fontName), size, x, y - i * LINE_HEIGHT, lines[i]);
+            }
+        };
+    }
+
+    private static Element rule(float y) {
+        return (content, fonts, invoice) -> {
+            content.moveTo(MARGIN, y);
+            content.lineTo(RIGHT, y);
+            content.stroke();
+        };
+    }
+
+    private static void show(PDPageContentStream content, PDFont font, float size, float x, float y, String text)
+            throws IOException {
+        content.beginText();
+        content.setFont(font, size);
+        content.newLineAtOffset(x, y);
+        content.showText(printable(font, text));
+        content.endText();
+    }
+
+    // Les polices standard ne couvrent que WinAnsi : un caractère hors jeu est remplacé plutôt que de faire échouer le rendu
+    private static String printable(PDFont font, String text) throws IOException {
+        try {
+            font.encode(text);
+            return text;
+        } catch (IllegalArgumentException e) {
+            StringBuilder printable = new StringBuilder(text.length());
+            text.codePoints().forEach(codePoint -> {
+                String character = new String(Character.toChars(codePoint));
+                try {
+                    font.encode(character);
+                    printable.append(character);
+                } catch (IllegalArgumentException | IOException unsupported) {
+                    printable.append('?');
+                }
+            });
+            return printable.toString();
+        }
+    }
+
+    private static String status(Invoice invoice) {
+        if (invoice.isCancelled()) {
+            return "FACTURE ANNULÉE";
+        }
+        if (invoice.isPaid()) {
+            return "Payée le " + date(invoice.getPaidAt());
+        }
+        return "À régler avant le " + date(invoice.getDueDate());
+    }
+
+    private static String date(LocalDateTime dateTime) {
+        return dateTime != null ? DATE.format(dateTime) : "-";
+    }
+
+    private static String amount(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',') + " €";
+    }
+
+    private static String rate(BigDecimal rate) {
+        return rate.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',');
+    }
+
+    private static final class Fonts {
+        private final Map<FontName, PDFont> fonts = new EnumMap<>(FontName.class);
+
+        PDFont get(FontName name) {
+            return fonts.computeIfAbsent(name, PDType1Font::new);
+        }
+    }
+
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
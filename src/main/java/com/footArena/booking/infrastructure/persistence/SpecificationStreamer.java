@@ -0,0 +1,66 @@
+package com.footArena.booking.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Parcours en flux des entités répondant à une Specification : une seule requête lue au fil de l'eau
+ * par un curseur (lignes en lecture seule), sans pagination. Le contexte de persistance est vidé
+ * régulièrement : les lignes déjà traitées et les entités chargées avec elles sont détachées,
+ * la mémoire utilisée ne dépend pas du nombre de résultats.
+ * À appeler dans une transaction, qui reste ouverte pendant tout le parcours.
+ */
+@Component
+public class SpecificationStreamer {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public SpecificationStreamer(EntityManager entityManager,
+                                 @Value("${exports.stream.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Applique l'action à chaque entité, dans l'ordre demandé, et retourne le nombre d'entités parcourues
+     */
+    public <T> long forEach(Class<T> type, Specification<T> spec, Sort sort, Consumer<? super T> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<T> root = query.from(type);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        long count = 0;
+        try (Stream<T> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            for (T row : (Iterable<T>) rows::iterator) {
+                action.accept(row);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.footArena.booking.infrastructure.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562) : horodatage Unix en millisecondes sur les 48 premiers bits, suivi d'un compteur
+ * de 12 bits puis de 62 bits aléatoires. Stockés en BINARY(16), les identifiants successifs se rangent
+ * en fin d'index primaire au lieu de se disperser dans tout l'arbre comme des UUID v4.
+ * Dans une même JVM, les valeurs sont strictement croissantes, y compris au-delà de 4096 par milliseconde
+ * (le compteur déborde alors sur la milliseconde suivante).
+ */
+public final class TimeOrderedUuids {
+
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    // Milliseconde et compteur du dernier identifiant émis : (millis << 12) | compteur
+    private static final AtomicLong lastTick = new AtomicLong();
+
+    private TimeOrderedUuids() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long tick = lastTick.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSignificantBits = (tick >>> 12) << 16 | VERSION_7 | (tick & 0xFFF);
+        long leastSignificantBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT_RFC_4122;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,64 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import com.footArena.booking.domain.services.BookingService;
+import com.footArena.booking.domain.services.PaymentService;
+import com.footArena.booking.security.services.UserSessionService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Relie l'ExpirationScheduler aux services : déclare les gestionnaires d'expiration
+ * et recharge au démarrage les échéances encore ouvertes en base.
+ */
+@Component
+public class ExpirationRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirationRecovery.class);
+
+    private final ExpirationScheduler expirationScheduler;
+    private final BookingService bookingService;
+    private final PaymentService paymentService;
+    private final UserSessionService userSessionService;
+
+    public ExpirationRecovery(ExpirationScheduler expirationScheduler,
+                              BookingService bookingService,
+                              PaymentService paymentService,
+                              UserSessionService userSessionService) {
+        this.expirationScheduler = expirationScheduler;
+        this.bookingService = bookingService;
+        this.paymentService = paymentService;
+        this.userSessionService = userSessionService;
+    }
+
+    @PostConstruct
+    public void registerHandlers() {
+        expirationScheduler.registerHandler(ExpirationType.BOOKING_CONFIRMATION, bookingService::expireBookings);
+        expirationScheduler.registerHandler(ExpirationType.PAYMENT, paymentService::expirePayments);
+        expirationScheduler.registerHandler(ExpirationType.USER_SESSION, userSessionService::expireSessions);
+    }
+
+    /**
+     * Reconstruit la roue à partir des réservations, paiements et sessions encore en attente
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int bookings = reschedule(ExpirationType.BOOKING_CONFIRMATION, bookingService.getPendingConfirmationDeadlines());
+        int payments = reschedule(ExpirationType.PAYMENT, paymentService.getPendingPaymentDeadlines());
+        int sessions = reschedule(ExpirationType.USER_SESSION, userSessionService.getActiveSessionExpirations());
+
+        logger.info("Expiration wheel rebuilt: {} bookings, {} payments, {} sessions", bookings, payments, sessions);
+    }
+
+    private int reschedule(ExpirationType type, Map<UUID, LocalDateTime> deadlines) {
+        deadlines.forEach((id, deadline) -> expirationScheduler.schedule(type, id, deadline));
+        return deadlines.size();
+    }
+}
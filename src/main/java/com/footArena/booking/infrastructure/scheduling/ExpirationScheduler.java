@@ -0,0 +1,194 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Planificateur d'expirations en mémoire, basé sur une roue temporelle hiérarchique (tick d'une seconde).
+ * Les services enregistrent l'échéance d'une entité à sa création ; à l'échéance, les identifiants sont
+ * transmis par lots au gestionnaire du type concerné, qui revérifie l'état en base avant d'agir.
+ * La roue n'est pas persistée : elle est reconstruite au démarrage (voir ExpirationRecovery)
+ * et les tâches planifiées des services restent en filet de sécurité.
+ */
+@Component
+public class ExpirationScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpirationScheduler.class);
+    private static final long TICK_MILLIS = 1000;
+    private static final int BATCH_SIZE = 200;
+
+    private final Map<ExpirationType, Consumer<List<UUID>>> handlers = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final HierarchicalTimingWheel<Expiration> wheel =
+            new HierarchicalTimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+    private final Map<Expiration, HierarchicalTimingWheel.Timeout<Expiration>> timeouts = new HashMap<>();
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "expiration-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Déclare le gestionnaire appelé avec les identifiants arrivés à échéance pour un type donné
+     */
+    public void registerHandler(ExpirationType type, Consumer<List<UUID>> handler) {
+        handlers.put(type, handler);
+    }
+
+    /**
+     * Programme l'expiration d'une entité, en remplaçant l'échéance déjà programmée pour elle
+     */
+    public void schedule(ExpirationType type, UUID id, LocalDateTime deadline) {
+        if (id == null || deadline == null) {
+            return;
+        }
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Expiration expiration = new Expiration(type, id);
+
+        lock.lock();
+        try {
+            HierarchicalTimingWheel.Timeout<Expiration> previous =
+                    timeouts.put(expiration, wheel.schedule(expiration, deadlineMillis));
+            if (previous != null) {
+                wheel.cancel(previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retire l'échéance d'une entité qui n'a plus à expirer (réservation confirmée, paiement réglé...)
+     */
+    public void cancel(ExpirationType type, UUID id) {
+        lock.lock();
+        try {
+            HierarchicalTimingWheel.Timeout<Expiration> timeout = timeouts.remove(new Expiration(type, id));
+            if (timeout != null) {
+                wheel.cancel(timeout);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Programme l'expiration une fois la transaction courante validée (immédiatement hors transaction) :
+     * une création annulée ne laisse pas d'échéance dans la roue
+     */
+    public void scheduleAfterCommit(ExpirationType type, UUID id, LocalDateTime deadline) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(type, id, deadline);
+                }
+            });
+        } else {
+            schedule(type, id, deadline);
+        }
+    }
+
+    /**
+     * Retire l'échéance une fois la transaction courante validée (immédiatement hors transaction)
+     */
+    public void cancelAfterCommit(ExpirationType type, UUID id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cancel(type, id);
+                }
+            });
+        } else {
+            cancel(type, id);
+        }
+    }
+
+    /**
+     * Nombre d'échéances en attente
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void tick() {
+        List<Expiration> expired;
+        lock.lock();
+        try {
+            expired = wheel.advance(System.currentTimeMillis());
+            expired.forEach(timeouts::remove);
+        } finally {
+            lock.unlock();
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<ExpirationType, List<UUID>> byType = new EnumMap<>(ExpirationType.class);
+        for (Expiration expiration : expired) {
+            byType.computeIfAbsent(expiration.type(), type -> new ArrayList<>()).add(expiration.id());
+        }
+        byType.forEach(this::dispatch);
+    }
+
+    private void dispatch(ExpirationType type, List<UUID> ids) {
+        Consumer<List<UUID>> handler = handlers.get(type);
+        if (handler == null) {
+            logger.warn("No expiration handler registered for {}, {} item(s) dropped", type, ids.size());
+            return;
+        }
+
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            try {
+                handler.accept(batch);
+            } catch (Exception e) {
+                // Le balayage périodique du service reprendra ces éléments
+                logger.error("Failed to process {} {} expiration(s)", batch.size(), type, e);
+            }
+        }
+    }
+
+    private record Expiration(ExpirationType type, UUID id) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+/**
+ * Types d'échéances gérées par l'ExpirationScheduler
+ */
+public enum ExpirationType {
+    /**
+     * Délai de confirmation d'une réservation en attente
+     */
+    BOOKING_CONFIRMATION,
+
+    /**
+     * Délai de traitement d'un paiement en attente
+     */
+    PAYMENT,
+
+    /**
+     * Fin de validité d'une session utilisateur
+     */
+    USER_SESSION
+}
@@ -0,0 +1,152 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Roue temporelle hiérarchique (4 niveaux de 64 cases).
+ * Le niveau 0 couvre 64 ticks, le niveau 1 64² ticks, etc. ; avec un tick d'une seconde la roue couvre ~194 jours,
+ * les échéances plus lointaines étant gardées en débordement et réinjectées à chaque tour du dernier niveau.
+ * Ajout et annulation en O(1), avance en O(1) amorti par tick (les cases d'un niveau supérieur sont
+ * redescendues lorsque le niveau inférieur a fait un tour complet). Une entrée annulée reste dans sa case
+ * et est écartée lorsqu'elle est redescendue ou arrive à échéance.
+ * Non thread-safe : la synchronisation est à la charge de l'appelant.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> buckets;
+    private final List<Timeout<T>> overflow = new ArrayList<>();
+    private final List<Timeout<T>> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        this.buckets = new ArrayList<>(LEVELS * WHEEL_SIZE);
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Programme un élément ; une échéance déjà passée sera rendue au prochain appel de advance
+     */
+    public Timeout<T> schedule(T item, long deadlineMillis) {
+        long tick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(item, tick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Annule une échéance ; sans effet si elle a déjà été rendue ou annulée
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.done) {
+            return false;
+        }
+        timeout.done = true;
+        size--;
+        return true;
+    }
+
+    /**
+     * Fait avancer la roue jusqu'à l'instant donné et retourne les éléments arrivés à échéance
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        drain(due, expired);
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+
+            // Redescendre les niveaux supérieurs dont c'est le tour, du plus haut au plus bas
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                    if (level == LEVELS - 1 && (currentTick & ((1L << (WHEEL_BITS * LEVELS)) - 1)) == 0) {
+                        cascade(overflow);
+                    }
+                    cascade(bucket(level, (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK)));
+                }
+            }
+
+            drain(bucket(0, (int) (currentTick & WHEEL_MASK)), expired);
+            drain(due, expired);
+        }
+
+        size -= expired.size();
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void place(Timeout<T> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            due.add(entry);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (WHEEL_BITS * (level + 1)))) {
+                bucket(level, (int) ((entry.tick >>> (WHEEL_BITS * level)) & WHEEL_MASK)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void cascade(List<Timeout<T>> source) {
+        if (source.isEmpty()) {
+            return;
+        }
+        List<Timeout<T>> entries = new ArrayList<>(source);
+        source.clear();
+        for (Timeout<T> entry : entries) {
+            if (!entry.done) {
+                place(entry);
+            }
+        }
+    }
+
+    private void drain(List<Timeout<T>> source, List<T> target) {
+        for (Timeout<T> entry : source) {
+            if (!entry.done) {
+                entry.done = true;
+                target.add(entry.item);
+            }
+        }
+        source.clear();
+    }
+
+    private List<Timeout<T>> bucket(int level, int index) {
+        return buckets.get(level * WHEEL_SIZE + index);
+    }
+
+    /**
+     * Échéance programmée, à conserver pour pouvoir l'annuler
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long tick;
+        private boolean done;
+
+        private Timeout(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.footArena.booking.infrastructure.sequence;
+
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.ReferenceSequenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attribution des références métier à partir des compteurs de la table reference_sequences.
+ * Réservations et transactions : chaque instance réserve un bloc de valeurs en une seule mise à jour
+ * (hi/lo) puis les distribue en mémoire ; un bloc non consommé à l'arrêt laisse un trou, jamais un doublon.
+ * Factures : la numérotation doit être continue, le numéro est donc réservé un par un dans la transaction
+ * qui crée la facture et disparaît avec elle en cas d'annulation. Le compteur d'une année part du dernier
+ * numéro déjà attribué, y compris par l'ancien format horodaté (INV-aaaa-nnnnnn lui aussi).
+ */
+@Component
+public class ReferenceAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceAllocator.class);
+    static final String BOOKING_SEQUENCE = "booking";
+    static final String PAYMENT_SEQUENCE = "payment";
+
+    private final ReferenceSequenceRepository sequenceRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate blockTransaction;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Set<Integer> initializedInvoiceYears = ConcurrentHashMap.newKeySet();
+
+    public ReferenceAllocator(ReferenceSequenceRepository sequenceRepository,
+                              InvoiceRepository invoiceRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${references.block-size:100}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.blockSize = blockSize;
+        // Transaction propre au bloc : le verrou sur le compteur est relâché aussitôt, quelle que soit l'appelante
+        this.blockTransaction = new TransactionTemplate(transactionManager);
+        this.blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Référence de réservation (BK suivi de 10 chiffres)
+     */
+    public String nextBookingReference() {
+        return String.format("BK%010d", next(BOOKING_SEQUENCE));
+    }
+
+    /**
+     * Référence de transaction d'un paiement (TXN suivi de 12 chiffres)
+     */
+    public String nextTransactionReference() {
+        return String.format("TXN%012d", next(PAYMENT_SEQUENCE));
+    }
+
+    /**
+     * Numéro de facture continu pour l'année (INV-aaaa-nnnnnn), à appeler dans la transaction qui enregistre la facture
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String nextInvoiceNumber(int year) {
+        String sequence = "invoice-" + year;
+        if (!initializedInvoiceYears.contains(year)) {
+            initializeInvoiceSequence(sequence, year);
+        }
+        return String.format("INV-%d-%06d", year, reserve(sequence, 1));
+    }
+
+    long next(String sequence) {
+        return blocks.computeIfAbsent(sequence, Block::new).next();
+    }
+
+    // Transaction propre : le compteur initialisé ne doit pas disparaître avec une facture annulée
+    private void initializeInvoiceSequence(String sequence, int year) {
+        blockTransaction.executeWithoutResult(status -> {
+            String lastNumber = invoiceRepository.findMaxInvoiceNumber(String.format("INV-%d-", year));
+            long last = lastNumber == null ? 0 : Long.parseLong(lastNumber.substring(lastNumber.lastIndexOf('-') + 1));
+            sequenceRepository.initialize(sequence, last);
+        });
+        initializedInvoiceYears.add(year);
+    }
+
+    // Retourne la dernière des `count` valeurs réservées
+    private long reserve(String sequence, long count) {
+        sequenceRepository.reserve(sequence, count);
+        return sequenceRepository.findReservedUntil(sequence);
+    }
+
+    private final class Block {
+        private final String sequence;
+        // Verrou plutôt que synchronized : le renouvellement du bloc interroge la base
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long last = 0;
+
+        Block(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            lock.lock();
+            try {
+                if (next > last) {
+                    long reservedUntil = blockTransaction.execute(status -> reserve(sequence, blockSize));
+                    next = reservedUntil - blockSize + 1;
+                    last = reservedUntil;
+                    logger.debug("Reserved {} block [{}, {}]", sequence, next, last);
+                }
+                return next++;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.footArena.booking.security;
 
+import com.footArena.booking.security.services.ActivityBuffer;
+import com.footArena.booking.security.services.BoundedPasswordEncoder;
+import com.footArena.booking.security.services.JwtService;
+import com.footArena.booking.security.web.JwtAuthenticationFilter;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -15,14 +22,17 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
 
 @Configuration
 @EnableMethodSecurity
@@ -31,9 +41,21 @@ public class SecurityConfiguration {
     @Value("${jwt.secret}")
     public String jwtSecret;
 
+    /**
+     * BCrypt exécuté sur un pool borné ; un hash de coût inférieur à la configuration
+     * est recalculé à la connexion suivante (voir CustomUserDetailsService.updatePassword)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.strength:10}") int strength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:5s}") Duration timeout) {
+        // Par défaut la moitié des cœurs : le reste demeure disponible pour les réservations
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeout,
+                meterRegistry);
     }
 
     @Bean
@@ -43,10 +65,14 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtService jwtService,
+                                           ActivityBuffer activityBuffer) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Fin d'une réponse en flux : la requête d'origine a déjà été autorisée
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // ========== SWAGGER/DOCUMENTATION ==========
                         .requestMatchers(
                                 "/swagger-ui/**",
@@ -66,11 +92,18 @@ public class SecurityConfiguration {
                         .requestMatchers(HttpMethod.POST, "/account/activate").permitAll()
                         .requestMatchers(HttpMethod.POST, "/account/resend-verification").permitAll()
 
+                        // ========== WEBHOOKS (authentifiés par signature) ==========
+                        .requestMatchers(HttpMethod.POST, "/payments/stripe/webhook").permitAll()
+
                         // ========== API LECTURE PUBLIQUE ==========
                         .requestMatchers(HttpMethod.GET, "/establishments/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/fields/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/test/**").permitAll()
 
+                        // ========== MONITORING ==========
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // ========== ENDPOINTS PROTÉGÉS ==========
                         .requestMatchers("/auth/me", "/auth/logout**", "/account/profile").authenticated()
 
@@ -80,6 +113,11 @@ public class SecurityConfiguration {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                // Access token vérifié une seule fois par requête, sans accès à la base
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, activityBuffer), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
                 .build();
     }
 
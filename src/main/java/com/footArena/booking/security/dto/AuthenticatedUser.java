@@ -0,0 +1,61 @@
+package com.footArena.booking.security.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal de la requête courante, construit à partir des claims de l'access token (sans accès à la base)
+ */
+public final class AuthenticatedUser {
+
+    private final UUID userId;
+    private final String email;
+    private final String role;
+
+    public AuthenticatedUser(UUID userId, String email, String role) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static AuthenticatedUser from(VerifiedToken token) {
+        return new AuthenticatedUser(token.getUserId(), token.getEmail(), token.getRole());
+    }
+
+    public boolean hasRole(String expectedRole) {
+        return expectedRole.equals(role);
+    }
+
+    /**
+     * Les admins et managers ont accès aux ressources des autres utilisateurs
+     */
+    public boolean isStaff() {
+        return hasRole("ADMIN") || hasRole("MANAGER");
+    }
+
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    // Getters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
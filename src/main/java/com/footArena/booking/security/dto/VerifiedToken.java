@@ -0,0 +1,92 @@
+package com.footArena.booking.security.dto;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Claims d'un JWT dont la signature a été vérifiée, extraits en une seule lecture du token.
+ * Immuable : peut être partagé entre requêtes via le cache de JwtService.
+ */
+public final class VerifiedToken {
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private final UUID userId;
+    private final String email;
+    private final String role;
+    private final String firstName;
+    private final String lastName;
+    private final String tokenType;
+    private final boolean emailVerified;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    private VerifiedToken(Claims claims) {
+        String userIdClaim = claims.get("userId", String.class);
+        this.userId = userIdClaim != null ? UUID.fromString(userIdClaim) : null;
+        this.email = claims.getSubject();
+        this.role = claims.get("role", String.class);
+        this.firstName = claims.get("firstName", String.class);
+        this.lastName = claims.get("lastName", String.class);
+        this.tokenType = claims.get("tokenType", String.class);
+        this.emailVerified = Boolean.TRUE.equals(claims.get("emailVerified", Boolean.class));
+        this.issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        this.expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+    }
+
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(claims);
+    }
+
+    public boolean isAccessToken() {
+        return ACCESS.equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(tokenType);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    // Getters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public boolean isEmailVerified() {
+        return emailVerified;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
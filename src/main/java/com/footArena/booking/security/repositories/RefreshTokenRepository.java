@@ -27,7 +27,7 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID
     void revokeAllTokensByUser(@Param("userId") UUID userId);
 
     @Modifying
-    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.expiresAt < :now OR rt.isRevoked = false")
+    @Query("UPDATE RefreshToken rt SET rt.isRevoked = true WHERE rt.expiresAt < :now AND rt.isRevoked = false")
     void cleanupExpiredTokens(@Param("now") LocalDateTime now);
 
     @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId AND rt.isRevoked = false")
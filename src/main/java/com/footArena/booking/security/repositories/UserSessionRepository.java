@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,14 +28,19 @@ public interface UserSessionRepository extends JpaRepository<UserSession, UUID>
     void deactivateAllSessionsByUser(@Param("userId") UUID userId);
 
     @Modifying
-    @Query("UPDATE UserSession us SET us.isActive = false WHERE us.expiresAt < :now")
+    @Query("UPDATE UserSession us SET us.isActive = false WHERE us.isActive = true AND us.expiresAt < :now")
     void cleanupExpiredSessions(@Param("now") LocalDateTime now);
 
+    @Modifying
+    @Query("UPDATE UserSession us SET us.isActive = false WHERE us.id IN :ids AND us.isActive = true AND us.expiresAt < :now")
+    int deactivateExpiredSessions(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Sessions actives (id, expiresAt)
+    @Query("SELECT us.id, us.expiresAt FROM UserSession us WHERE us.isActive = true")
+    List<Object[]> findActiveSessionExpirations();
+
     @Query("SELECT COUNT(us) FROM UserSession us WHERE us.user.id = :userId AND us.isActive = true")
     long countActiveSessionsByUser(@Param("userId") UUID userId);
 
-    @Query("SELECT us FROM UserSession us WHERE us.ipAddress = :ipAddress AND us.createdAt > :since")
-    List<UserSession> findRecentSessionsByIp(@Param("ipAddress") String ipAddress, @Param("since") LocalDateTime since);
-
     boolean existsBySessionTokenAndIsActiveTrue(String sessionToken);
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.domain.entities.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Tampon d'écriture différée pour l'activité des sessions et la dernière connexion des utilisateurs.
+ * Les requêtes enregistrent un horodatage en mémoire (le plus récent l'emporte par session / utilisateur) ;
+ * le tampon est vidé par lots d'UPDATE JDBC à intervalle fixe et à l'arrêt de l'application.
+ * La taille est bornée : au-delà, les nouvelles entrées sont abandonnées et comptées.
+ */
+@Service
+public class ActivityBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityBuffer.class);
+
+    // Un horodatage plus ancien que celui en base ne l'écrase pas
+    private static final String SESSION_ACTIVITY_UPDATE = "UPDATE user_sessions SET last_activity = ? " +
+            "WHERE session_token = ? AND is_active = true AND (last_activity IS NULL OR last_activity < ?)";
+    private static final String LAST_LOGIN_UPDATE = "UPDATE users SET last_login_at = ? " +
+            "WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Map<String, LocalDateTime> sessionActivity = new ConcurrentHashMap<>();
+    private final Map<UUID, LocalDateTime> lastLogins = new ConcurrentHashMap<>();
+    // Verrou plutôt que synchronized : le vidage fait des entrées/sorties JDBC et ne doit pas épingler un thread virtuel
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Counter droppedSessionUpdates;
+    private final Counter droppedLoginUpdates;
+
+    public ActivityBuffer(JdbcTemplate jdbcTemplate,
+                          EntityManagerFactory entityManagerFactory,
+                          MeterRegistry meterRegistry,
+                          @Value("${activity.buffer.max-pending:50000}") int maxPending,
+                          @Value("${activity.buffer.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        this.flushTimer = Timer.builder("activity.buffer.flush")
+                .description("Durée d'un vidage du tampon d'activité")
+                .register(meterRegistry);
+        this.droppedSessionUpdates = Counter.builder("activity.buffer.dropped")
+                .description("Mises à jour abandonnées (tampon plein ou échec d'écriture)")
+                .tag("type", "session")
+                .register(meterRegistry);
+        this.droppedLoginUpdates = Counter.builder("activity.buffer.dropped")
+                .description("Mises à jour abandonnées (tampon plein ou échec d'écriture)")
+                .tag("type", "login")
+                .register(meterRegistry);
+        meterRegistry.gauge("activity.buffer.pending", this, ActivityBuffer::getPendingCount);
+    }
+
+    public void recordSessionActivity(String sessionToken) {
+        record(sessionActivity, sessionToken, LocalDateTime.now(), droppedSessionUpdates);
+    }
+
+    public void recordLogin(UUID userId, LocalDateTime loginAt) {
+        record(lastLogins, userId, loginAt, droppedLoginUpdates);
+    }
+
+    public int getPendingCount() {
+        return sessionActivity.size() + lastLogins.size();
+    }
+
+    /**
+     * Écrit les horodatages en attente par lots
+     */
+    @Scheduled(fixedDelayString = "${activity.buffer.flush-interval-ms:5000}")
+    public void flush() {
+        if (sessionActivity.isEmpty() && lastLogins.isEmpty()) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            flushTimer.record(() -> {
+                List<Map.Entry<String, LocalDateTime>> sessions = drain(sessionActivity);
+                List<Map.Entry<UUID, LocalDateTime>> logins = drain(lastLogins);
+
+                write(SESSION_ACTIVITY_UPDATE, sessions, droppedSessionUpdates, Map.Entry::getKey);
+                write(LAST_LOGIN_UPDATE, logins, droppedLoginUpdates, entry -> toBytes(entry.getKey()));
+
+                // users est en cache de second niveau : on retire les entrées modifiées hors d'Hibernate
+                logins.forEach(entry -> entityManagerFactory.getCache().evict(User.class, entry.getKey()));
+
+                logger.debug("Activity buffer flushed: {} sessions, {} logins", sessions.size(), logins.size());
+            });
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private <K> void record(Map<K, LocalDateTime> pending, K key, LocalDateTime at, Counter dropped) {
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            dropped.increment();
+            return;
+        }
+        pending.merge(key, at, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    // Retire chaque entrée au moment de la lire : un horodatage arrivé entre-temps reste pour le vidage suivant
+    private static <K> List<Map.Entry<K, LocalDateTime>> drain(Map<K, LocalDateTime> pending) {
+        List<Map.Entry<K, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (K key : pending.keySet()) {
+            LocalDateTime at = pending.remove(key);
+            if (at != null) {
+                drained.add(Map.entry(key, at));
+            }
+        }
+        return drained;
+    }
+
+    private <K> void write(String sql, List<Map.Entry<K, LocalDateTime>> entries, Counter dropped,
+                           Function<Map.Entry<K, LocalDateTime>, Object> key) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, entries, batchSize, (statement, entry) -> {
+                Timestamp at = Timestamp.valueOf(entry.getValue());
+                statement.setTimestamp(1, at);
+                statement.setObject(2, key.apply(entry));
+                statement.setTimestamp(3, at);
+            });
+        } catch (RuntimeException e) {
+            dropped.increment(entries.size());
+            logger.error("Failed to flush {} activity updates: {}", entries.size(), e.getMessage());
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -9,6 +9,7 @@ import com.footArena.booking.domain.repositories.UserRepository;
 import com.footArena.booking.security.dto.AuthRequest;
 import com.footArena.booking.security.dto.AuthResponse;
 import com.footArena.booking.security.dto.RefreshTokenRequest;
+import com.footArena.booking.security.dto.VerifiedToken;
 import com.footArena.booking.security.entities.RefreshToken;
 import com.footArena.booking.security.entities.UserSession;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,7 +33,6 @@ import java.util.UUID;
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
-    private static final int MAX_FAILED_ATTEMPTS = 5;
     private static final int LOCKOUT_DURATION_MINUTES = 30;
 
     private final AuthenticationManager authenticationManager;
@@ -42,6 +42,8 @@ public class AuthService {
     private final RefreshTokenService refreshTokenService;
     private final UserSessionService userSessionService;
     private final UserMapper userMapper;
+    private final ActivityBuffer activityBuffer;
+    private final LoginVelocityTracker loginVelocityTracker;
 
     public AuthService(AuthenticationManager authenticationManager,
                        UserRepository userRepository,
@@ -49,7 +51,9 @@ public class AuthService {
                        JwtService jwtService,
                        RefreshTokenService refreshTokenService,
                        UserSessionService userSessionService,
-                       UserMapper userMapper) {
+                       UserMapper userMapper,
+                       ActivityBuffer activityBuffer,
+                       LoginVelocityTracker loginVelocityTracker) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
@@ -57,13 +61,18 @@ public class AuthService {
         this.refreshTokenService = refreshTokenService;
         this.userSessionService = userSessionService;
         this.userMapper = userMapper;
+        this.activityBuffer = activityBuffer;
+        this.loginVelocityTracker = loginVelocityTracker;
     }
 
     /**
-     * Authentification complète avec dual tokens
+     * Authentification complète avec dual tokens.
+     * Un échec ne doit pas annuler le verrouillage du compte qu'il vient de déclencher.
      */
+    @Transactional(noRollbackFor = UnauthorizedAccessException.class)
     public AuthResponse authenticate(AuthRequest request, HttpServletRequest httpRequest) {
         logger.info("Authentication attempt for email: {}", request.getEmail());
+        loginVelocityTracker.recordAttempt(getClientIpAddress(httpRequest));
 
         try {
             // check if user exists and is enabled
@@ -93,11 +102,14 @@ public class AuthService {
 
 
             UserSession session = userSessionService.createSession(user, accessToken, httpRequest);
-            user.updateLastLogin();
-            userRepository.save(user);
+
+            // Dernière connexion écrite en différé : l'entité n'est pas modifiée, pas d'UPDATE sur users ici
+            LocalDateTime loginAt = LocalDateTime.now();
+            activityBuffer.recordLogin(user.getId(), loginAt);
 
             // response
             UserResponse userResponse = userMapper.toResponse(user);
+            userResponse.setLastLoginAt(loginAt);
             AuthResponse authResponse = new AuthResponse(
                     accessToken,
                     refreshToken,
@@ -109,7 +121,7 @@ public class AuthService {
             return authResponse;
 
         } catch (AuthenticationException e) {
-            handleFailedAuthentication(request.getEmail(), e);
+            handleFailedAuthentication(request.getEmail(), e.getMessage());
             throw new UnauthorizedAccessException("Authentication failed: " + e.getMessage());
         }
     }
@@ -121,9 +133,8 @@ public class AuthService {
         logger.info("Token refresh attempt");
 
         try {
-            // Valider le refresh token JWT
-            if (!jwtService.isRefreshToken(request.getRefreshToken()) ||
-                    jwtService.isTokenExpired(request.getRefreshToken())) {
+            // Valider le refresh token JWT (signature, expiration et type en une seule lecture)
+            if (!jwtService.isRefreshToken(request.getRefreshToken())) {
                 throw new UnauthorizedAccessException("Invalid or expired refresh token");
             }
 
@@ -195,7 +206,7 @@ public class AuthService {
                 userSessionService.deactivateSession(accessToken);
 
                 // Ajouter l'access token à la blacklist
-                // TODO: Implémenter blacklist des access tokens
+                jwtService.revoke(accessToken);
 
                 logger.info("Logout successful for user ID: {}", userId);
             }
@@ -246,6 +257,7 @@ public class AuthService {
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
         } catch (BadCredentialsException e) {
+            handleFailedAuthentication(request.getEmail(), e.getMessage());
             throw new UnauthorizedAccessException("Invalid email or password");
         } catch (DisabledException e) {
             throw new UnauthorizedAccessException("Account is disabled");
@@ -253,31 +265,31 @@ public class AuthService {
     }
 
     /**
-     * Gère les échecs d'authentification
+     * Gère les échecs d'authentification : comptés en mémoire, la base n'est écrite qu'au verrouillage
      */
-    private void handleFailedAuthentication(String email, AuthenticationException e) {
-        logger.warn("Authentication failed for email: {} - {}", email, e.getMessage());
+    private void handleFailedAuthentication(String email, String reason) {
+        logger.warn("Authentication failed for email: {} - {}", email, reason);
+
+        if (!loginVelocityTracker.recordFailure(email)) {
+            return;
+        }
 
         User user = userRepository.findByEmail(email);
         if (user != null) {
-            user.incrementFailedAttempts();
-
-            if (user.getFailedLoginAttempts() >= MAX_FAILED_ATTEMPTS) {
-                user.lockAccount(LOCKOUT_DURATION_MINUTES);
-                logger.warn("Account locked for user: {} due to {} failed attempts",
-                        email, user.getFailedLoginAttempts());
-            }
-
+            user.setFailedLoginAttempts(loginVelocityTracker.getMaxFailedAttempts());
+            user.lockAccount(LOCKOUT_DURATION_MINUTES);
             userRepository.save(user);
+            logger.warn("Account locked for user: {} due to {} failed attempts",
+                    email, user.getFailedLoginAttempts());
         }
     }
 
     /**
-     * Réinitialise les tentatives échouées après connexion réussie
+     * Réinitialise les tentatives échouées après connexion réussie ; la base n'est écrite qu'après un verrouillage
      */
     private void resetFailedAttempts(User user) {
-        if (user.getFailedLoginAttempts() > 0) {
-            user.resetFailedAttempts();
+        loginVelocityTracker.recordSuccess(user.getEmail());
+        if (user.getFailedLoginAttempts() > 0 || user.getLockedUntil() != null) {
             user.unlockAccount();
             userRepository.save(user);
         }
@@ -335,7 +347,8 @@ public class AuthService {
 
         validatePasswordStrength(newPassword);
 
-        if (passwordEncoder.matches(newPassword, user.getPassword())) {
+        // Le mot de passe actuel vient d'être vérifié : une simple comparaison évite un second BCrypt
+        if (newPassword.equals(currentPassword)) {
             throw new BusinessValidationException("New password must be different from current password");
         }
 
@@ -351,40 +364,25 @@ public class AuthService {
      * Vérifie si un token est valide
      */
     public boolean isTokenValid(String token) {
-        try {
-            if (token == null || token.isEmpty()) {
-                return false;
-            }
-
-            if (!jwtService.isTokenStructureValid(token) || jwtService.isTokenExpired(token)) {
-                return false;
-            }
-
-            if (!jwtService.isAccessToken(token)) {
-                return false;
-            }
-
-            // TODO: Vérifier si le token n'est pas blacklisté
+        return jwtService.verifyAccessToken(token).isPresent();
+    }
 
-            return true;
-        } catch (Exception e) {
-            logger.debug("Token validation failed: {}", e.getMessage());
-            return false;
-        }
+    /**
+     * Claims vérifiés d'un access token, sans accès à la base
+     */
+    public VerifiedToken getVerifiedToken(String token) {
+        return jwtService.verifyAccessToken(token)
+                .orElseThrow(() -> new UnauthorizedAccessException("Invalid token"));
     }
 
     /**
      * Récupère les informations utilisateur depuis un token
      */
     public UserResponse getUserFromToken(String token) {
-        if (!isTokenValid(token)) {
-            throw new UnauthorizedAccessException("Invalid token");
-        }
-
-        UUID userId = jwtService.extractUserId(token);
+        UUID userId = getVerifiedToken(token).getUserId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UnauthorizedAccessException("User not found"));
 
         return userMapper.toResponse(user);
     }
-}
\ No newline at end of file
+}
@@ -2,75 +2,163 @@ package com.footArena.booking.security.services;
 
 import com.footArena.booking.domain.entities.BlacklistedToken;
 import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.footArena.booking.infrastructure.index.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Registre des tokens révoqués avant leur expiration, identifiés par l'empreinte SHA-256 du token.
+ * L'ensemble est tenu en mémoire, devant lequel un filtre de Bloom répond au cas courant "non révoqué"
+ * sans consulter la table. Les empreintes sont regroupées par heure d'expiration : la purge supprime
+ * des heures entières, en mémoire comme en base. Rechargé depuis la base au démarrage.
+ */
 @Service
 public class BlackListTokenService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BlackListTokenService.class);
+    private static final long PARTITION_SECONDS = Duration.ofHours(1).getSeconds();
+
     private final BlacklistedTokenRepository blacklistedTokenRepository;
-    private final JwtDecoder jwtDecoder;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<String>> partitions = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter bloomFilter;
+    private int bloomFilterCapacity;
 
-    @Autowired
-    public BlackListTokenService(BlacklistedTokenRepository blacklistedTokenRepository, JwtDecoder jwtDecoder) {
+    public BlackListTokenService(BlacklistedTokenRepository blacklistedTokenRepository,
+                                 @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                                 @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
         this.blacklistedTokenRepository = blacklistedTokenRepository;
-        this.jwtDecoder = jwtDecoder;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilterCapacity = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
     }
 
-    public boolean isBlacklistTokenExpired(Instant expiryDate, BlacklistedToken blacklistedToken) {
-        if (Instant.now().isAfter(expiryDate)) {
-            blacklistedToken.setBlackListed(true);
+    /**
+     * Indique si le token d'empreinte donnée a été révoqué
+     */
+    public boolean isRevoked(String tokenDigest) {
+        if (!bloomFilter.mightContain(tokenDigest)) {
+            return false;
         }
-        return blacklistedToken.isBlackListed();
+        return revokedTokens.containsKey(tokenDigest);
     }
 
-    public void deleteToken(String token) {
-        BlacklistedToken blacklistedToken = blacklistedTokenRepository.findByToken(token);
-        if (blacklistedToken != null) {
-            blacklistedTokenRepository.delete(blacklistedToken);
+    /**
+     * Révoque un token jusqu'à son expiration : effet immédiat en mémoire, puis enregistrement en base
+     */
+    public void revoke(String tokenDigest, Instant expiresAt, UUID userId) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
         }
+
+        remember(tokenDigest, expiresAt);
+        blacklistedTokenRepository.save(new BlacklistedToken(tokenDigest, expiresAt, userId));
+        logger.debug("Token revoked until {} for user: {}", expiresAt, userId);
     }
 
-    @Scheduled(cron = "0 0 11 * * *")
-    public void checkBlacklistedTokens() {
-        List<BlacklistedToken> tokens = blacklistedTokenRepository.findAll();
-        Instant now = Instant.now();
-
-        for (BlacklistedToken token : tokens) {
-            try {
-                Jwt jwt = this.jwtDecoder.decode(token.getToken());
-                Map<String, Object> claims = jwt.getClaims();
-                Instant expiryDate = (Instant) claims.get("exp");
-                System.out.println(expiryDate);
-                if (!token.isBlackListed() && (now.isAfter(token.getExpiresAt()) || now.isAfter(expiryDate))) {
-                    token.setBlackListed(true);
-                    blacklistedTokenRepository.save(token);
-                }
-            } catch (org.springframework.security.oauth2.jwt.JwtValidationException e) {
-                if (e.getMessage().contains("Jwt expired")) {
-                    token.setBlackListed(true);
-                    blacklistedTokenRepository.save(token);
+    /**
+     * Recharge les révocations encore actives
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<BlacklistedToken> active = blacklistedTokenRepository.findByExpiresAtAfter(Instant.now());
+
+        writeLock.lock();
+        try {
+            revokedTokens.clear();
+            partitions.clear();
+            active.forEach(token -> remember(token.getTokenDigest(), token.getExpiresAt()));
+            rebuildBloomFilter();
+        } finally {
+            writeLock.unlock();
+        }
+
+        logger.info("Token blacklist reloaded: {} revoked tokens", active.size());
+    }
+
+    /**
+     * Supprime les partitions dont l'heure d'expiration est entièrement passée
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    @Transactional
+    public void purgeExpired() {
+        long currentPartition = partitionOf(Instant.now());
+        int purged = 0;
+
+        writeLock.lock();
+        try {
+            NavigableMap<Long, Set<String>> expired = partitions.headMap(currentPartition, false);
+            for (Set<String> digests : expired.values()) {
+                digests.forEach(revokedTokens::remove);
+                purged += digests.size();
+            }
+            expired.clear();
+            if (purged > 0) {
+                rebuildBloomFilter();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        Instant cutoff = Instant.ofEpochSecond(currentPartition * PARTITION_SECONDS);
+        int deleted = blacklistedTokenRepository.deleteExpiredBefore(cutoff);
+        if (purged > 0 || deleted > 0) {
+            logger.info("Purged {} expired revocations from memory and {} from database", purged, deleted);
+        }
+    }
+
+    public int getRevokedCount() {
+        return revokedTokens.size();
+    }
+
+    private void remember(String tokenDigest, Instant expiresAt) {
+        writeLock.lock();
+        try {
+            if (revokedTokens.put(tokenDigest, expiresAt) == null) {
+                partitions.computeIfAbsent(partitionOf(expiresAt), partition -> ConcurrentHashMap.newKeySet())
+                        .add(tokenDigest);
+                bloomFilter.put(tokenDigest);
+                if (revokedTokens.size() > bloomFilterCapacity) {
+                    rebuildBloomFilter();
                 }
             }
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    public void saveToken(String token, Instant expiryDate, UUID userId) {
-        BlacklistedToken blacklistedToken = new BlacklistedToken();
-        blacklistedToken.setToken(token);
-        blacklistedToken.setExpiresAt(expiryDate);
-        blacklistedToken.setUserId(userId);
-        blacklistedToken.setBlacklistedAt(LocalDateTime.now());
-        blacklistedToken.setBlackListed(false);
-        blacklistedTokenRepository.save(blacklistedToken);
+    // Un filtre de Bloom ne permet pas la suppression : on le reconstruit à partir de l'ensemble exact,
+    // en l'agrandissant si les révocations dépassent la capacité prévue
+    private void rebuildBloomFilter() {
+        bloomFilterCapacity = Math.max(expectedRevocations, revokedTokens.size() * 2);
+        BloomFilter rebuilt = new BloomFilter(bloomFilterCapacity, falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+    private static long partitionOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.getEpochSecond(), PARTITION_SECONDS);
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,18 @@ package com.footArena.booking.security.services;
 
 import com.footArena.booking.domain.entities.User;
 import com.footArena.booking.domain.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
     public final UserRepository userRepository;
 
@@ -30,4 +35,26 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .build();
     }
 
+    /**
+     * Appelé par Spring Security après une connexion réussie lorsque le hash stocké a un coût BCrypt
+     * inférieur à celui configuré : le mot de passe est re-haché de façon transparente.
+     * Un hash de coût supérieur est conservé tel quel.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername());
+        if (user == null) {
+            return userDetails;
+        }
+
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        logger.info("Password hash upgraded for user: {}", user.getEmail());
+
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.footArena.booking.security.services;
 
 import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.security.dto.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
@@ -11,12 +15,18 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -29,11 +39,28 @@ public class JwtService {
     private static final long REFRESH_TOKEN_VALIDITY = 7 * 24 * 60 * 60; // 7 jours en secondes
     private static final long REMEMBER_ME_VALIDITY = 30 * 24 * 60 * 60; // 30 jours en secondes
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final BlackListTokenService blackListTokenService;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    /**
+     * Claims déjà vérifiés, indexés par l'empreinte SHA-256 du token (le token lui-même n'est pas conservé).
+     * Chaque entrée expire avec son token.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+                      BlackListTokenService blackListTokenService) {
+        this.blackListTokenService = blackListTokenService;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
     }
 
     /**
@@ -59,6 +86,8 @@ public class JwtService {
         Instant expiration = now.plusSeconds(validityInSeconds);
 
         return Jwts.builder()
+                // jti : deux tokens émis dans la même seconde restent distincts (révocation par empreinte)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getEmail())
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(expiration))
@@ -68,10 +97,54 @@ public class JwtService {
                 .claim("lastName", user.getLastName())
                 .claim("tokenType", tokenType)
                 .claim("emailVerified", user.isEmailVerified())
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Vérifie le token (signature et expiration) en une seule lecture et renvoie ses claims.
+     * Le résultat est mis en cache jusqu'à l'expiration du token ; les tokens invalides ne sont pas mis en cache.
+     * Un token révoqué est refusé même s'il est déjà en cache.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        String digest = digest(token);
+        if (blackListTokenService.isRevoked(digest)) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+
+        try {
+            VerifiedToken verified = VerifiedToken.from(jwtParser.parseClaimsJws(token).getBody());
+            if (verified.getExpiresAt() == null) {
+                logger.warn("JWT token has no expiration");
+                return Optional.empty();
+            }
+            verifiedTokens.put(digest, verified);
+            return Optional.of(verified);
+        } catch (ExpiredJwtException e) {
+            logger.debug("JWT token is expired: {}", e.getMessage());
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Comme verify, en n'acceptant que les access tokens
+     */
+    public Optional<VerifiedToken> verifyAccessToken(String token) {
+        return verify(token).filter(VerifiedToken::isAccessToken);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -100,11 +173,7 @@ public class JwtService {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token is expired: {}", e.getMessage());
             throw e;
@@ -142,21 +211,11 @@ public class JwtService {
     }
 
     public boolean isAccessToken(String token) {
-        try {
-            String tokenType = extractTokenType(token);
-            return "access".equals(tokenType);
-        } catch (JwtException e) {
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isAccessToken).orElse(false);
     }
 
     public boolean isRefreshToken(String token) {
-        try {
-            String tokenType = extractTokenType(token);
-            return "refresh".equals(tokenType);
-        } catch (JwtException e) {
-            return false;
-        }
+        return verify(token).map(VerifiedToken::isRefreshToken).orElse(false);
     }
 
     /**
@@ -171,13 +230,9 @@ public class JwtService {
      * Calcule le temps restant avant expiration (en secondes)
      */
     public long getTimeToExpiration(String token) {
-        try {
-            Date expiration = extractExpiration(token);
-            long now = System.currentTimeMillis();
-            return Math.max(0, (expiration.getTime() - now) / 1000);
-        } catch (JwtException e) {
-            return 0;
-        }
+        return verify(token)
+                .map(verified -> Math.max(0, Duration.between(Instant.now(), verified.getExpiresAt()).getSeconds()))
+                .orElse(0L);
     }
 
     public LocalDateTime toLocalDateTime(Date date) {
@@ -189,10 +244,7 @@ public class JwtService {
      */
     public boolean isTokenStructureValid(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
+            jwtParser.parseClaimsJws(token);
             return true;
         } catch (ExpiredJwtException e) {
             // Token expiré mais structure valide
@@ -203,6 +255,29 @@ public class JwtService {
         }
     }
 
+    /**
+     * Révoque le token jusqu'à son expiration ; sans effet sur un token déjà invalide
+     */
+    public void revoke(String token) {
+        verify(token).ifPresent(verified -> {
+            String digest = digest(token);
+            blackListTokenService.revoke(digest, verified.getExpiresAt(), verified.getUserId());
+            verifiedTokens.invalidate(digest);
+        });
+    }
+
+    /**
+     * Empreinte SHA-256 d'un token, utilisée comme identifiant (cache, révocation)
+     */
+    public String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     /**
      * Génère un hash sécurisé d'un token pour stockage
      */
@@ -215,4 +290,25 @@ public class JwtService {
             throw new RuntimeException("Token hashing failed");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Une entrée du cache vit jusqu'à l'expiration du token ; une lecture ne la prolonge pas
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), token.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
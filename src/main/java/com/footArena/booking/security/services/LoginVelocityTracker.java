@@ -0,0 +1,119 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.infrastructure.index.SlidingWindowCounter;
+import com.footArena.booking.infrastructure.index.SlidingWindowSketch;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fréquence des tentatives de connexion, tenue en mémoire sur fenêtres glissantes.
+ * Par compte : échecs consécutifs exacts, qui déclenchent le verrouillage. Par IP : tentatives estimées
+ * par un Count-Min Sketch, en mémoire constante ; les IP qui dépassent le seuil sont retenues
+ * comme "heavy hitters" le temps de la fenêtre. Aucune lecture ni écriture en base.
+ */
+@Service
+public class LoginVelocityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginVelocityTracker.class);
+    private static final int SLICES = 30;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final int maxFailedAttempts;
+    private final int ipThreshold;
+    private final Duration accountWindow;
+
+    private final Cache<String, SlidingWindowCounter> failedAttempts;
+    private final SlidingWindowSketch ipAttempts;
+    private final Cache<String, Long> flaggedIps;
+
+    public LoginVelocityTracker(MeterRegistry meterRegistry,
+                                @Value("${security.login-velocity.account-window:30m}") Duration accountWindow,
+                                @Value("${security.login-velocity.max-failed-attempts:5}") int maxFailedAttempts,
+                                @Value("${security.login-velocity.ip-window:24h}") Duration ipWindow,
+                                @Value("${security.login-velocity.ip-threshold:10}") int ipThreshold,
+                                @Value("${security.login-velocity.tracked-accounts:100000}") long trackedAccounts) {
+        this.accountWindow = accountWindow;
+        this.maxFailedAttempts = maxFailedAttempts;
+        this.ipThreshold = ipThreshold;
+
+        // Un compte sans échec pendant toute la fenêtre n'a plus rien à compter
+        this.failedAttempts = Caffeine.newBuilder()
+                .maximumSize(trackedAccounts)
+                .expireAfterAccess(accountWindow)
+                .build();
+        this.ipAttempts = new SlidingWindowSketch(SKETCH_DEPTH, SKETCH_WIDTH, ipWindow, SLICES);
+        this.flaggedIps = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(ipWindow)
+                .build();
+
+        meterRegistry.gauge("login.velocity.flagged.ips", flaggedIps, cache -> cache.estimatedSize());
+        meterRegistry.gauge("login.velocity.tracked.accounts", failedAttempts, cache -> cache.estimatedSize());
+    }
+
+    /**
+     * Compte une tentative de connexion depuis l'IP ; retourne vrai si l'IP dépasse le seuil sur la fenêtre
+     */
+    public boolean recordAttempt(String ipAddress) {
+        long attempts = ipAttempts.add(ipAddress, System.currentTimeMillis());
+        if (attempts > ipThreshold) {
+            if (flaggedIps.asMap().put(ipAddress, attempts) == null) {
+                logger.warn("Login velocity threshold exceeded from IP: {} ({} attempts)", ipAddress, attempts);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isSuspiciousIp(String ipAddress) {
+        return ipAttempts.estimate(ipAddress, System.currentTimeMillis()) > ipThreshold;
+    }
+
+    /**
+     * Compte un échec pour le compte ; retourne vrai quand le seuil est atteint et que le compte doit être verrouillé.
+     * Le compteur repart alors de zéro.
+     */
+    public boolean recordFailure(String email) {
+        String key = normalize(email);
+        SlidingWindowCounter counter = failedAttempts.get(key, k -> new SlidingWindowCounter(1, accountWindow, SLICES));
+        if (counter.increment(0, System.currentTimeMillis()) >= maxFailedAttempts) {
+            failedAttempts.invalidate(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Connexion réussie : les échecs précédents ne comptent plus
+     */
+    public void recordSuccess(String email) {
+        failedAttempts.invalidate(normalize(email));
+    }
+
+    public long getFailedAttempts(String email) {
+        SlidingWindowCounter counter = failedAttempts.getIfPresent(normalize(email));
+        return counter == null ? 0 : counter.count(0, System.currentTimeMillis());
+    }
+
+    public int getMaxFailedAttempts() {
+        return maxFailedAttempts;
+    }
+
+    public Set<String> getFlaggedIps() {
+        return flaggedIps.asMap().keySet();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
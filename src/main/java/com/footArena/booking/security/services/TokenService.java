@@ -1,59 +1,41 @@
 package com.footArena.booking.security.services;
 
-import com.footArena.booking.domain.entities.BlacklistedToken;
 import com.footArena.booking.domain.entities.User;
-import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
 import com.footArena.booking.domain.repositories.UserRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-import java.util.Map;
 import java.util.UUID;
 import java.time.Instant;
 import java.util.stream.Collectors;
 
 
 import static java.util.Objects.nonNull;
-import static java.time.temporal.ChronoUnit.HOURS;
 
 
 @Service
 public class TokenService {
 
     private final JwtEncoder jwtEncoder;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
     private final BlackListTokenService blackListTokenService;
+    private final JwtService jwtService;
     private final UserRepository userRepository;
     private final JwtDecoder jwtDecoder;
 
-    public TokenService(JwtEncoder jwtEncoder, BlacklistedTokenRepository blacklistedTokenRepository,
-                        BlackListTokenService blackListTokenService, UserRepository userRepository,
-                        JwtDecoder jwtDecoder) {
+    public TokenService(JwtEncoder jwtEncoder, BlackListTokenService blackListTokenService, JwtService jwtService,
+                        UserRepository userRepository, JwtDecoder jwtDecoder) {
         this.jwtEncoder = jwtEncoder;
-        this.blacklistedTokenRepository = blacklistedTokenRepository;
         this.blackListTokenService = blackListTokenService;
+        this.jwtService = jwtService;
         this.userRepository = userRepository;
         this.jwtDecoder = jwtDecoder;
     }
 
     public String generateToken(Authentication auth) {
         UUID userId = findUserId(auth);
-
-        BlacklistedToken blackListedToken = blacklistedTokenRepository.findByUserIdAndIsBlackListed(userId, false);
-        if (nonNull(blackListedToken)) {
-            if (blackListTokenService.isBlacklistTokenExpired(blackListedToken.getExpiresAt(), blackListedToken)) {
-                String newToken = createAndEncodeJwt(auth);
-                saveToken(newToken, userId);
-            }
-            return blackListedToken.getToken();
-        }
-
-        String jwtEncoded = createAndEncodeJwt(auth);
-        saveToken(jwtEncoded, userId);
-        return jwtEncoded;
+        return createAndEncodeJwt(auth, userId);
     }
 
     private UUID findUserId(Authentication auth) {
@@ -66,15 +48,15 @@ public class TokenService {
     }
 
 
-    private String createAndEncodeJwt(Authentication auth) {
+    private String createAndEncodeJwt(Authentication auth, UUID userId) {
         JwsHeader jwsHeader = JwsHeader.with(() -> "HS256").build();
 
-        JwtClaimsSet claims = createJwtClaimsSet(auth);
+        JwtClaimsSet claims = createJwtClaimsSet(auth, userId);
 
         return this.jwtEncoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
     }
 
-    private JwtClaimsSet createJwtClaimsSet(Authentication auth) {
+    private JwtClaimsSet createJwtClaimsSet(Authentication auth, UUID userId) {
         Instant now = Instant.now();
         Instant expirationDate = now.plusSeconds(3600); // Token valid for 1 hour
 
@@ -87,38 +69,25 @@ public class TokenService {
                 .issuedAt(now)
                 .expiresAt(expirationDate)
                 .subject(auth.getName())
+                .claim("userId", userId.toString())
                 .claim("email", String.valueOf((auth.getPrincipal())))
                 .claim("scope", scope)
                 .build();
     }
 
-    private void saveToken(String token, UUID userId) {
-        blackListTokenService.saveToken(token, Instant.now().plus(24, HOURS), userId);
-    }
-
+    /**
+     * Le décodeur vérifie signature et expiration ; la révocation est consultée en mémoire
+     */
     private boolean validateToken(String token) {
-        BlacklistedToken blackListedToken = blacklistedTokenRepository.findByToken(token);
-        if (nonNull(blackListedToken) && !blackListedToken.isBlackListed()) {
-            Date expirationDate = this.getTokenExpirationDate(String.valueOf(token));
-            if (Instant.now().isAfter(expirationDate.toInstant()) || Instant.now().isAfter(blackListedToken.getExpiresAt())) {
-                blackListedToken.setBlackListed(true);
-                blacklistedTokenRepository.save(blackListedToken);
-                return false;
-            }
-            return true;
+        try {
+            jwtDecoder.decode(token);
+        } catch (JwtException e) {
+            return false;
         }
-        return false;
+        return !blackListTokenService.isRevoked(jwtService.digest(token));
     }
 
     public boolean isTokenValidAndNotExpired(String token) {
         return this.validateToken(token);
     }
-
-    private Date getTokenExpirationDate(String token) {
-        Jwt jwt = this.jwtDecoder.decode(token);
-        Map<String, Object> claims = jwt.getClaims();
-        Instant expInstant = (Instant) claims.get("exp");
-        return new Date(expInstant.getEpochSecond() * 1000);
-    }
-
-}
\ No newline at end of file
+}
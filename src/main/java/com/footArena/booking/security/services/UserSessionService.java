@@ -1,8 +1,12 @@
 package com.footArena.booking.security.services;
 
 import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.infrastructure.scheduling.ExpirationScheduler;
+import com.footArena.booking.infrastructure.scheduling.ExpirationType;
 import com.footArena.booking.security.entities.UserSession;
 import com.footArena.booking.security.repositories.UserSessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,10 +14,16 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional
@@ -22,9 +32,22 @@ public class UserSessionService {
     private static final Logger logger = LoggerFactory.getLogger(UserSessionService.class);
 
     private final UserSessionRepository sessionRepository;
-
-    public UserSessionService(UserSessionRepository sessionRepository) {
+    private final ExpirationScheduler expirationScheduler;
+    private final ActivityBuffer activityBuffer;
+    private final LoginVelocityTracker loginVelocityTracker;
+
+    // Localisations récentes par utilisateur, alimentées à la création de session
+    private final Cache<UUID, Set<String>> knownLocations = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofDays(1))
+            .build();
+
+    public UserSessionService(UserSessionRepository sessionRepository, ExpirationScheduler expirationScheduler,
+                              ActivityBuffer activityBuffer, LoginVelocityTracker loginVelocityTracker) {
         this.sessionRepository = sessionRepository;
+        this.expirationScheduler = expirationScheduler;
+        this.activityBuffer = activityBuffer;
+        this.loginVelocityTracker = loginVelocityTracker;
     }
 
     /**
@@ -43,6 +66,9 @@ public class UserSessionService {
         session.setLocation(getLocationFromIp(ipAddress));
 
         UserSession savedSession = sessionRepository.save(session);
+        knownLocations.get(user.getId(), id -> ConcurrentHashMap.newKeySet()).add(session.getLocation());
+        expirationScheduler.scheduleAfterCommit(ExpirationType.USER_SESSION, savedSession.getId(),
+                savedSession.getExpiresAt());
         logger.info("Session created with ID: {}", savedSession.getId());
 
         return savedSession;
@@ -53,13 +79,11 @@ public class UserSessionService {
         return sessionRepository.findBySessionToken(sessionToken);
     }
 
+    /**
+     * Enregistre l'activité de la session ; écrite en base par lots (voir ActivityBuffer)
+     */
     public void updateSessionActivity(String sessionToken) {
-        Optional<UserSession> sessionOpt = sessionRepository.findBySessionToken(sessionToken);
-        if (sessionOpt.isPresent()) {
-            UserSession session = sessionOpt.get();
-            session.updateActivity();
-            sessionRepository.save(session);
-        }
+        activityBuffer.recordSessionActivity(sessionToken);
     }
 
     public void deactivateSession(String sessionToken) {
@@ -94,31 +118,53 @@ public class UserSessionService {
     }
 
 
-    @Scheduled(cron = "0 30 * * * *") // Toutes les 30 minutes
+    @Scheduled(cron = "0 30 3 * * *") // Tous les jours à 3h30, en filet de sécurité de l'ExpirationScheduler
     public void cleanupExpiredSessions() {
         logger.info("Starting cleanup of expired sessions");
         sessionRepository.cleanupExpiredSessions(LocalDateTime.now());
         logger.info("Cleanup of expired sessions completed");
     }
 
+    /**
+     * Désactive les sessions expirées parmi celles indiquées (appelé par l'ExpirationScheduler)
+     */
+    public int expireSessions(Collection<UUID> sessionIds) {
+        int expired = sessionRepository.deactivateExpiredSessions(sessionIds, LocalDateTime.now());
+        if (expired > 0) {
+            logger.info("Expired {} user sessions", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Échéances des sessions actives, pour reconstruire l'ExpirationScheduler
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> getActiveSessionExpirations() {
+        Map<UUID, LocalDateTime> expirations = new HashMap<>();
+        for (Object[] row : sessionRepository.findActiveSessionExpirations()) {
+            expirations.put((UUID) row[0], (LocalDateTime) row[1]);
+        }
+        return expirations;
+    }
+
+    /**
+     * Détecte une connexion suspecte sans requête en base (voir LoginVelocityTracker)
+     */
     public boolean detectSuspiciousLogin(User user, HttpServletRequest request) {
         String currentIp = getClientIpAddress(request);
-        LocalDateTime since = LocalDateTime.now().minusHours(24);
-
-        List<UserSession> recentSessions = sessionRepository.findRecentSessionsByIp(currentIp, since);
 
-        // Si plus de 10 tentatives depuis cette IP en 24h
-        if (recentSessions.size() > 10) {
+        // Trop de tentatives depuis cette IP sur la fenêtre (24h par défaut)
+        if (loginVelocityTracker.isSuspiciousIp(currentIp)) {
             logger.warn("Suspicious activity detected from IP: {}", currentIp);
             return true;
         }
 
         // Vérifier si l'utilisateur se connecte depuis une nouvelle localisation
-        List<UserSession> userSessions = getUserActiveSessions(user.getId());
-        if (!userSessions.isEmpty()) {
+        Set<String> locations = knownLocations.getIfPresent(user.getId());
+        if (locations != null && !locations.isEmpty()) {
             String currentLocation = getLocationFromIp(currentIp);
-            boolean newLocation = userSessions.stream()
-                    .noneMatch(session -> currentLocation.equals(session.getLocation()));
+            boolean newLocation = !locations.contains(currentLocation);
 
             if (newLocation) {
                 logger.info("User connecting from new location: {}", currentLocation);
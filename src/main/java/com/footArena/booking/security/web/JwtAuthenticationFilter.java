@@ -0,0 +1,54 @@
+package com.footArena.booking.security.web;
+
+import com.footArena.booking.security.dto.AuthenticatedUser;
+import com.footArena.booking.security.services.ActivityBuffer;
+import com.footArena.booking.security.services.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Vérifie l'access token une fois par requête et place l'AuthenticatedUser correspondant dans le SecurityContext.
+ * Un token absent ou invalide laisse la requête anonyme : les règles d'autorisation décident ensuite.
+ * L'activité de la session est notée dans l'ActivityBuffer, sans écriture sur le thread de la requête.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final ActivityBuffer activityBuffer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, ActivityBuffer activityBuffer) {
+        this.jwtService = jwtService;
+        this.activityBuffer = activityBuffer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            String token = header.substring(BEARER_PREFIX.length());
+            jwtService.verifyAccessToken(token)
+                    .map(AuthenticatedUser::from)
+                    .ifPresent(user -> {
+                        SecurityContext context = SecurityContextHolder.createEmptyContext();
+                        context.setAuthentication(
+                                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+                        SecurityContextHolder.setContext(context);
+                        activityBuffer.recordSessionActivity(token);
+                    });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,13 @@
+-- Index composites des recherches filtrées (créneaux, réservations, paiements).
+-- Déclarés sur les entités : Hibernate les crée en create-drop, mais le profil prod valide le schéma sans le modifier.
+
+CREATE INDEX idx_slots_field_start ON slots (field_id, start_time);
+CREATE INDEX idx_slots_status_start ON slots (status, start_time);
+
+CREATE INDEX idx_bookings_user_created ON bookings (user_id, created_at);
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_at);
+CREATE INDEX idx_bookings_status_deadline ON bookings (status, confirmation_deadline);
+CREATE INDEX idx_bookings_slot_status ON bookings (slot_id, status);
+
+CREATE INDEX idx_payments_status_created ON payments (status, created_at);
+CREATE INDEX idx_payments_method_created ON payments (payment_method, created_at);
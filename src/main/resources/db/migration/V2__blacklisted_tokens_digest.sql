@@ -0,0 +1,22 @@
+-- Tokens révoqués : la clé devient l'empreinte SHA-256 du token (Base64 sans remplissage, 43 caractères)
+-- à la place de l'id technique et du token complet. Seules les révocations encore actives sont reprises :
+-- les autres lignes concernaient des tokens expirés ou de simples émissions.
+
+CREATE TABLE blacklisted_tokens_digest (
+    token_digest   VARCHAR(43) NOT NULL,
+    expires_at     DATETIME(6) NOT NULL,
+    blacklisted_at DATETIME(6) NOT NULL,
+    user_id        BINARY(16)  NULL,
+    PRIMARY KEY (token_digest)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO blacklisted_tokens_digest (token_digest, expires_at, blacklisted_at, user_id)
+SELECT TRIM(TRAILING '=' FROM TO_BASE64(UNHEX(SHA2(token, 256)))), expires_at, blacklisted_at, user_id
+FROM blacklisted_tokens
+WHERE is_black_listed = 1
+  AND expires_at > UTC_TIMESTAMP(6);
+
+DROP TABLE blacklisted_tokens;
+RENAME TABLE blacklisted_tokens_digest TO blacklisted_tokens;
+
+CREATE INDEX idx_blacklisted_tokens_expires_at ON blacklisted_tokens (expires_at);
@@ -0,0 +1,16 @@
+-- Compteurs des références métier (voir ReferenceAllocator). Les numéros de facture de l'ancien format
+-- (INV-aaaa- suivi des millisecondes modulo 1 000 000) ont la même forme que les nouveaux : chaque année
+-- repart du plus grand numéro existant. Les anciennes références de réservation (BK + 16 chiffres) et de
+-- transaction (TXN + 17 chiffres) sont plus longues que les nouvelles et ne peuvent pas entrer en conflit.
+
+CREATE TABLE reference_sequences (
+    name           VARCHAR(64) NOT NULL,
+    reserved_until BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO reference_sequences (name, reserved_until)
+SELECT CONCAT('invoice-', SUBSTRING(invoice_number, 5, 4)), MAX(CAST(SUBSTRING(invoice_number, 10) AS UNSIGNED))
+FROM invoices
+WHERE invoice_number REGEXP '^INV-[0-9]{4}-[0-9]+$'
+GROUP BY SUBSTRING(invoice_number, 5, 4);
@@ -0,0 +1,18 @@
+-- Webhooks Stripe reçus : l'identifiant de l'événement est la clé primaire (garde d'idempotence).
+-- L'index (status, received_at) sert au balayage qui reprend les événements restés RECEIVED.
+
+CREATE TABLE stripe_webhook_events (
+    event_id        VARCHAR(255) NOT NULL,
+    event_type      VARCHAR(255) NOT NULL,
+    object_id       VARCHAR(255) NULL,
+    object_status   VARCHAR(255) NULL,
+    failure_message VARCHAR(255) NULL,
+    status          ENUM ('FAILED', 'IGNORED', 'PROCESSED', 'RECEIVED') NOT NULL,
+    attempts        INT          NOT NULL,
+    last_error      VARCHAR(255) NULL,
+    received_at     DATETIME(6)  NOT NULL,
+    processed_at    DATETIME(6)  NULL,
+    PRIMARY KEY (event_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_stripe_webhook_events_status_received ON stripe_webhook_events (status, received_at);
@@ -0,0 +1,16 @@
+-- Agrégats quotidiens du chiffre d'affaires, une ligne par (jour, établissement, moyen de paiement).
+-- Les mises à jour incrémentales (INSERT ... ON DUPLICATE KEY UPDATE) reposent sur cette clé primaire composite.
+-- La table est remplie au démarrage suivant à partir des paiements existants (RevenueRollupService.backfillIfEmpty).
+
+CREATE TABLE daily_revenue_rollups (
+    rollup_date      DATE           NOT NULL,
+    establishment_id BINARY(16)     NOT NULL,
+    payment_method   ENUM ('BANK_TRANSFER', 'CASH', 'CHECK', 'CREDIT', 'FREE', 'STRIPE') NOT NULL,
+    payment_count    BIGINT         NOT NULL,
+    gross_amount     DECIMAL(14, 2) NOT NULL,
+    refund_count     BIGINT         NOT NULL,
+    refund_amount    DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (rollup_date, establishment_id, payment_method)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_daily_revenue_rollups_date ON daily_revenue_rollups (rollup_date, establishment_id);
@@ -0,0 +1,5 @@
+-- Index des factures : recherche des factures en retard (status, due_date) et parcours par date d'émission
+-- (liste paginée, export en flux, archive mensuelle). Déclarés sur l'entité Invoice, comme ceux de V1.
+
+CREATE INDEX idx_invoices_status_due ON invoices (status, due_date);
+CREATE INDEX idx_invoices_issued ON invoices (issued_at);
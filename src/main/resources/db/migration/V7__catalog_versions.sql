@@ -0,0 +1,6 @@
+-- Versions optimistes (@Version) du catalogue : elles servent aussi à calculer les ETag des lectures
+-- conditionnelles. Les lignes existantes partent de 0.
+
+ALTER TABLE establishments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE fields ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE slots ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
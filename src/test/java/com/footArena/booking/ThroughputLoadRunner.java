@@ -0,0 +1,112 @@
+package com.footArena.booking;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test de charge HTTP : N clients concurrents enchaînent des requêtes pendant une durée fixe,
+ * puis débit, p50, p99 et erreurs sont affichés. Sert à comparer une instance lancée avec et sans
+ * le profil virtual-threads (même base, même jeu de données).
+ * Lancer avec : mvn test-compile puis exécuter main() avec le classpath de test :
+ * java -cp target/test-classes com.footArena.booking.ThroughputLoadRunner [url] [clients] [secondes] [token]
+ */
+public class ThroughputLoadRunner {
+
+    private static final int WARMUP_SECONDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8090/establishments";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        String token = args.length > 3 ? args[3] : null;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, clients / 10)))
+                .build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        System.out.printf("Warm-up %ds on %s with %d clients%n", WARMUP_SECONDS, url, clients);
+        run(client, request, clients, WARMUP_SECONDS);
+
+        Result result = run(client, request, clients, seconds);
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+
+        System.out.printf("Requests: %d, errors: %d, throughput: %.1f req/s%n",
+                latencies.length, result.errors(), latencies.length / (double) seconds);
+        if (latencies.length > 0) {
+            System.out.printf("Latency p50: %.1f ms, p99: %.1f ms, max: %.1f ms%n",
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int clients, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(clients);
+        List<Future<Result>> futures = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            futures.add(workers.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long errors = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors++;
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return new Result(Arrays.copyOf(latencies, count), errors);
+            }));
+        }
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<Result> future : futures) {
+            Result partial = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + partial.latencies().length);
+            System.arraycopy(partial.latencies(), 0, all, offset, partial.latencies().length);
+            errors += partial.errors();
+        }
+        workers.shutdown();
+        return new Result(all, errors);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.footArena.booking.api.controllers;
+
+import com.footArena.booking.api.mappers.AvailabilityMapper;
+import com.footArena.booking.config.TestSecurityConfig;
+import com.footArena.booking.domain.services.AvailabilityService;
+import com.footArena.booking.infrastructure.index.AvailabilityWindow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AvailabilityController.class)
+@Import({TestSecurityConfig.class, AvailabilityMapper.class})
+class AvailabilityControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityService availabilityService;
+
+    @Test
+    void getFieldAvailability_ShouldReturnOneWindowPerSlot() throws Exception {
+        // Given
+        UUID fieldId = UUID.randomUUID();
+        UUID slotId = UUID.randomUUID();
+        LocalDate date = LocalDate.of(2030, 6, 1);
+        LocalDateTime start = date.atTime(18, 0);
+        when(availabilityService.getFreeWindows(eq(fieldId), eq(date))).thenReturn(List.of(
+                new AvailabilityWindow(fieldId, slotId, start, start.plusMinutes(90), 4, true)));
+
+        // When & Then
+        mockMvc.perform(get("/availability/fields/{fieldId}", fieldId).param("date", "2030-06-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data[0].slotId").value(slotId.toString()))
+                .andExpect(jsonPath("$.data[0].availableSpots").value(4))
+                .andExpect(jsonPath("$.data[0].durationInMinutes").value(90))
+                .andExpect(jsonPath("$.data[0].partiallyBooked").value(true));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,6 +20,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -62,6 +65,21 @@ class EstablishmentControllerTest {
                 .andExpect(jsonPath("$.data[0].name").value("Test Establishment"));
     }
 
+    @Test
+    void getAllEstablishmentsNoPagination_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(establishmentService.getCatalogVersion()).thenReturn("3-7-2024-05-01T10:00");
+
+        // When & Then
+        mockMvc.perform(get("/establishments/all").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-7-2024-05-01T10:00\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-7-2024-05-01T10:00\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, public"))
+                .andExpect(content().string(""));
+
+        verify(establishmentService, never()).getAllEstablishments();
+    }
+
     @Test
     void createEstablishment_WithValidData_ShouldReturnCreated() throws Exception {
         // Given
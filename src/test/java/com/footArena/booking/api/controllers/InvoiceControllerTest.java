@@ -0,0 +1,68 @@
+package com.footArena.booking.api.controllers;
+
+import com.footArena.booking.api.mappers.CursorMapper;
+import com.footArena.booking.api.mappers.InvoiceMapper;
+import com.footArena.booking.config.TestSecurityConfig;
+import com.footArena.booking.domain.services.InvoicePdfService;
+import com.footArena.booking.domain.services.InvoiceService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(InvoiceController.class)
+@Import({TestSecurityConfig.class, CursorMapper.class})
+@WithMockUser(roles = "ADMIN")
+class InvoiceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private InvoiceService invoiceService;
+
+    @MockBean
+    private InvoicePdfService invoicePdfService;
+
+    @MockBean
+    private InvoiceMapper invoiceMapper;
+
+    @Test
+    void getAllInvoices_ShouldClampThePageSize() throws Exception {
+        // Given
+        when(invoiceService.getAllInvoices(any())).thenReturn(Page.empty());
+
+        // When & Then
+        mockMvc.perform(get("/invoices").param("size", "100000").param("sortBy", "dueDate"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(invoiceService).getAllInvoices(pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(100);
+        assertThat(pageable.getValue().getSort()).isEqualTo(Sort.by("dueDate").descending());
+    }
+
+    @Test
+    void getAllInvoices_WithUnknownSortProperty_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/invoices").param("sortBy", "payment.booking.user.password"))
+                .andExpect(status().isBadRequest());
+
+        verify(invoiceService, never()).getAllInvoices(any());
+    }
+}
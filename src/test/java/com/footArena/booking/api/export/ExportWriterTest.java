@@ -0,0 +1,69 @@
+package com.footArena.booking.api.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportWriterTest {
+
+    private record Row(String reference, BigDecimal amount, LocalDateTime createdAt) {
+    }
+
+    private static final List<ExportColumn<Row>> COLUMNS = List.of(
+            new ExportColumn<>("reference", Row::reference),
+            new ExportColumn<>("amount", Row::amount),
+            new ExportColumn<>("createdAt", Row::createdAt));
+
+    private static final List<Row> ROWS = List.of(
+            new Row("BK0000000001", new BigDecimal("50.00"), LocalDateTime.of(2024, 5, 2, 10, 0)),
+            new Row("Équipe \"A\", terrain 2", null, LocalDateTime.of(2024, 5, 3, 18, 30)));
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void csvHasHeaderAndQuotesValuesContainingSeparators() throws IOException {
+        String csv = export(ExportFormat.CSV, false);
+
+        assertThat(csv).isEqualTo("reference,amount,createdAt\r\n" +
+                "BK0000000001,50.00,2024-05-02T10:00\r\n" +
+                "\"Équipe \"\"A\"\", terrain 2\",,2024-05-03T18:30\r\n");
+    }
+
+    @Test
+    void gzippedJsonLinesHaveOneObjectPerLine() throws IOException {
+        String jsonLines = export(ExportFormat.JSONL, true);
+
+        assertThat(jsonLines.split("\n")).containsExactly(
+                "{\"reference\":\"BK0000000001\",\"amount\":50.00,\"createdAt\":\"2024-05-02T10:00:00\"}",
+                "{\"reference\":\"Équipe \\\"A\\\", terrain 2\",\"amount\":null,\"createdAt\":\"2024-05-03T18:30:00\"}");
+        assertThat(jsonLines).endsWith("\n");
+    }
+
+    private String export(ExportFormat format, boolean gzip) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ExportWriter<Row> writer = ExportWriter.open(format, COLUMNS, output, gzip, objectMapper)) {
+            ROWS.forEach(writer::write);
+        }
+        byte[] bytes = output.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = input.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
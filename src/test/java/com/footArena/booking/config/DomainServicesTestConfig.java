@@ -0,0 +1,35 @@
+package com.footArena.booking.config;
+
+import com.footArena.booking.domain.services.BookingService;
+import com.footArena.booking.domain.services.EstablishmentService;
+import com.footArena.booking.domain.services.FieldService;
+import com.footArena.booking.domain.services.InvoiceService;
+import com.footArena.booking.domain.services.PaymentService;
+import com.footArena.booking.domain.services.RevenueRollupService;
+import com.footArena.booking.domain.services.SlotService;
+import com.footArena.booking.infrastructure.index.AvailabilityIndex;
+import com.footArena.booking.infrastructure.index.SlotConflictIndex;
+import com.footArena.booking.infrastructure.payment.StubStripeGateway;
+import com.footArena.booking.infrastructure.persistence.SpecificationStreamer;
+import com.footArena.booking.infrastructure.scheduling.ExpirationScheduler;
+import com.footArena.booking.infrastructure.sequence.ReferenceAllocator;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Services du domaine et leurs composants d'infrastructure, pour les tests @DataJpaTest qui passent
+ * par les services. Un seul graphe partagé : un nouveau service s'ajoute ici, et les tests qui
+ * l'importent à l'identique réutilisent le même contexte Spring.
+ */
+@TestConfiguration
+@Import({BookingService.class, PaymentService.class, InvoiceService.class, RevenueRollupService.class,
+        SlotService.class, FieldService.class, EstablishmentService.class, SlotConflictIndex.class,
+        AvailabilityIndex.class, ExpirationScheduler.class, ReferenceAllocator.class, SpecificationStreamer.class})
+public class DomainServicesTestConfig {
+
+    @Bean
+    public StubStripeGateway stripeGateway() {
+        return new StubStripeGateway();
+    }
+}
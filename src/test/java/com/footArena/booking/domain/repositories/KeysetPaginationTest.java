@@ -0,0 +1,174 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.api.mappers.CursorMapper;
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import com.footArena.booking.domain.repositories.specifications.BookingSpecifications;
+import com.footArena.booking.domain.repositories.specifications.SlotSpecifications;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class KeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CursorMapper cursorMapper = new CursorMapper();
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Keyset Arena", "1 rue du Curseur", "0123456789", "keyset@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(
+                new User("Jean", "Dupont", "keyset@test.com", "secret", true, Role.PLAYER));
+        userId = user.getId();
+
+        // Plusieurs créneaux partagent la même heure de début : l'id doit départager
+        LocalDateTime origin = LocalDateTime.now().minusDays(10).withNano(0);
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime start = origin.plusHours(i / 3);
+            Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+            bookingRepository.save(new Booking(user, slot, BookingType.TEAM, 10, new BigDecimal("50.00")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        userRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void cursorPagesCoverSlotSearchWithoutDuplicates() {
+        Sort sort = Sort.by("startTime").ascending();
+        Specification<Slot> spec = SlotSpecifications.withFilters(null, null, null, null, null, null, null);
+
+        List<UUID> expected = slotRepository.findAll(spec, sort.and(Sort.by("id"))).stream()
+                .map(Slot::getId)
+                .collect(Collectors.toList());
+
+        List<UUID> scrolled = scrollAll(slotRepository, spec, sort, Slot.class, Slot::getId);
+
+        assertThat(scrolled).hasSize(12).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void cursorPagesFollowNestedSortOfBookingHistory() {
+        Sort sort = Sort.by("slot.startTime").descending();
+        Specification<Booking> spec = BookingSpecifications.historyOf(userId, LocalDateTime.now());
+
+        List<UUID> scrolled = scrollAll(bookingRepository, spec, sort, Booking.class, Booking::getId);
+
+        assertThat(scrolled).hasSize(12).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRejected() {
+        Sort sort = Sort.by("startTime").ascending();
+        Specification<Slot> spec = SlotSpecifications.withFilters(null, null, null, null, null, null, null);
+        String cursor = new TransactionTemplate(transactionManager).execute(status -> cursorMapper.toCursor(
+                slotRepository.scrollAll(spec, sort, PAGE_SIZE, cursorMapper.toScrollPosition(null, Slot.class, sort))));
+
+        assertThat(cursor).isNotNull();
+        assertThatThrownBy(() -> cursorMapper.toScrollPosition(cursor, Slot.class, Sort.by("price")))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> cursorMapper.toScrollPosition("%%%", Slot.class, sort))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    @Test
+    void requestedPageSizeIsClamped() {
+        assertThat(cursorMapper.pageSize(25)).isEqualTo(25);
+        assertThat(cursorMapper.pageSize(1_000_000)).isEqualTo(100);
+        assertThat(cursorMapper.pageSize(0)).isEqualTo(1);
+        assertThat(cursorMapper.pageSize(-5)).isEqualTo(1);
+    }
+
+    @Test
+    void onlyWhitelistedSortPropertiesAreAccepted() {
+        Set<String> sortable = Set.of("startTime", "price");
+
+        assertThat(cursorMapper.sort("price", "desc", sortable)).isEqualTo(Sort.by("price").descending());
+        assertThat(cursorMapper.sort("startTime", "asc", sortable)).isEqualTo(Sort.by("startTime").ascending());
+        assertThatThrownBy(() -> cursorMapper.sort("field.establishment.name", "asc", sortable))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private <T> List<UUID> scrollAll(KeysetScrollExecutor<T> repository, Specification<T> spec, Sort sort,
+                                     Class<T> entityType, Function<T, UUID> id) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<UUID> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String after = cursor;
+            cursor = readOnly.execute(status -> {
+                Window<T> window = repository.scrollAll(spec, sort, PAGE_SIZE,
+                        cursorMapper.toScrollPosition(after, entityType, sort));
+                assertThat(window.size()).isLessThanOrEqualTo(PAGE_SIZE);
+                window.forEach(entity -> ids.add(id.apply(entity)));
+                return cursorMapper.toCursor(window);
+            });
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,180 @@
+package com.footArena.booking.domain.repositories;
+
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.enums.SlotStatus;
+import com.footArena.booking.domain.repositories.specifications.SlotSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compare l'ancienne recherche de créneaux "(:x IS NULL OR ...)" à la recherche par Specification.
+ * Désactivé par défaut ; lancer avec -Dbenchmark.rows=1000000 (et une datasource MySQL pour des chiffres représentatifs).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class SlotSearchBenchmark {
+
+    private static final int FIELDS = 200;
+    private static final int INSERT_BATCH_SIZE = 5000;
+    private static final int ITERATIONS = 20;
+
+    private static final String LEGACY_QUERY = "SELECT s FROM Slot s WHERE " +
+            "(:fieldId IS NULL OR s.field.id = :fieldId) AND " +
+            "(:status IS NULL OR s.status = :status) AND " +
+            "(:startDate IS NULL OR s.startTime >= :startDate) AND " +
+            "(:endDate IS NULL OR s.endTime <= :endDate) AND " +
+            "(:minPrice IS NULL OR s.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR s.price <= :maxPrice) AND " +
+            "(:isPremium IS NULL OR s.isPremium = :isPremium)";
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<UUID> fieldIds = new ArrayList<>();
+    private LocalDateTime origin;
+
+    @BeforeEach
+    void seed() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Bench Arena", "1 rue du Bench", "0123456789", "bench@test.com"));
+        for (int i = 0; i < FIELDS; i++) {
+            fieldIds.add(fieldRepository.save(
+                    new Field("Terrain " + i, "Intérieur", "Synthétique", 10, true, establishment)).getId());
+        }
+
+        int rows = Integer.getInteger("benchmark.rows");
+        origin = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        Random random = new Random(42);
+        String sql = "INSERT INTO slots (id, field_id, start_time, end_time, price, status, max_capacity, " +
+                "current_bookings, is_premium, cancellation_deadline_hours, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            // Chaque terrain reçoit des créneaux d'une heure consécutifs
+            UUID fieldId = fieldIds.get(i % FIELDS);
+            LocalDateTime start = origin.plusHours(i / FIELDS);
+            batch.add(new Object[]{toBytes(UUID.randomUUID()), toBytes(fieldId), Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusHours(1)), BigDecimal.valueOf(30 + random.nextInt(70)),
+                    SlotStatus.values()[random.nextInt(3)].name(), 10, 0, random.nextInt(10) == 0, 24, now, now});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM slots");
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void compareLegacyAndSpecificationSearch() {
+        UUID fieldId = fieldIds.get(FIELDS / 2);
+        LocalDateTime from = origin.plusDays(10);
+        LocalDateTime to = from.plusDays(7);
+        PageRequest pageable = PageRequest.of(0, 20, Sort.by("startTime"));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Supplier<Long> legacy = () -> readOnly.execute(status -> {
+            TypedQuery<Slot> query = entityManager.createQuery(LEGACY_QUERY + " ORDER BY s.startTime", Slot.class);
+            TypedQuery<Long> count = entityManager.createQuery(
+                    LEGACY_QUERY.replace("SELECT s", "SELECT COUNT(s)"), Long.class);
+            for (TypedQuery<?> q : List.of(query, count)) {
+                q.setParameter("fieldId", fieldId).setParameter("status", null)
+                        .setParameter("startDate", from).setParameter("endDate", to)
+                        .setParameter("minPrice", null).setParameter("maxPrice", null)
+                        .setParameter("isPremium", null);
+            }
+            query.setMaxResults(pageable.getPageSize()).getResultList();
+            return count.getSingleResult();
+        });
+
+        Supplier<Long> specification = () -> readOnly.execute(status -> {
+            Page<Slot> page = slotRepository.findAll(
+                    SlotSpecifications.withFilters(fieldId, null, from, to, null, null, null), pageable);
+            return page.getTotalElements();
+        });
+
+        assertThat(legacy.get()).isEqualTo(specification.get());
+
+        double legacyMillis = measure(legacy);
+        double specificationMillis = measure(specification);
+        System.out.printf("Slot search over %d rows: legacy %.2f ms, specification %.2f ms%n",
+                Integer.getInteger("benchmark.rows"), legacyMillis, specificationMillis);
+    }
+
+    private double measure(Supplier<Long> search) {
+        for (int i = 0; i < 3; i++) {
+            search.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            search.get();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,231 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.api.mappers.BookingMapper;
+import com.footArena.booking.api.mappers.PaymentMapper;
+import com.footArena.booking.api.mappers.SlotMapper;
+import com.footArena.booking.api.mappers.UserMapper;
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.BookingPlayer;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BookingPlayerRepository;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Nombre de requêtes SQL par endpoint de réservation : il ne doit pas dépendre du nombre de réservations listées.
+ * Chaque appel est exécuté dans une transaction, comme avec l'open-in-view des contrôleurs.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({DomainServicesTestConfig.class, BookingMapper.class, UserMapper.class, SlotMapper.class,
+        PaymentMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingQueryBudgetTest {
+
+    private static final int BOOKINGS = 12;
+    private static final int PAGE_SIZE = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingPlayerRepository bookingPlayerRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID userId;
+    private UUID establishmentId;
+    private UUID detailedBookingId;
+    private LocalDateTime origin;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Budget Arena", "1 rue des Requêtes", "0123456789", "budget@test.com"));
+        establishmentId = establishment.getId();
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            users.add(userRepository.save(
+                    new User("Joueur", "N" + i, "budget" + i + "@test.com", "secret", true, Role.PLAYER)));
+        }
+        userId = users.get(0).getId();
+
+        origin = LocalDateTime.now().plusDays(2).withHour(8).withMinute(0).withSecond(0).withNano(0);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = origin.plusHours(i);
+            Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+            // Réservations réparties entre utilisateurs pour que chaque ligne référence des entités différentes
+            User owner = i % 2 == 0 ? users.get(0) : users.get(1 + i % 3);
+            Booking booking = bookingRepository.save(
+                    new Booking(owner, slot, BookingType.TEAM, 10, new BigDecimal("50.00")));
+
+            for (User player : users) {
+                bookingPlayerRepository.save(new BookingPlayer(booking, player, player.getLastName()));
+            }
+            for (int p = 0; p < 2; p++) {
+                Payment payment = new Payment(booking, new BigDecimal("25.00"), PaymentMethod.CASH);
+                payment.markAsCompleted();
+                paymentRepository.save(payment);
+            }
+            detailedBookingId = booking.getId();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAll();
+        bookingPlayerRepository.deleteAll();
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        userRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void myBookingsIsLoadedInOneQuery() {
+        long statements = countStatements(() -> bookingMapper.toResponseList(bookingService.getUserBookings(userId)));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void allBookingsPageCostsSelectAndCount() {
+        long statements = countStatements(() -> bookingService.searchBookings(null, null, null, null, null,
+                        null, null, PageRequest.of(1, PAGE_SIZE, Sort.by("createdAt").descending()))
+                .map(bookingMapper::toSimpleResponse));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void filteredSearchCostsSelectAndCount() {
+        // Même requête que /bookings/today, sur la journée des créneaux de test
+        long statements = countStatements(() -> bookingMapper.toResponseList(bookingService.searchBookings(null,
+                null, null, origin.toLocalDate().atStartOfDay(), origin.toLocalDate().atTime(23, 59, 59),
+                establishmentId, null, PageRequest.of(0, PAGE_SIZE)).getContent()));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void cursorPageIsLoadedInOneQuery() {
+        long statements = countStatements(() -> bookingService.scrollBookings(null, null, null, null, null,
+                        null, null, Sort.by("createdAt").descending(), PAGE_SIZE, ScrollPosition.keyset())
+                .map(bookingMapper::toSimpleResponse));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void exportStreamsEveryBookingFromOneQuery() {
+        // Chaque colonne exportée est lue, utilisateur et créneau compris
+        long[] exported = new long[1];
+        long statements = countStatements(() -> exported[0] = bookingService.forEachBooking(null, null, null,
+                null, null, establishmentId, null,
+                booking -> BookingMapper.EXPORT_COLUMNS.forEach(column -> column.value().apply(booking))));
+
+        assertThat(exported[0]).isEqualTo(BOOKINGS);
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void paymentExportStreamsEveryPaymentFromOneQuery() {
+        long[] exported = new long[1];
+        long statements = countStatements(() -> exported[0] = paymentService.forEachPayment(null, null, null,
+                null, null, null,
+                payment -> PaymentMapper.EXPORT_COLUMNS.forEach(column -> column.value().apply(payment))));
+
+        assertThat(exported[0]).isEqualTo(BOOKINGS * 2);
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void bookingDetailsDoNotDependOnPlayersAndPayments() {
+        // Réservation (avec utilisateur, créneau et terrain), établissement, paiements, joueurs, utilisateurs des joueurs
+        long statements = countStatements(() -> bookingMapper.toResponse(
+                bookingService.getBookingDetails(detailedBookingId)));
+
+        assertThat(statements).isLessThanOrEqualTo(5);
+    }
+
+    private long countStatements(Runnable endpoint) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> endpoint.run());
+        return statistics.getPrepareStatementCount();
+    }
+}
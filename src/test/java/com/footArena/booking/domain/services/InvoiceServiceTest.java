@@ -0,0 +1,175 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Invoice;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import com.footArena.booking.infrastructure.pdf.InvoicePdfRenderer;
+import com.footArena.booking.infrastructure.sequence.ReferenceAllocator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({InvoiceService.class, InvoicePdfService.class, InvoicePdfRenderer.class, ReferenceAllocator.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InvoiceServiceTest {
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private InvoicePdfService invoicePdfService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Invoice Arena", "1 rue des Factures", "0123456789", "invoice@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(new User("Jean", "Dupont", "invoice@test.com", "secret", true, Role.PLAYER));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+        booking = bookingRepository.save(new Booking(user, slot, BookingType.INDIVIDUAL, 1, new BigDecimal("50.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll();
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void onlyIssuedInvoicesPastDueAreOverdue() {
+        Invoice overdue = invoice("INV-TEST-1", "ISSUED", LocalDateTime.now().minusDays(1));
+        invoice("INV-TEST-2", "ISSUED", LocalDateTime.now().plusDays(1));
+        invoice("INV-TEST-3", "PAID", LocalDateTime.now().minusDays(1));
+        invoice("INV-TEST-4", "CANCELLED", LocalDateTime.now().minusDays(1));
+
+        assertThat(invoiceService.getOverdueInvoices())
+                .extracting(Invoice::getId)
+                .containsExactly(overdue.getId());
+    }
+
+    @Test
+    void everyInvoiceIsVisitedFromMostRecent() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 5; i++) {
+            issue(invoice("INV-STREAM-" + i, "PAID", now.plusDays(30)), now.minusDays(i));
+        }
+
+        List<String> visited = new ArrayList<>();
+        long count = invoiceService.forEachInvoice(invoice -> visited.add(invoice.getInvoiceNumber()));
+
+        assertThat(count).isEqualTo(5);
+        assertThat(visited).containsExactly("INV-STREAM-0", "INV-STREAM-1", "INV-STREAM-2", "INV-STREAM-3",
+                "INV-STREAM-4");
+    }
+
+    @Test
+    void monthlyExportZipsOnlyInvoicesIssuedThatMonth() throws IOException {
+        LocalDateTime may = LocalDateTime.of(2024, 5, 15, 10, 0);
+        for (int i = 0; i < 3; i++) {
+            issue(invoice("INV-MAY-" + i, "PAID", may.plusDays(30)), may.plusDays(i));
+        }
+        issue(invoice("INV-JUNE-0", "PAID", may.plusDays(30)), LocalDateTime.of(2024, 6, 1, 0, 0));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int count = invoicePdfService.exportMonth(YearMonth.of(2024, 5), output);
+
+        List<String> entries = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                entries.add(entry.getName());
+                assertThat(new String(zip.readNBytes(5))).isEqualTo("%PDF-");
+            }
+        }
+        assertThat(count).isEqualTo(3);
+        assertThat(entries).containsExactly("INV-MAY-0.pdf", "INV-MAY-1.pdf", "INV-MAY-2.pdf");
+    }
+
+    private void issue(Invoice invoice, LocalDateTime issuedAt) {
+        // issued_at n'est pas modifiable par l'entité
+        jdbcTemplate.update("UPDATE invoices SET issued_at = ? WHERE id = ?",
+                Timestamp.valueOf(issuedAt), invoice.getId());
+    }
+
+    private Invoice invoice(String number, String status, LocalDateTime dueDate) {
+        Payment payment = paymentRepository.save(new Payment(booking, new BigDecimal("50.00"), PaymentMethod.CASH));
+        Invoice invoice = new Invoice(payment, "Jean Dupont", "invoice@test.com", "Invoice Arena", "1 rue des Factures");
+        invoice.setInvoiceNumber(number);
+        invoice.setStatus(status);
+        invoice.setDueDate(dueDate);
+        return invoiceRepository.save(invoice);
+    }
+}
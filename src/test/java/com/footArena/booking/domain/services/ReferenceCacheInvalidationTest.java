@@ -0,0 +1,159 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les modifications faites via EstablishmentService/FieldService doivent être visibles immédiatement
+ * malgré le cache de second niveau sur les établissements, les terrains et Establishment.fields
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({EstablishmentService.class, FieldService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceCacheInvalidationTest {
+
+    private static final String FIELD_REGION = Field.class.getName();
+
+    @Autowired
+    private EstablishmentService establishmentService;
+
+    @Autowired
+    private FieldService fieldService;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private UUID establishmentId;
+    private UUID fieldId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        establishmentId = establishmentService.createEstablishment(
+                "Cache Arena", "1 rue du Cache", "0123456789", "cache@test.com").getId();
+        fieldId = fieldService.createField("Terrain A", "Extérieur", "Gazon naturel", 10, true,
+                establishmentId).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void fieldReadsAreServedFromCache() {
+        fieldService.getFieldById(fieldId);
+        long hits = statistics.getDomainDataRegionStatistics(FIELD_REGION).getHitCount();
+
+        fieldService.getFieldById(fieldId);
+
+        assertThat(statistics.getDomainDataRegionStatistics(FIELD_REGION).getHitCount()).isGreaterThan(hits);
+    }
+
+    @Test
+    void fieldUpdateIsVisibleImmediately() {
+        assertThat(fieldService.getFieldById(fieldId).getName()).isEqualTo("Terrain A");
+
+        fieldService.updateField(fieldId, "Terrain B", null, null, 12, false);
+
+        Field field = fieldService.getFieldById(fieldId);
+        assertThat(field.getName()).isEqualTo("Terrain B");
+        assertThat(field.getCapacity()).isEqualTo(12);
+        assertThat(field.isAvailable()).isFalse();
+    }
+
+    @Test
+    void establishmentUpdateIsVisibleImmediately() {
+        assertThat(establishmentService.getEstablishmentById(establishmentId).getName()).isEqualTo("Cache Arena");
+
+        establishmentService.updateEstablishment(establishmentId, "Cache Arena 2", null, "0987654321", null);
+
+        Establishment establishment = establishmentService.getEstablishmentById(establishmentId);
+        assertThat(establishment.getName()).isEqualTo("Cache Arena 2");
+        assertThat(establishment.getPhone()).isEqualTo("0987654321");
+        // Le terrain référence l'établissement mis en cache : il doit voir la nouvelle version
+        assertThat(fieldService.getFieldById(fieldId).getEstablishment().getName()).isEqualTo("Cache Arena 2");
+    }
+
+    @Test
+    void cachedFieldCollectionFollowsCreationAndDeletion() {
+        assertThat(establishmentFieldNames()).containsExactly("Terrain A");
+
+        UUID secondFieldId = fieldService.createField("Terrain C", "Intérieur", "Gazon synthétique", 10, true,
+                establishmentId).getId();
+        assertThat(establishmentFieldNames()).containsExactlyInAnyOrder("Terrain A", "Terrain C");
+
+        fieldService.deleteField(secondFieldId);
+        assertThat(establishmentFieldNames()).containsExactly("Terrain A");
+    }
+
+    @Test
+    void everyFieldChangeBumpsTheCatalogAndEstablishmentVersions() {
+        String catalog = establishmentService.getCatalogVersion();
+        String establishment = establishmentService.getEstablishmentVersion(establishmentId);
+        String field = fieldService.getFieldVersion(fieldId);
+
+        fieldService.getFieldById(fieldId);
+        assertThat(establishmentService.getCatalogVersion()).isEqualTo(catalog);
+
+        fieldService.toggleFieldAvailability(fieldId);
+        assertThat(fieldService.getFieldVersion(fieldId)).isNotEqualTo(field);
+        assertThat(establishmentService.getEstablishmentVersion(establishmentId)).isNotEqualTo(establishment);
+        assertThat(establishmentService.getCatalogVersion()).isNotEqualTo(catalog);
+
+        catalog = establishmentService.getCatalogVersion();
+        UUID secondFieldId = fieldService.createField("Terrain C", "Intérieur", "Gazon synthétique", 10, true,
+                establishmentId).getId();
+        assertThat(establishmentService.getCatalogVersion()).isNotEqualTo(catalog);
+
+        catalog = establishmentService.getCatalogVersion();
+        fieldService.deleteField(secondFieldId);
+        assertThat(establishmentService.getCatalogVersion()).isNotEqualTo(catalog);
+        assertThat(fieldService.getFieldVersion(secondFieldId)).isNull();
+    }
+
+    private List<String> establishmentFieldNames() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> establishmentService.getEstablishmentById(establishmentId).getFields()
+                .stream()
+                .map(Field::getName)
+                .collect(Collectors.toList()));
+    }
+}
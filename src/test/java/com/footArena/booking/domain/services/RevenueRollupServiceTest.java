@@ -0,0 +1,141 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.DailyRevenueRollupRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DomainServicesTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RevenueRollupServiceTest {
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private DailyRevenueRollupRepository rollupRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID establishmentId;
+    private UUID firstBookingId;
+    private UUID secondBookingId;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Revenue Arena", "1 rue des Comptes", "0123456789", "revenue@test.com"));
+        establishmentId = establishment.getId();
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(new User("Jean", "Dupont", "revenue@test.com", "secret", true, Role.PLAYER));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Slot first = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+        Slot second = slotRepository.save(new Slot(field, start.plusHours(1), start.plusHours(2), new BigDecimal("80.00"), 10));
+        firstBookingId = bookingRepository.save(
+                new Booking(user, first, BookingType.INDIVIDUAL, 1, new BigDecimal("50.00"))).getId();
+        secondBookingId = bookingRepository.save(
+                new Booking(user, second, BookingType.INDIVIDUAL, 1, new BigDecimal("80.00"))).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rollupRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void paymentsAndRefundsAreRolledUpAndMatchBackfill() {
+        Payment first = paymentService.createCashPayment(firstBookingId, new BigDecimal("50.00"), "Espèces");
+        paymentService.createCashPayment(secondBookingId, new BigDecimal("80.00"), "Espèces");
+        paymentService.refundPayment(first.getId(), new BigDecimal("20.00"), "Geste commercial");
+
+        LocalDate today = LocalDate.now();
+        assertRevenue(today, new BigDecimal("110.00"));
+        assertThat(revenueRollupService.getRevenueByPaymentMethod(today, today, establishmentId))
+                .containsOnlyKeys(PaymentMethod.CASH);
+        assertThat(revenueRollupService.getRevenue(today.minusDays(30), today.minusDays(1), establishmentId))
+                .isEqualByComparingTo(BigDecimal.ZERO);
+
+        // Le rattrapage reconstruit les mêmes agrégats depuis la table des paiements
+        rollupRepository.deleteAll();
+        revenueRollupService.backfill(today.minusMonths(1), today);
+
+        assertRevenue(today, new BigDecimal("110.00"));
+        assertThat(rollupRepository.findAll()).singleElement().satisfies(rollup -> {
+            assertThat(rollup.getPaymentCount()).isEqualTo(2);
+            assertThat(rollup.getRefundCount()).isEqualTo(1);
+        });
+    }
+
+    private void assertRevenue(LocalDate day, BigDecimal expected) {
+        assertThat(revenueRollupService.getRevenue(day, day, establishmentId)).isEqualByComparingTo(expected);
+        Map<LocalDate, BigDecimal> daily = revenueRollupService.getDailyRevenue(day.minusDays(7), day, null);
+        assertThat(daily).containsOnlyKeys(day);
+        assertThat(daily.get(day)).isEqualByComparingTo(expected);
+    }
+}
@@ -0,0 +1,101 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.api.dto.response.RecurringGenerationResult;
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.infrastructure.index.AvailabilityIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doNothing;
+
+/**
+ * Génération d'une saison complète (365 jours) de créneaux sur plusieurs terrains.
+ * Le rafraîchissement asynchrone de l'index de disponibilité est remplacé par un chargement synchrone
+ * avant la mesure : aucun rafraîchissement ne tourne en parallèle de la génération mesurée.
+ * Désactivé par défaut ; lancer avec -Dbenchmark.fields=20 (et une datasource MySQL pour des chiffres représentatifs).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DomainServicesTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.fields", matches = "\\d+")
+class SlotRecurringGenerationBenchmark {
+
+    private static final LocalTime EVENING = LocalTime.of(18, 0);
+    private static final List<Integer> EVERY_DAY = List.of(1, 2, 3, 4, 5, 6, 7);
+
+    @Autowired
+    private SlotService slotService;
+
+    @SpyBean
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void seasonSchedule() {
+        doNothing().when(availabilityIndex).refreshAfterCommit(anyCollection());
+
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Season Arena", "1 rue des Saisons", "0123456789", "season@test.com"));
+        List<UUID> fieldIds = new ArrayList<>();
+        for (int i = 0; i < Integer.getInteger("benchmark.fields"); i++) {
+            fieldIds.add(fieldRepository.save(
+                    new Field("Bench " + i, "Intérieur", "Gazon naturel", 10, true, establishment)).getId());
+        }
+        LocalDate start = LocalDate.now().plusDays(1);
+
+        // Échauffement sur une autre heure, puis index rechargé avant la mesure
+        slotService.createRecurringSchedule(fieldIds, start, start.plusDays(364), LocalTime.of(8, 0),
+                LocalTime.of(9, 0), new BigDecimal("50.00"), 10, EVERY_DAY, null);
+        availabilityIndex.load();
+
+        long begin = System.nanoTime();
+        List<RecurringGenerationResult> results = slotService.createRecurringSchedule(fieldIds, start,
+                start.plusDays(364), EVENING, EVENING.plusHours(1), new BigDecimal("50.00"), 10, EVERY_DAY, null);
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+        int created = results.stream().mapToInt(RecurringGenerationResult::getCreatedCount).sum();
+        System.out.printf("Recurring schedule: %d slot(s) over %d field(s) in %d ms%n",
+                created, fieldIds.size(), elapsedMillis);
+        assertThat(created).isEqualTo(fieldIds.size() * 365);
+    }
+}
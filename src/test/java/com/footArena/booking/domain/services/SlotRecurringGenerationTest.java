@@ -0,0 +1,117 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.api.dto.response.RecurringGenerationResult;
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DomainServicesTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotRecurringGenerationTest {
+
+    private static final LocalTime EVENING = LocalTime.of(18, 0);
+    private static final List<Integer> MONDAY_WEDNESDAY_FRIDAY = List.of(1, 3, 5);
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    private UUID fieldId;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Season Arena", "1 rue des Saisons", "0123456789", "season@test.com"));
+        fieldId = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Gazon naturel", 10, true, establishment)).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void onlySelectedDaysAreGeneratedAtTheSameLocalTimeAcrossDaylightSaving() {
+        // Du lundi 25 mars au dimanche 7 avril 2030 : le passage à l'heure d'été a lieu le 31 mars
+        LocalDate start = LocalDate.of(2030, 3, 25);
+        LocalDate end = LocalDate.of(2030, 4, 7);
+
+        RecurringGenerationResult result = generate(start, end);
+
+        assertThat(result.getCreatedCount()).isEqualTo(6);
+        assertThat(result.getSkippedCount()).isZero();
+        assertThat(result.getCreatedSlots()).allSatisfy(slot -> {
+            assertThat(slot.getStartTime().toLocalTime()).isEqualTo(EVENING);
+            assertThat(slot.getEndTime().toLocalTime()).isEqualTo(EVENING.plusHours(1));
+            assertThat(slot.getStartTime().getDayOfWeek())
+                    .isIn(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+        });
+        assertThat(slotRepository.findByFieldId(fieldId)).hasSize(6);
+    }
+
+    @Test
+    void conflictingAndPastDatesAreSkippedAndReported() {
+        LocalDate monday = LocalDate.of(2030, 3, 25);
+        slotService.createSlot(fieldId, monday.plusDays(2).atTime(17, 30), monday.plusDays(2).atTime(18, 30),
+                new BigDecimal("40.00"), 10, null);
+
+        RecurringGenerationResult result = generate(monday, monday.plusDays(6));
+
+        assertThat(result.getCreatedCount()).isEqualTo(2);
+        assertThat(result.getConflictingDates()).containsExactly(monday.plusDays(2));
+        assertThat(result.getPastDates()).isEmpty();
+
+        // Une seconde génération sur la même période ne crée rien : tout est en conflit
+        RecurringGenerationResult again = generate(monday, monday.plusDays(6));
+        assertThat(again.getCreatedCount()).isZero();
+        assertThat(again.getConflictingDates()).hasSize(3);
+
+        LocalDate lastWeek = LocalDate.now().minusDays(7);
+        RecurringGenerationResult past = slotService.createRecurringSchedule(List.of(fieldId), lastWeek,
+                lastWeek.plusDays(6), EVENING, EVENING.plusHours(1), new BigDecimal("50.00"), 10,
+                List.of(1, 2, 3, 4, 5, 6, 7), null).get(0);
+        assertThat(past.getCreatedCount()).isZero();
+        assertThat(past.getPastDates()).hasSize(7);
+    }
+
+    private RecurringGenerationResult generate(LocalDate start, LocalDate end) {
+        return slotService.createRecurringSchedule(List.of(fieldId), start, end, EVENING, EVENING.plusHours(1),
+                new BigDecimal("50.00"), 10, MONDAY_WEDNESDAY_FRIDAY, null).get(0);
+    }
+}
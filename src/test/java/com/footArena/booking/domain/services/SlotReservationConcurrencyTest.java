@@ -0,0 +1,159 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.enums.SlotStatus;
+import com.footArena.booking.domain.exceptions.BusinessValidationException;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DomainServicesTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // chaque appel de service doit committer réellement
+class SlotReservationConcurrencyTest {
+
+    private static final int CAPACITY = 25;
+    private static final int CONCURRENT_BOOKERS = 300;
+
+    @Autowired
+    private SlotService slotService;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    private UUID fieldId;
+    private UUID slotId;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Stress Arena", "1 rue du Test", "0123456789", "stress@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        fieldId = field.getId();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Slot slot = new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), CAPACITY);
+        slotId = slotRepository.save(slot).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+    }
+
+    @Test
+    void reserveSpot_UnderHeavyContention_ShouldNeverOverbook() throws Exception {
+        // Given
+        String slotsVersion = slotService.getFieldSlotsVersion(fieldId);
+        List<Callable<Boolean>> bookers = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_BOOKERS; i++) {
+            bookers.add(() -> {
+                try {
+                    slotService.reserveSpot(slotId, 1);
+                    return true;
+                } catch (BusinessValidationException e) {
+                    return false;
+                }
+            });
+        }
+
+        // When
+        long successes = runConcurrently(bookers);
+
+        // Then
+        Slot slot = slotRepository.findById(slotId).orElseThrow();
+        assertThat(successes).isEqualTo(CAPACITY);
+        assertThat(slot.getCurrentBookings()).isEqualTo(CAPACITY);
+        assertThat(slot.getStatus()).isEqualTo(SlotStatus.FULL);
+        // Chaque réservation incrémente la version : les ETags des créneaux du terrain changent
+        assertThat(slot.getVersion()).isEqualTo(CAPACITY);
+        assertThat(slotService.getFieldSlotsVersion(fieldId)).isNotEqualTo(slotsVersion);
+    }
+
+    @Test
+    void releaseSpot_AfterConcurrentReservations_ShouldRestoreAvailability() throws Exception {
+        // Given
+        for (int i = 0; i < CAPACITY; i++) {
+            slotService.reserveSpot(slotId, 1);
+        }
+
+        List<Callable<Boolean>> cancellations = new ArrayList<>();
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            cancellations.add(() -> {
+                slotService.releaseSpot(slotId);
+                return true;
+            });
+        }
+
+        // When
+        runConcurrently(cancellations);
+
+        // Then
+        Slot slot = slotRepository.findById(slotId).orElseThrow();
+        assertThat(slot.getCurrentBookings()).isZero();
+        assertThat(slot.getStatus()).isEqualTo(SlotStatus.AVAILABLE);
+    }
+
+    private long runConcurrently(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return task.call();
+                }));
+            }
+            startGate.countDown();
+
+            long successes = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(60, TimeUnit.SECONDS)) {
+                    successes++;
+                }
+            }
+            return successes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.footArena.booking.domain.services;
+
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentStatus;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import com.footArena.booking.infrastructure.payment.StubStripeGateway;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(DomainServicesTestConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // chaque appel de service doit committer réellement
+class StripePaymentConnectionTest {
+
+    // Plus d'appels simultanés que de connexions dans le pool (10)
+    private static final int CONCURRENT_PAYMENTS = 15;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private StubStripeGateway stripeGateway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<UUID> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Stripe Arena", "1 rue du Paiement", "0123456789", "stripe@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(new User("Jean", "Dupont", "stripe@test.com", "secret", true, Role.PLAYER));
+
+        LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < CONCURRENT_PAYMENTS; i++) {
+            LocalDateTime start = origin.plusHours(i);
+            Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+            Booking booking = new Booking(user, slot, BookingType.INDIVIDUAL, 1, new BigDecimal("50.00"));
+            booking.setBookingReference("BK-STRIPE-" + i);
+            bookingIds.add(bookingRepository.save(booking).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        invoiceRepository.deleteAll();
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void noConnectionIsHeldWhileStripeResponds() throws Exception {
+        HikariPoolMXBean pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_PAYMENTS);
+        List<Future<String>> results = new ArrayList<>();
+        stripeGateway.hold(CONCURRENT_PAYMENTS);
+        try {
+            for (UUID bookingId : bookingIds) {
+                results.add(executor.submit(() -> paymentService.createStripePaymentIntent(bookingId)));
+            }
+
+            // Tous les appels sont bloqués chez Stripe en même temps, ce qui serait impossible s'ils tenaient
+            // une connexion : le pool n'en a que 10 et les appels en trop attendraient avant d'appeler Stripe
+            assertThat(stripeGateway.awaitHeldCalls(Duration.ofSeconds(30))).isTrue();
+            assertThat(pool.getActiveConnections()).isZero();
+            assertThat(pool.getThreadsAwaitingConnection()).isZero();
+        } finally {
+            stripeGateway.release();
+        }
+
+        for (Future<String> result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).startsWith("pi_test_");
+        }
+        executor.shutdown();
+
+        List<Payment> payments = paymentRepository.findAll();
+        assertThat(payments).hasSize(CONCURRENT_PAYMENTS)
+                .allSatisfy(payment -> {
+                    assertThat(payment.getStripePaymentIntentId()).startsWith("pi_test_");
+                    assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+                });
+    }
+
+    @Test
+    void checkoutIsConfirmedInASecondShortTransaction() {
+        paymentService.createStripeCheckoutSession(bookingIds.get(0), "https://app.test/ok", "https://app.test/ko");
+        String sessionId = paymentRepository.findAll().get(0).getStripeSessionId();
+
+        Payment confirmed = paymentService.confirmStripePayment(sessionId);
+
+        assertThat(confirmed.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(bookingRepository.findById(bookingIds.get(0)).orElseThrow().getIsPaid()).isTrue();
+        assertThat(invoiceRepository.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,218 @@
+package com.footArena.booking.domain.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.footArena.booking.config.DomainServicesTestConfig;
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.PaymentStatus;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.enums.WebhookEventStatus;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.DailyRevenueRollupRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.StripeWebhookEventRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "stripe.webhook.secret=" + StripeWebhookServiceTest.SECRET)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({DomainServicesTestConfig.class, StripeWebhookService.class, StripeWebhookServiceTest.Dependencies.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // les workers lisent ce qui a été committé
+class StripeWebhookServiceTest {
+
+    static final String SECRET = "whsec_test_secret";
+
+    @TestConfiguration
+    static class Dependencies {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired
+    private StripeWebhookService webhookService;
+
+    @Autowired
+    private StripeWebhookEventRepository eventRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private DailyRevenueRollupRepository rollupRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Webhook Arena", "1 rue du Webhook", "0123456789", "webhook@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(new User("Jean", "Dupont", "webhook@test.com", "secret", true, Role.PLAYER));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+        booking = bookingRepository.save(new Booking(user, slot, BookingType.INDIVIDUAL, 1, new BigDecimal("50.00")));
+
+        Payment payment = new Payment(booking, new BigDecimal("50.00"), PaymentMethod.STRIPE);
+        payment.setStripePaymentIntentId("pi_webhook");
+        paymentRepository.save(payment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+        rollupRepository.deleteAll();
+        invoiceRepository.deleteAll();
+        paymentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        slotRepository.deleteAll();
+        fieldRepository.deleteAll();
+        establishmentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void eventIsAcknowledgedOnceAndAppliedInBackground() throws Exception {
+        String payload = event("evt_succeeded", "payment_intent.succeeded", "pi_webhook");
+
+        assertThat(webhookService.receive(payload, sign(payload))).isTrue();
+        // Rejeu de Stripe : acquitté sans second traitement
+        assertThat(webhookService.receive(payload, sign(payload))).isFalse();
+
+        awaitStatus("evt_succeeded", WebhookEventStatus.PROCESSED);
+        assertThat(paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getIsPaid()).isTrue();
+        assertThat(invoiceRepository.count()).isEqualTo(1);
+        assertThat(eventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void declinedAttemptKeepsThePaymentPendingUntilItSucceeds() throws Exception {
+        String failed = event("evt_failed", "payment_intent.payment_failed", "pi_webhook");
+        assertThat(webhookService.receive(failed, sign(failed))).isTrue();
+
+        awaitStatus("evt_failed", WebhookEventStatus.PROCESSED);
+        Payment payment = paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow();
+        assertThat(payment.getStatus()).isEqualTo(PaymentStatus.PENDING);
+        assertThat(payment.getFailureReason()).isEqualTo("Stripe: payment_intent.payment_failed");
+
+        // Nouvelle tentative du client, acceptée cette fois
+        String succeeded = event("evt_retry_succeeded", "payment_intent.succeeded", "pi_webhook");
+        assertThat(webhookService.receive(succeeded, sign(succeeded))).isTrue();
+
+        awaitStatus("evt_retry_succeeded", WebhookEventStatus.PROCESSED);
+        assertThat(paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getIsPaid()).isTrue();
+        assertThat(invoiceRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void successAfterLocalExpirationSettlesThePayment() throws Exception {
+        Payment payment = paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow();
+        payment.setStatus(PaymentStatus.EXPIRED);
+        paymentRepository.save(payment);
+
+        String succeeded = event("evt_late_succeeded", "payment_intent.succeeded", "pi_webhook");
+        assertThat(webhookService.receive(succeeded, sign(succeeded))).isTrue();
+
+        awaitStatus("evt_late_succeeded", WebhookEventStatus.PROCESSED);
+        assertThat(paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getIsPaid()).isTrue();
+    }
+
+    @Test
+    void unknownPaymentIsIgnored() throws Exception {
+        String payload = event("evt_unknown", "payment_intent.payment_failed", "pi_other");
+
+        assertThat(webhookService.receive(payload, sign(payload))).isTrue();
+
+        awaitStatus("evt_unknown", WebhookEventStatus.IGNORED);
+        assertThat(paymentRepository.findByStripePaymentIntentId("pi_webhook").orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.PENDING);
+    }
+
+    @Test
+    void invalidSignatureIsRejected() {
+        String payload = event("evt_forged", "payment_intent.succeeded", "pi_webhook");
+        String forged = "t=" + System.currentTimeMillis() / 1000 + ",v1=" + "0".repeat(64);
+
+        assertThatThrownBy(() -> webhookService.receive(payload, forged))
+                .isInstanceOf(SignatureVerificationException.class);
+        assertThat(eventRepository.count()).isZero();
+    }
+
+    private void awaitStatus(String eventId, WebhookEventStatus expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (eventRepository.findById(eventId).orElseThrow().getStatus() == expected) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(eventRepository.findById(eventId).orElseThrow().getStatus()).isEqualTo(expected);
+    }
+
+    private static String event(String id, String type, String objectId) {
+        return "{\"id\":\"" + id + "\",\"object\":\"event\",\"type\":\"" + type + "\","
+                + "\"data\":{\"object\":{\"id\":\"" + objectId + "\",\"object\":\"payment_intent\"}}}";
+    }
+
+    private static String sign(String payload) throws Exception {
+        long timestamp = System.currentTimeMillis() / 1000;
+        return "t=" + timestamp + ",v1=" + Webhook.Util.computeHmacSha256(SECRET, timestamp + "." + payload);
+    }
+}
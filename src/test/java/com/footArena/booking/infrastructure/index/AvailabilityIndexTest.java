@@ -0,0 +1,147 @@
+package com.footArena.booking.infrastructure.index;
+
+import com.footArena.booking.domain.enums.SlotStatus;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AvailabilityIndexTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(2);
+    private static final LocalDateTime SIX_PM = DAY.atTime(18, 0);
+    private static final Duration QUARTER = Duration.ofMinutes(15);
+
+    private final SlotRepository slotRepository = mock(SlotRepository.class);
+    private final AvailabilityIndex index =
+            new AvailabilityIndex(slotRepository, mock(PlatformTransactionManager.class));
+    private final List<Object[]> rows = new ArrayList<>();
+    private final UUID fieldId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(slotRepository.findUpcomingAvailabilityStates(any())).thenReturn(rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    void adjacentSlotsAreReturnedAsSeparateWindowsWithTheirCapacity() {
+        UUID free = slot(SIX_PM, SIX_PM.plusHours(1), SlotStatus.AVAILABLE, 0, 10);
+        UUID started = slot(SIX_PM.plusHours(1), SIX_PM.plusHours(2), SlotStatus.RESERVED, 7, 10);
+        slot(SIX_PM.plusHours(2), SIX_PM.plusHours(3), SlotStatus.AVAILABLE, 10, 10);
+        slot(SIX_PM.plusHours(3), SIX_PM.plusHours(4), SlotStatus.MAINTENANCE, 0, 10);
+        index.load();
+
+        List<AvailabilityWindow> windows = index.findWindows(fieldId, DAY.atStartOfDay(),
+                DAY.plusDays(1).atStartOfDay(), Duration.ofMinutes(90));
+        assertThat(windows).isEmpty();
+
+        windows = index.findWindows(fieldId, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), QUARTER);
+        assertThat(windows).extracting(AvailabilityWindow::getSlotId).containsExactly(free, started);
+        assertThat(windows).extracting(AvailabilityWindow::getAvailableSpots).containsExactly(10, 3);
+        assertThat(windows).extracting(AvailabilityWindow::isPartiallyBooked).containsExactly(false, true);
+        assertThat(windows.get(1).getStartTime()).isEqualTo(SIX_PM.plusHours(1));
+        assertThat(windows.get(1).getEndTime()).isEqualTo(SIX_PM.plusHours(2));
+    }
+
+    @Test
+    void windowsAreCroppedToTheSearchRangeAndJoinedAcrossMidnight() {
+        LocalDateTime lateEvening = DAY.atTime(23, 0);
+        UUID night = slot(lateEvening, lateEvening.plusHours(2), SlotStatus.AVAILABLE, 0, 10);
+        index.load();
+
+        List<AvailabilityWindow> windows = index.findWindows(fieldId, DAY.atStartOfDay(),
+                DAY.plusDays(2).atStartOfDay(), Duration.ofMinutes(120));
+        assertThat(windows).singleElement().satisfies(window -> {
+            assertThat(window.getSlotId()).isEqualTo(night);
+            assertThat(window.getStartTime()).isEqualTo(lateEvening);
+            assertThat(window.getEndTime()).isEqualTo(lateEvening.plusHours(2));
+        });
+
+        // Recherche commençant en cours de créneau, hors quantum : arrondie au quart d'heure suivant
+        windows = index.findWindows(fieldId, lateEvening.plusMinutes(20), DAY.plusDays(1).atTime(0, 30), QUARTER);
+        assertThat(windows).singleElement().satisfies(window -> {
+            assertThat(window.getStartTime()).isEqualTo(lateEvening.plusMinutes(30));
+            assertThat(window.getEndTime()).isEqualTo(DAY.plusDays(1).atTime(0, 30));
+        });
+    }
+
+    @Test
+    void refreshAppliesNewStatesAndIgnoresOlderOnes() throws InterruptedException {
+        LocalDateTime loadedAt = LocalDateTime.now();
+        UUID slotId = slot(SIX_PM, SIX_PM.plusHours(1), SlotStatus.AVAILABLE, 0, 10, loadedAt);
+        index.load();
+
+        List<Object[]> refreshed = new ArrayList<>();
+        refreshed.add(row(slotId, SIX_PM, SIX_PM.plusHours(1), SlotStatus.RESERVED, 10, 10, loadedAt.plusSeconds(1)));
+        when(slotRepository.findAvailabilityStatesByIds(anyCollection())).thenReturn(refreshed);
+        index.refreshAfterCommit(slotId);
+        awaitUntil(() -> index.findWindows(fieldId, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), QUARTER)
+                .isEmpty());
+
+        // Un état antérieur arrivé en retard ne remplace pas le plus récent
+        refreshed.set(0, row(slotId, SIX_PM, SIX_PM.plusHours(1), SlotStatus.AVAILABLE, 0, 10, loadedAt));
+        index.refreshAfterCommit(slotId);
+        Thread.sleep(200);
+        assertThat(index.findWindows(fieldId, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), QUARTER)).isEmpty();
+    }
+
+    @Test
+    void deletedSlotsAreRemovedOnRefresh() throws InterruptedException {
+        slot(SIX_PM, SIX_PM.plusHours(1), SlotStatus.AVAILABLE, 0, 10);
+        UUID deleted = slot(SIX_PM.plusHours(1), SIX_PM.plusHours(2), SlotStatus.AVAILABLE, 0, 10);
+        index.load();
+
+        when(slotRepository.findAvailabilityStatesByIds(anyCollection())).thenReturn(List.of());
+        index.refreshAfterCommit(deleted);
+
+        awaitUntil(() -> index.findWindows(fieldId, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), QUARTER)
+                .size() == 1);
+        assertThat(index.findWindows(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), QUARTER))
+                .extracting(AvailabilityWindow::getSlotId)
+                .doesNotContain(deleted);
+    }
+
+    private UUID slot(LocalDateTime start, LocalDateTime end, SlotStatus status, int bookings, int capacity) {
+        return slot(start, end, status, bookings, capacity, LocalDateTime.now().minusMinutes(1));
+    }
+
+    private UUID slot(LocalDateTime start, LocalDateTime end, SlotStatus status, int bookings, int capacity,
+                      LocalDateTime updatedAt) {
+        UUID slotId = UUID.randomUUID();
+        rows.add(row(slotId, start, end, status, bookings, capacity, updatedAt));
+        return slotId;
+    }
+
+    private Object[] row(UUID slotId, LocalDateTime start, LocalDateTime end, SlotStatus status, int bookings,
+                         int capacity, LocalDateTime updatedAt) {
+        return new Object[]{slotId, fieldId, start, end, status, bookings, capacity, updatedAt};
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("refresh applied in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.footArena.booking.infrastructure.index;
+
+import com.footArena.booking.infrastructure.index.DayAvailability.QuantumState;
+import com.footArena.booking.infrastructure.index.DayAvailability.SlotQuanta;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayAvailabilityTest {
+
+    @Test
+    void adjacentSlotsKeepTheirOwnQuanta() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        DayAvailability day = DayAvailability.EMPTY
+                .with(first, new SlotQuanta(first, 40, 44, QuantumState.FREE, 10))
+                .with(second, new SlotQuanta(second, 44, 48, QuantumState.BOOKED, 3));
+
+        assertThat(day.nextBookable(0)).isEqualTo(40);
+        assertThat(day.slotAt(43).slotId()).isEqualTo(first);
+        assertThat(day.slotAt(43).to()).isEqualTo(44);
+        assertThat(day.slotAt(44).slotId()).isEqualTo(second);
+        assertThat(day.slotAt(44).availableSpots()).isEqualTo(3);
+        assertThat(day.nextBookable(48)).isEqualTo(-1);
+    }
+
+    @Test
+    void unavailableSlotsAreNotBookable() {
+        UUID full = UUID.randomUUID();
+        DayAvailability day = DayAvailability.EMPTY
+                .with(full, new SlotQuanta(full, 40, 44, QuantumState.UNAVAILABLE, 0));
+
+        assertThat(day.isEmpty()).isFalse();
+        assertThat(day.nextBookable(0)).isEqualTo(-1);
+        assertThat(day.slotAt(40)).isNull();
+    }
+
+    @Test
+    void replacingAndRemovingASlotProducesNewInstances() {
+        UUID slotId = UUID.randomUUID();
+        DayAvailability free = DayAvailability.EMPTY
+                .with(slotId, new SlotQuanta(slotId, 8, 12, QuantumState.FREE, 10));
+        DayAvailability moved = free.with(slotId, new SlotQuanta(slotId, 20, 24, QuantumState.FREE, 10));
+
+        assertThat(free.nextBookable(0)).isEqualTo(8);
+        assertThat(moved.nextBookable(0)).isEqualTo(20);
+        assertThat(moved.without(UUID.randomUUID())).isSameAs(moved);
+        assertThat(moved.without(slotId).isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.footArena.booking.infrastructure.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    @Test
+    void touchingIntervalsDoNotOverlap() {
+        IntervalTree tree = new IntervalTree();
+        UUID id = UUID.randomUUID();
+        tree.insert(10, 20, id);
+
+        assertThat(tree.overlaps(0, 10, null)).isFalse();
+        assertThat(tree.overlaps(20, 30, null)).isFalse();
+        assertThat(tree.overlaps(19, 21, null)).isTrue();
+        assertThat(tree.overlaps(0, 11, null)).isTrue();
+        assertThat(tree.overlaps(12, 15, null)).isTrue();
+        assertThat(tree.overlaps(5, 25, null)).isTrue();
+        // L'intervalle exclu (créneau en cours de modification) est ignoré
+        assertThat(tree.overlaps(12, 15, id)).isFalse();
+    }
+
+    @Test
+    void duplicateInsertAndMissingRemovalAreNoOps() {
+        IntervalTree tree = new IntervalTree();
+        UUID id = UUID.randomUUID();
+        tree.insert(10, 20, id);
+        tree.insert(10, 20, id);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.remove(10, UUID.randomUUID())).isFalse();
+        assertThat(tree.remove(11, id)).isFalse();
+        assertThat(tree.remove(10, id)).isTrue();
+        assertThat(tree.isEmpty()).isTrue();
+        assertThat(tree.overlaps(0, 100, null)).isFalse();
+    }
+
+    @Test
+    void sortedInsertionsKeepMaxEndAcrossRotations() {
+        IntervalTree tree = new IntervalTree();
+        // Insertions croissantes : chaque ajout déclenche des rotations ; un long intervalle au début
+        // n'est trouvé que si la fin maximale des sous-arbres est recalculée après rotation
+        UUID longest = UUID.randomUUID();
+        tree.insert(0, 10_000, longest);
+        for (int i = 1; i <= 1000; i++) {
+            tree.insert(i * 10L, i * 10L + 5, UUID.randomUUID());
+        }
+
+        assertThat(tree.size()).isEqualTo(1001);
+        assertThat(tree.findOverlapping(9_996, 9_999)).containsExactly(longest);
+        assertThat(tree.findOverlapping(10_000, 10_006)).hasSize(1).doesNotContain(longest);
+    }
+
+    @Test
+    void randomInsertionsAndRemovalsMatchBruteForce() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> intervals = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextInt(100_000);
+            Interval interval = new Interval(start, start + 1 + random.nextInt(500), UUID.randomUUID());
+            intervals.add(interval);
+            tree.insert(interval.start(), interval.end(), interval.id());
+        }
+        // Retire un intervalle sur deux : suppressions de feuilles comme de nœuds à deux enfants
+        List<Interval> removed = new ArrayList<>();
+        for (int i = 0; i < intervals.size(); i += 2) {
+            Interval interval = intervals.get(i);
+            assertThat(tree.remove(interval.start(), interval.id())).isTrue();
+            removed.add(interval);
+        }
+        intervals.removeAll(removed);
+
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        for (int i = 0; i < 500; i++) {
+            long start = random.nextInt(100_000);
+            long end = start + 1 + random.nextInt(1000);
+            List<UUID> expected = intervals.stream()
+                    .filter(interval -> interval.start() < end && start < interval.end())
+                    .map(Interval::id)
+                    .collect(Collectors.toList());
+
+            assertThat(tree.findOverlapping(start, end)).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(tree.overlaps(start, end, null)).isEqualTo(!expected.isEmpty());
+        }
+    }
+
+    private record Interval(long start, long end, UUID id) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.footArena.booking.infrastructure.index;
+
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotConflictIndexTest {
+
+    private static final LocalDateTime TEN = LocalDate.now().plusDays(1).atTime(10, 0);
+
+    private final SlotRepository slotRepository = mock(SlotRepository.class);
+    private final SlotConflictIndex index = new SlotConflictIndex(slotRepository);
+    private Field field;
+    private UUID existingId;
+
+    @BeforeEach
+    void setUp() {
+        field = new Field("Terrain 1", "Intérieur", "Gazon naturel", 10, true, null);
+        field.setId(UUID.randomUUID());
+        existingId = UUID.randomUUID();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{existingId, TEN, TEN.plusHours(1)});
+        when(slotRepository.findUpcomingIntervalsByFieldId(eq(field.getId()), any())).thenReturn(rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void loadedSlotsConflictButTouchingSlotsDoNot() {
+        assertThat(index.hasConflict(field.getId(), TEN.plusMinutes(30), TEN.plusMinutes(90), null)).isTrue();
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(1), TEN.plusHours(2), null)).isFalse();
+        assertThat(index.hasConflict(field.getId(), TEN.minusHours(1), TEN, null)).isFalse();
+        assertThat(index.hasConflict(field.getId(), TEN, TEN.plusHours(1), existingId)).isFalse();
+    }
+
+    @Test
+    void registerRejectsOverlapAndIsUndoneOnRollback() {
+        assertThat(index.register(slot(TEN.plusMinutes(30), TEN.plusMinutes(90)))).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        Slot next = slot(TEN.plusHours(1), TEN.plusHours(2));
+        assertThat(index.register(next)).isTrue();
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(1), TEN.plusHours(2), null)).isTrue();
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(1), TEN.plusHours(2), null)).isFalse();
+    }
+
+    @Test
+    void rescheduleMovesTheIntervalAndUnregisterRemovesIt() {
+        Slot slot = slot(TEN.plusHours(2), TEN.plusHours(3));
+        assertThat(index.register(slot)).isTrue();
+
+        assertThat(index.reschedule(slot, TEN.plusMinutes(30), TEN.plusMinutes(150))).isFalse();
+        assertThat(index.reschedule(slot, TEN.plusHours(4), TEN.plusHours(5))).isTrue();
+        slot.setStartTime(TEN.plusHours(4));
+        slot.setEndTime(TEN.plusHours(5));
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(2), TEN.plusHours(3), null)).isFalse();
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(4), TEN.plusHours(5), null)).isTrue();
+
+        index.unregister(slot);
+        assertThat(index.hasConflict(field.getId(), TEN.plusHours(4), TEN.plusHours(5), null)).isFalse();
+    }
+
+    private Slot slot(LocalDateTime start, LocalDateTime end) {
+        Slot slot = new Slot(field, start, end, new BigDecimal("50.00"), 10);
+        slot.setId(UUID.randomUUID());
+        return slot;
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
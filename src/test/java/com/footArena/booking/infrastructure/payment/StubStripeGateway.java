@@ -0,0 +1,66 @@
+package com.footArena.booking.infrastructure.payment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stripe simulé pour les tests : chaque appel réussit immédiatement, sauf pendant une retenue (hold),
+ * où les appels restent bloqués jusqu'à release. Le test observe ainsi ce qui se passe pendant
+ * l'attente de Stripe sans dépendre d'une latence chronométrée.
+ */
+public class StubStripeGateway implements StripeGateway {
+
+    private volatile CountDownLatch arrived = new CountDownLatch(0);
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Override
+    public Checkout createCheckoutSession(long amountCents, String productDescription, String successUrl,
+                                          String cancelUrl, Map<String, String> metadata, String idempotencyKey) {
+        simulateNetwork();
+        String sessionId = "cs_test_" + idempotencyKey;
+        return new Checkout(sessionId, "https://checkout.stripe.test/" + sessionId);
+    }
+
+    @Override
+    public Intent createPaymentIntent(long amountCents, String description, Map<String, String> metadata,
+                                      String idempotencyKey) {
+        simulateNetwork();
+        String intentId = "pi_test_" + idempotencyKey;
+        return new Intent(intentId, intentId + "_secret_" + UUID.randomUUID());
+    }
+
+    @Override
+    public boolean isCheckoutSessionPaid(String sessionId) {
+        simulateNetwork();
+        return true;
+    }
+
+    /**
+     * Bloque les appels suivants jusqu'à release ; awaitHeldCalls attend que le nombre d'appels indiqué soit bloqué
+     */
+    public void hold(int expectedCalls) {
+        arrived = new CountDownLatch(expectedCalls);
+        gate = new CountDownLatch(1);
+    }
+
+    public boolean awaitHeldCalls(Duration timeout) throws InterruptedException {
+        return arrived.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        gate.countDown();
+    }
+
+    private void simulateNetwork() {
+        CountDownLatch currentGate = gate;
+        arrived.countDown();
+        try {
+            currentGate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
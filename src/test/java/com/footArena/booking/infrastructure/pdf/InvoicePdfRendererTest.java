@@ -0,0 +1,84 @@
+package com.footArena.booking.infrastructure.pdf;
+
+import com.footArena.booking.domain.entities.Invoice;
+import com.footArena.booking.domain.entities.Payment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvoicePdfRendererTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InvoicePdfRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        renderer = new InvoicePdfRenderer(cacheDirectory, meterRegistry);
+    }
+
+    @Test
+    void issuedInvoiceIsRenderedWithoutCaching() throws IOException {
+        Invoice invoice = invoice("INV-2024-000001");
+        // Caractère hors WinAnsi : remplacé, le rendu ne doit pas échouer
+        invoice.setDescription("Réservation terrain de football\nTerrain: Synthétique → Nord");
+
+        String text = extractText(render(invoice));
+
+        assertThat(text).contains("FACTURE", "N° INV-2024-000001", "Montant TTC", "60,00 €", "Synthétique ? Nord");
+        try (var cached = Files.list(cacheDirectory)) {
+            assertThat(cached).isEmpty();
+        }
+    }
+
+    @Test
+    void paidInvoiceIsServedFromDiskCache() throws IOException {
+        Invoice invoice = invoice("INV-2024-000002");
+        invoice.markAsPaid();
+
+        byte[] first = render(invoice);
+        byte[] second = render(invoice);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cacheDirectory.resolve("INV-2024-000002.PAID.pdf")).exists();
+        assertThat(meterRegistry.get("invoice.pdf.cache.hits").counter().count()).isEqualTo(1);
+        assertThat(extractText(second)).contains("Payée le");
+    }
+
+    private byte[] render(Invoice invoice) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        renderer.write(invoice, output);
+        return output.toByteArray();
+    }
+
+    private static String extractText(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+
+    private static Invoice invoice(String number) {
+        Payment payment = new Payment();
+        payment.setAmount(new BigDecimal("60.00"));
+        Invoice invoice = new Invoice(payment, "Jean Dupont", "jean@test.com", "Foot Arena Lyon", "12 rue du sport, Lyon");
+        invoice.setInvoiceNumber(number);
+        invoice.setIssuedAt(LocalDateTime.of(2024, 5, 2, 10, 0));
+        return invoice;
+    }
+}
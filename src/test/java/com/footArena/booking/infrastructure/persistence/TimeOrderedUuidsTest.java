@@ -0,0 +1,34 @@
+package com.footArena.booking.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidsTest {
+
+    @Test
+    void successiveIdsAreVersion7AndIncreaseInStorageOrder() {
+        long before = System.currentTimeMillis();
+        UUID previous = TimeOrderedUuids.next();
+
+        // Bien plus de 4096 valeurs par milliseconde : le compteur doit déborder sans casser l'ordre
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = TimeOrderedUuids.next();
+            assertThat(next.version()).isEqualTo(7);
+            assertThat(next.variant()).isEqualTo(2);
+            assertThat(compareAsBinary(next, previous)).isPositive();
+            previous = next;
+        }
+
+        long timestamp = previous.getMostSignificantBits() >>> 16;
+        assertThat(timestamp).isBetween(before, System.currentTimeMillis() + 1_000);
+    }
+
+    // Ordre de BINARY(16) en base : octets non signés, poids fort en tête
+    private static int compareAsBinary(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
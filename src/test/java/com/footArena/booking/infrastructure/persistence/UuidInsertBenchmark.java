@@ -0,0 +1,86 @@
+package com.footArena.booking.infrastructure.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Débit d'insertion dans une table à clé primaire BINARY(16) selon la génération des identifiants :
+ * UUID v4 aléatoires ou UUID v7 ordonnés dans le temps. Le débit est relevé par tranche, pour suivre
+ * sa dégradation à mesure que la table grossit.
+ * Désactivé par défaut ; lancer avec -Dbenchmark.rows=5000000 (et une datasource MySQL pour des chiffres représentatifs).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class UuidInsertBenchmark {
+
+    private static final int INSERT_BATCH_SIZE = 5000;
+    private static final int REPORT_EVERY = 500_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+    }
+
+    @Test
+    void compareRandomAndTimeOrderedKeys() {
+        int rows = Integer.getInteger("benchmark.rows");
+        insert("v4", UUID::randomUUID, rows);
+        insert("v7", TimeOrderedUuids::next, rows);
+    }
+
+    private void insert(String label, Supplier<UUID> ids, int rows) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_insert_benchmark");
+        // Ligne de la taille d'une réservation, pour un nombre de lignes par page réaliste
+        jdbcTemplate.execute("CREATE TABLE uuid_insert_benchmark (id BINARY(16) NOT NULL PRIMARY KEY, " +
+                "reference VARCHAR(32) NOT NULL, payload VARCHAR(200) NOT NULL)");
+
+        String sql = "INSERT INTO uuid_insert_benchmark (id, reference, payload) VALUES (?, ?, ?)";
+        String payload = "x".repeat(200);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        long total = System.nanoTime();
+        long slice = total;
+
+        for (int i = 1; i <= rows; i++) {
+            batch.add(new Object[]{toBytes(ids.get()), "BK" + i, payload});
+            if (batch.size() == INSERT_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+            if (i % REPORT_EVERY == 0) {
+                long now = System.nanoTime();
+                System.out.printf("UUID %s: rows %,d, %,.0f inserts/s over the last %,d%n",
+                        label, i, REPORT_EVERY / ((now - slice) / 1e9), REPORT_EVERY);
+                slice = now;
+            }
+        }
+        System.out.printf("UUID %s: %,d rows, %,.0f inserts/s overall%n",
+                label, rows, rows / ((System.nanoTime() - total) / 1e9));
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,47 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import com.footArena.booking.domain.services.BookingService;
+import com.footArena.booking.domain.services.PaymentService;
+import com.footArena.booking.security.services.UserSessionService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExpirationRecoveryTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final PaymentService paymentService = mock(PaymentService.class);
+    private final UserSessionService userSessionService = mock(UserSessionService.class);
+
+    @Test
+    void rebuildReloadsOpenDeadlinesAndRoutesThemToTheirService() {
+        UUID bookingId = UUID.randomUUID();
+        UUID paymentId = UUID.randomUUID();
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        when(bookingService.getPendingConfirmationDeadlines()).thenReturn(Map.of(bookingId, past));
+        when(paymentService.getPendingPaymentDeadlines()).thenReturn(Map.of(paymentId, past));
+        when(userSessionService.getActiveSessionExpirations())
+                .thenReturn(Map.of(UUID.randomUUID(), LocalDateTime.now().plusDays(1)));
+
+        ExpirationScheduler scheduler = new ExpirationScheduler();
+        ExpirationRecovery recovery = new ExpirationRecovery(scheduler, bookingService, paymentService,
+                userSessionService);
+        recovery.registerHandlers();
+        recovery.rebuild();
+        assertThat(scheduler.pendingCount()).isEqualTo(3);
+
+        scheduler.tick();
+
+        verify(bookingService).expireBookings(List.of(bookingId));
+        verify(paymentService).expirePayments(List.of(paymentId));
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpirationSchedulerTest {
+
+    private final ExpirationScheduler scheduler = new ExpirationScheduler();
+    private final List<UUID> expiredBookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler.registerHandler(ExpirationType.BOOKING_CONFIRMATION, expiredBookings::addAll);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dueEntriesAreDispatchedToTheirHandler() {
+        UUID due = UUID.randomUUID();
+        scheduler.schedule(ExpirationType.BOOKING_CONFIRMATION, due, LocalDateTime.now().minusSeconds(1));
+        scheduler.schedule(ExpirationType.BOOKING_CONFIRMATION, UUID.randomUUID(), LocalDateTime.now().plusHours(1));
+
+        scheduler.tick();
+
+        assertThat(expiredBookings).containsExactly(due);
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reschedulingReplacesThePreviousDeadline() {
+        UUID id = UUID.randomUUID();
+        scheduler.schedule(ExpirationType.BOOKING_CONFIRMATION, id, LocalDateTime.now().minusSeconds(1));
+        scheduler.schedule(ExpirationType.BOOKING_CONFIRMATION, id, LocalDateTime.now().plusHours(1));
+
+        scheduler.tick();
+
+        assertThat(expiredBookings).isEmpty();
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void cancelledEntriesAreNotDispatched() {
+        UUID id = UUID.randomUUID();
+        scheduler.schedule(ExpirationType.BOOKING_CONFIRMATION, id, LocalDateTime.now().minusSeconds(1));
+        scheduler.cancel(ExpirationType.BOOKING_CONFIRMATION, id);
+
+        scheduler.tick();
+
+        assertThat(expiredBookings).isEmpty();
+        assertThat(scheduler.pendingCount()).isZero();
+    }
+
+    @Test
+    void entriesScheduledInATransactionAreOnlyAddedOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        scheduler.scheduleAfterCommit(ExpirationType.BOOKING_CONFIRMATION, UUID.randomUUID(),
+                LocalDateTime.now().plusHours(1));
+        assertThat(scheduler.pendingCount()).isZero();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(scheduler.pendingCount()).isZero();
+
+        TransactionSynchronizationManager.initSynchronization();
+        UUID committed = UUID.randomUUID();
+        scheduler.scheduleAfterCommit(ExpirationType.BOOKING_CONFIRMATION, committed,
+                LocalDateTime.now().plusHours(1));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+
+        // Une annulation dans une transaction annulée laisse l'échéance en place
+        TransactionSynchronizationManager.initSynchronization();
+        scheduler.cancelAfterCommit(ExpirationType.BOOKING_CONFIRMATION, committed);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(scheduler.pendingCount()).isEqualTo(1);
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
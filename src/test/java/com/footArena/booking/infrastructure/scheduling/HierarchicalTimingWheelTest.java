@@ -0,0 +1,115 @@
+package com.footArena.booking.infrastructure.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void deadlinesAreRoundedUpToTheNextTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        wheel.schedule("exact", 5_000);
+        wheel.schedule("between", 5_001);
+
+        assertThat(wheel.advance(4_999)).isEmpty();
+        assertThat(wheel.advance(5_000)).containsExactly("exact");
+        // Une échéance entre deux ticks n'est jamais rendue en avance
+        assertThat(wheel.advance(5_999)).isEmpty();
+        assertThat(wheel.advance(6_000)).containsExactly("between");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesAreReturnedOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 10_000);
+        wheel.schedule("late", 3_000);
+        wheel.schedule("now", 10_000);
+
+        assertThat(wheel.advance(10_000)).containsExactlyInAnyOrder("late", "now");
+        assertThat(wheel.advance(11_000)).isEmpty();
+    }
+
+    @Test
+    void entriesCascadeFromEveryLevelAndOverflow() {
+        // Départ non aligné pour que les échéances tombent en milieu de case des niveaux supérieurs
+        long start = 37 * TICK;
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, start);
+        Map<String, Long> deadlines = new HashMap<>();
+        deadlines.put("level0", start + 63 * TICK);
+        deadlines.put("level1", start + 64 * TICK);
+        deadlines.put("level2", start + (64L * 64 + 5) * TICK);
+        deadlines.put("level3", start + (64L * 64 * 64 + 7) * TICK);
+        deadlines.put("overflow", start + (64L * 64 * 64 * 64 + 3) * TICK);
+        deadlines.forEach(wheel::schedule);
+
+        deadlines.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .forEach(entry -> {
+                    assertThat(wheel.advance(entry.getValue() - 1)).isEmpty();
+                    assertThat(wheel.advance(entry.getValue())).containsExactly(entry.getKey());
+                });
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancelledEntriesAreNeverReturned() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        HierarchicalTimingWheel.Timeout<String> soon = wheel.schedule("soon", 10 * TICK);
+        HierarchicalTimingWheel.Timeout<String> later = wheel.schedule("later", 10_000 * TICK);
+        wheel.schedule("kept", 10_000 * TICK);
+
+        assertThat(wheel.cancel(soon)).isTrue();
+        assertThat(wheel.cancel(soon)).isFalse();
+        assertThat(wheel.cancel(later)).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(wheel.advance(10_000 * TICK)).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancellingAnExpiredEntryHasNoEffect() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("done", 2 * TICK);
+
+        assertThat(wheel.advance(2 * TICK)).containsExactly("done");
+        assertThat(wheel.cancel(timeout)).isFalse();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void randomDeadlinesExpireExactlyOnTheirTick() {
+        Random random = new Random(7);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        List<Long> ticks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // Échéances réparties sur les trois premiers niveaux
+            long tick = 1 + random.nextInt(300_000);
+            ticks.add(tick);
+            wheel.schedule(i, tick * TICK);
+        }
+
+        long now = 0;
+        int expired = 0;
+        while (now < 300_000) {
+            long previous = now;
+            now += 1 + random.nextInt(500);
+            long current = now;
+            for (Integer item : wheel.advance(now * TICK)) {
+                assertThat(ticks.get(item)).isGreaterThan(previous).isLessThanOrEqualTo(current);
+                expired++;
+            }
+        }
+        assertThat(expired).isEqualTo(ticks.size());
+        assertThat(wheel.size()).isZero();
+    }
+}
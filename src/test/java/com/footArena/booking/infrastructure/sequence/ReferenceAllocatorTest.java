@@ -0,0 +1,171 @@
+package com.footArena.booking.infrastructure.sequence;
+
+import com.footArena.booking.domain.entities.Booking;
+import com.footArena.booking.domain.entities.Establishment;
+import com.footArena.booking.domain.entities.Field;
+import com.footArena.booking.domain.entities.Invoice;
+import com.footArena.booking.domain.entities.Payment;
+import com.footArena.booking.domain.entities.Slot;
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.BookingType;
+import com.footArena.booking.domain.enums.PaymentMethod;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BookingRepository;
+import com.footArena.booking.domain.repositories.EstablishmentRepository;
+import com.footArena.booking.domain.repositories.FieldRepository;
+import com.footArena.booking.domain.repositories.InvoiceRepository;
+import com.footArena.booking.domain.repositories.PaymentRepository;
+import com.footArena.booking.domain.repositories.SlotRepository;
+import com.footArena.booking.domain.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ReferenceAllocator.class)
+@TestPropertySource(properties = "references.block-size=1000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceAllocatorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 250_000;
+
+    @Autowired
+    private ReferenceAllocator referenceAllocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SlotRepository slotRepository;
+
+    @Autowired
+    private FieldRepository fieldRepository;
+
+    @Autowired
+    private EstablishmentRepository establishmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentAllocationNeverHandsOutTheSameValueTwice() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[IDS_PER_THREAD];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = referenceAllocator.next("concurrency-test");
+                    }
+                    return ids;
+                }));
+            }
+
+            long[] all = new long[THREADS * IDS_PER_THREAD];
+            int offset = 0;
+            for (Future<long[]> result : results) {
+                long[] ids = result.get();
+                // Croissant pour chaque appelant
+                for (int i = 1; i < ids.length; i++) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            // Deux millions de valeurs, aucune en double : les blocs réservés sont disjoints
+            Arrays.sort(all);
+            for (int i = 1; i < all.length; i++) {
+                assertThat(all[i]).isNotEqualTo(all[i - 1]);
+            }
+            assertThat(all[0]).isEqualTo(1);
+            assertThat(all[all.length - 1]).isEqualTo(all.length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invoiceNumbersHaveNoGapWhenATransactionRollsBack() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        String first = transaction.execute(status -> referenceAllocator.nextInvoiceNumber(1999));
+        transaction.executeWithoutResult(status -> {
+            referenceAllocator.nextInvoiceNumber(1999);
+            status.setRollbackOnly();
+        });
+        String second = transaction.execute(status -> referenceAllocator.nextInvoiceNumber(1999));
+
+        assertThat(first).isEqualTo("INV-1999-000001");
+        assertThat(second).isEqualTo("INV-1999-000002");
+        assertThatThrownBy(() -> referenceAllocator.nextInvoiceNumber(1999))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void invoiceNumbersContinueAfterLegacyNumbersOfTheYear() {
+        Establishment establishment = establishmentRepository.save(
+                new Establishment("Legacy Arena", "1 rue des Archives", "0123456789", "legacy@test.com"));
+        Field field = fieldRepository.save(
+                new Field("Terrain 1", "Intérieur", "Synthétique", 10, true, establishment));
+        User user = userRepository.save(new User("Jean", "Dupont", "legacy@test.com", "secret", true, Role.PLAYER));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Slot slot = slotRepository.save(new Slot(field, start, start.plusHours(1), new BigDecimal("50.00"), 10));
+        Booking booking = bookingRepository.save(
+                new Booking(user, slot, BookingType.INDIVIDUAL, 1, new BigDecimal("50.00")));
+        Payment payment = paymentRepository.save(new Payment(booking, new BigDecimal("50.00"), PaymentMethod.STRIPE));
+        try {
+            // Numéro attribué par l'ancien format (millisecondes modulo 1 000 000)
+            Invoice legacy = new Invoice(payment, "Jean Dupont", "legacy@test.com",
+                    "Legacy Arena", "1 rue des Archives");
+            legacy.setInvoiceNumber("INV-1998-734512");
+            invoiceRepository.save(legacy);
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            String next = transaction.execute(status -> referenceAllocator.nextInvoiceNumber(1998));
+            assertThat(next).isEqualTo("INV-1998-734513");
+        } finally {
+            invoiceRepository.deleteAll();
+            paymentRepository.deleteAll();
+            bookingRepository.deleteAll();
+            slotRepository.deleteAll();
+            fieldRepository.deleteAll();
+            establishmentRepository.deleteAll();
+            userRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.UserRepository;
+import com.footArena.booking.security.entities.UserSession;
+import com.footArena.booking.security.repositories.UserSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ActivityBuffer.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityBufferTest {
+
+    @Autowired
+    private ActivityBuffer activityBuffer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Jean", "Dupont", "activity@test.com", "secret", true, Role.PLAYER));
+        sessionRepository.save(new UserSession(user, "session-token", "Linux Desktop", "127.0.0.1", "JUnit"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void coalescedTimestampsAreWrittenOnFlush() {
+        LocalDateTime first = LocalDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime latest = first.plusMinutes(5);
+        // Met l'utilisateur en cache de second niveau avant l'écriture JDBC
+        userRepository.findById(user.getId());
+
+        activityBuffer.recordLogin(user.getId(), latest);
+        activityBuffer.recordLogin(user.getId(), first);
+        activityBuffer.recordSessionActivity("session-token");
+        assertThat(activityBuffer.getPendingCount()).isEqualTo(2);
+
+        activityBuffer.flush();
+
+        assertThat(activityBuffer.getPendingCount()).isZero();
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getLastLoginAt()).isEqualTo(latest);
+        assertThat(sessionRepository.findBySessionToken("session-token").orElseThrow().getLastActivity())
+                .isAfter(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    void updatesBeyondCapacityAreDroppedAndCounted() {
+        ActivityBuffer bounded = new ActivityBuffer(jdbcTemplate, entityManagerFactory, meterRegistry, 1, 10);
+
+        bounded.recordLogin(user.getId(), LocalDateTime.now());
+        bounded.recordLogin(UUID.randomUUID(), LocalDateTime.now());
+        bounded.recordLogin(user.getId(), LocalDateTime.now().plusSeconds(1));
+
+        assertThat(bounded.getPendingCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("activity.buffer.dropped").tag("type", "login").counter().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.domain.entities.BlacklistedToken;
+import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlackListTokenServiceTest {
+
+    private final BlacklistedTokenRepository repository = mock(BlacklistedTokenRepository.class);
+    private final BlackListTokenService blackList = new BlackListTokenService(repository, 16, 0.01);
+
+    @Test
+    void reloadRestoresActiveRevocations() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new BlacklistedToken("digest-1", Instant.now().plus(Duration.ofMinutes(10)), UUID.randomUUID()),
+                new BlacklistedToken("digest-2", Instant.now().plus(Duration.ofDays(7)), UUID.randomUUID())));
+
+        blackList.reload();
+
+        assertThat(blackList.isRevoked("digest-1")).isTrue();
+        assertThat(blackList.isRevoked("digest-2")).isTrue();
+        assertThat(blackList.isRevoked("digest-3")).isFalse();
+    }
+
+    @Test
+    void purgeDropsPartitionsWhoseHourHasPassed() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+                new BlacklistedToken("expired", Instant.now().minus(Duration.ofHours(2)), null),
+                new BlacklistedToken("active", Instant.now().plus(Duration.ofHours(2)), null)));
+        blackList.reload();
+
+        blackList.purgeExpired();
+
+        assertThat(blackList.isRevoked("expired")).isFalse();
+        assertThat(blackList.isRevoked("active")).isTrue();
+        assertThat(blackList.getRevokedCount()).isEqualTo(1);
+        verify(repository).deleteExpiredBefore(any());
+    }
+
+    @Test
+    void revocationsBeyondExpectedCapacityStayExact() {
+        for (int i = 0; i < 100; i++) {
+            blackList.revoke("digest-" + i, Instant.now().plus(Duration.ofMinutes(15)), null);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(blackList.isRevoked("digest-" + i)).isTrue();
+        }
+        assertThat(blackList.isRevoked("digest-100")).isFalse();
+    }
+}
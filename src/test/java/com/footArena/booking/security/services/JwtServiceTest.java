@@ -0,0 +1,76 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
+import com.footArena.booking.security.dto.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "footarena-test-secret-key-with-enough-bytes-for-hs256";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 100, blackList());
+        user = new User("Jean", "Dupont", "jwt@test.com", "secret", true, Role.MANAGER);
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void accessTokenIsVerifiedOnceAndServedFromCache() {
+        String token = jwtService.generateAccessToken(user);
+
+        Optional<VerifiedToken> first = jwtService.verifyAccessToken(token);
+        Optional<VerifiedToken> second = jwtService.verifyAccessToken(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getUserId()).isEqualTo(user.getId());
+        assertThat(first.get().getRole()).isEqualTo("MANAGER");
+        assertThat(first.get().getEmail()).isEqualTo("jwt@test.com");
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsAccessToken() {
+        String token = jwtService.generateRefreshToken(user, false);
+
+        assertThat(jwtService.verify(token)).isPresent();
+        assertThat(jwtService.verifyAccessToken(token)).isEmpty();
+        assertThat(jwtService.isRefreshToken(token)).isTrue();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String foreignToken = new JwtService(SECRET + "-other", 100, blackList()).generateAccessToken(user);
+
+        assertThat(jwtService.verify(foreignToken)).isEmpty();
+        assertThat(jwtService.verify("not-a-jwt")).isEmpty();
+        assertThat(jwtService.verify(null)).isEmpty();
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenCached() {
+        String token = jwtService.generateAccessToken(user);
+        assertThat(jwtService.verifyAccessToken(token)).isPresent();
+
+        jwtService.revoke(token);
+
+        assertThat(jwtService.verifyAccessToken(token)).isEmpty();
+        assertThat(jwtService.verifyAccessToken(jwtService.generateAccessToken(user))).isPresent();
+    }
+
+    private static BlackListTokenService blackList() {
+        return new BlackListTokenService(mock(BlacklistedTokenRepository.class), 1000, 0.001);
+    }
+}
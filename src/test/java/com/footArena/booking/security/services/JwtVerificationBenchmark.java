@@ -0,0 +1,113 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
+import com.footArena.booking.security.dto.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Coût de la vérification d'un access token par requête : ancien chemin (clé HMAC reconstruite et token relu
+ * quatre fois), lecture unique sans cache, puis lecture servie par le cache des claims vérifiés.
+ * Lancer avec : mvn test-compile puis exécuter main() avec le classpath de test.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "footarena-benchmark-secret-key-with-enough-bytes-for-hs256";
+
+    private JwtService jwtService;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 10_000, blackList());
+        sharedParser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build();
+
+        User user = new User("Jean", "Dupont", "bench@test.com", "secret", true, Role.PLAYER);
+        user.setId(UUID.randomUUID());
+        token = jwtService.generateAccessToken(user);
+    }
+
+    /**
+     * Ancien AuthService.getUserFromToken : structure, expiration, type puis userId, chacun avec son propre parseur
+     */
+    @Benchmark
+    public UUID legacyFourParses() {
+        try {
+            legacyParse(token);
+        } catch (ExpiredJwtException e) {
+            // Structure valide
+        } catch (JwtException e) {
+            return null;
+        }
+        if (legacyParse(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        if (!"access".equals(legacyParse(token).get("tokenType", String.class))) {
+            return null;
+        }
+        return UUID.fromString(legacyParse(token).get("userId", String.class));
+    }
+
+    @Benchmark
+    public UUID singleParseWithoutCache() {
+        VerifiedToken verified = VerifiedToken.from(sharedParser.parseClaimsJws(token).getBody());
+        return verified.isAccessToken() ? verified.getUserId() : null;
+    }
+
+    @Benchmark
+    public UUID cachedVerification() {
+        return jwtService.verifyAccessToken(token).map(VerifiedToken::getUserId).orElse(null);
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static BlackListTokenService blackList() {
+        return new BlackListTokenService(mock(BlacklistedTokenRepository.class), 1000, 0.001);
+    }
+}
@@ -0,0 +1,66 @@
+package com.footArena.booking.security.services;
+
+import com.footArena.booking.infrastructure.index.SlidingWindowCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginVelocityTrackerTest {
+
+    private LoginVelocityTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginVelocityTracker(new SimpleMeterRegistry(),
+                Duration.ofMinutes(30), 3, Duration.ofHours(24), 5, 1000);
+    }
+
+    @Test
+    void accountIsLockedOnceThresholdIsReached() {
+        assertThat(tracker.recordFailure("Player@Test.com")).isFalse();
+        assertThat(tracker.recordFailure("player@test.com")).isFalse();
+        assertThat(tracker.getFailedAttempts("player@test.com")).isEqualTo(2);
+
+        assertThat(tracker.recordFailure("player@test.com")).isTrue();
+        // Le compteur repart de zéro après le verrouillage
+        assertThat(tracker.getFailedAttempts("player@test.com")).isZero();
+    }
+
+    @Test
+    void successfulLoginClearsFailures() {
+        tracker.recordFailure("player@test.com");
+        tracker.recordFailure("player@test.com");
+        tracker.recordSuccess("player@test.com");
+
+        assertThat(tracker.recordFailure("player@test.com")).isFalse();
+    }
+
+    @Test
+    void ipIsFlaggedAboveThreshold() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(tracker.recordAttempt("10.0.0.1")).isFalse();
+        }
+        assertThat(tracker.recordAttempt("10.0.0.1")).isTrue();
+
+        assertThat(tracker.isSuspiciousIp("10.0.0.1")).isTrue();
+        assertThat(tracker.isSuspiciousIp("10.0.0.2")).isFalse();
+        assertThat(tracker.getFlaggedIps()).containsExactly("10.0.0.1");
+    }
+
+    @Test
+    void eventsLeaveTheWindowSliceBySlice() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1, Duration.ofMinutes(10), 10);
+        long start = 1_700_000_000_000L;
+
+        counter.increment(0, start);
+        counter.increment(0, start + Duration.ofMinutes(5).toMillis());
+
+        assertThat(counter.count(0, start + Duration.ofMinutes(9).toMillis())).isEqualTo(2);
+        assertThat(counter.count(0, start + Duration.ofMinutes(11).toMillis())).isEqualTo(1);
+        assertThat(counter.count(0, start + Duration.ofMinutes(16).toMillis())).isZero();
+    }
+}
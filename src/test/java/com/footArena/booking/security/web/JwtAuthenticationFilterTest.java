@@ -0,0 +1,73 @@
+package com.footArena.booking.security.web;
+
+import com.footArena.booking.domain.entities.User;
+import com.footArena.booking.domain.enums.Role;
+import com.footArena.booking.domain.repositories.BlacklistedTokenRepository;
+import com.footArena.booking.security.dto.AuthenticatedUser;
+import com.footArena.booking.security.services.ActivityBuffer;
+import com.footArena.booking.security.services.BlackListTokenService;
+import com.footArena.booking.security.services.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtService jwtService =
+            new JwtService("footarena-test-secret-key-with-enough-bytes-for-hs256", 100, blackList());
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, mock(ActivityBuffer.class));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validAccessTokenPopulatesSecurityContextFromClaims() throws Exception {
+        User user = new User("Jean", "Dupont", "filter@test.com", "secret", true, Role.ADMIN);
+        user.setId(UUID.randomUUID());
+
+        Authentication authentication = filterWithToken(jwtService.generateAccessToken(user));
+
+        assertThat(authentication).isNotNull();
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertThat(principal.getUserId()).isEqualTo(user.getId());
+        assertThat(principal.getEmail()).isEqualTo("filter@test.com");
+        assertThat(principal.isStaff()).isTrue();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void refreshOrInvalidTokenLeavesRequestAnonymous() throws Exception {
+        User user = new User("Jean", "Dupont", "filter@test.com", "secret", true, Role.PLAYER);
+        user.setId(UUID.randomUUID());
+
+        assertThat(filterWithToken(jwtService.generateRefreshToken(user, false))).isNull();
+        assertThat(filterWithToken("not-a-jwt")).isNull();
+    }
+
+    private Authentication filterWithToken(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static BlackListTokenService blackList() {
+        return new BlackListTokenService(mock(BlacklistedTokenRepository.class), 1000, 0.001);
+    }
+}